@@ -0,0 +1,119 @@
+package com.company.app.bench;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.company.app.service.SimpleLambdaService;
+import com.company.app.to.DataTo;
+import com.company.app.to.DataToJsonModule;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Benchmarks of the /actions/calculate request hot path: JSON in, calc, JSON out. JSON is bound both by the
+ * {@link DataToJsonModule} codec the application registers by default and by the builder-based jackson binding it
+ * falls back to when app.json.codec.enabled=false
+ *
+ * @since 10/17/2026
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataToBenchmark {
+
+    private static final String JSON = "{\"id\":\"A-1029384\",\"name\":\"Invoice 1029384\",\"date\":\"2018-12-03\","
+            + "\"amount\":1234.56,\"customerName\":\"ACME Corporation\",\"transactionType\":\"X241\"}";
+
+    private byte[] json;
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private ObjectReader moduleReader;
+    private ObjectReader moduleFixedPointReader;
+    private ObjectWriter moduleWriter;
+    private SimpleLambdaService service;
+    private DataTo dataTo;
+
+    @Setup
+    public void setup() {
+        // spring boot ObjectMapper configuration without the codec module, i.e. the builder-based binding
+        final ObjectMapper objectMapper = objectMapper();
+        json = JSON.getBytes(StandardCharsets.UTF_8);
+        reader = objectMapper.readerFor(DataTo.class);
+        writer = objectMapper.writerFor(DataTo.class);
+        // application ObjectMapper, with the codec module registered by JacksonConfig
+        final ObjectMapper moduleObjectMapper = objectMapper(new DataToJsonModule(false));
+        moduleReader = moduleObjectMapper.readerFor(DataTo.class);
+        moduleWriter = moduleObjectMapper.writerFor(DataTo.class);
+        moduleFixedPointReader = objectMapper(new DataToJsonModule(true)).readerFor(DataTo.class);
+        service = new SimpleLambdaService();
+        dataTo = DataTo.builder().id("A-1029384").name("Invoice 1029384").date(LocalDate.of(2018, 12, 3))
+                .amount(new BigDecimal("1234.56")).customerName("ACME Corporation").transactionType("X241").build();
+    }
+
+    private static ObjectMapper objectMapper(final Module... modules) {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(modules).build();
+    }
+
+    @Benchmark
+    public DataTo jacksonDeserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] jacksonSerialize() throws IOException {
+        return writer.writeValueAsBytes(dataTo);
+    }
+
+    @Benchmark
+    public DataTo moduleDeserialize() throws IOException {
+        return moduleReader.readValue(json);
+    }
+
+    @Benchmark
+    public DataTo moduleDeserializeFixedPoint() throws IOException {
+        return moduleFixedPointReader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] moduleSerialize() throws IOException {
+        return moduleWriter.writeValueAsBytes(dataTo);
+    }
+
+    @Benchmark
+    public DataTo calc() {
+        return service.calc(dataTo);
+    }
+
+    @Benchmark
+    public DataTo builderCopy() {
+        return DataTo.builder(dataTo).build();
+    }
+
+    @Benchmark
+    public byte[] requestRoundTrip() throws IOException {
+        return moduleWriter.writeValueAsBytes(service.calc(moduleReader.readValue(json)));
+    }
+}
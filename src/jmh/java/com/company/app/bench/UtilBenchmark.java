@@ -0,0 +1,66 @@
+package com.company.app.bench;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.company.app.util.FileMetadata;
+import com.company.app.util.Util;
+
+/**
+ * Benchmarks of the {@link Util} and {@link FileMetadata} string helpers
+ *
+ * @since 10/17/2026
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmark {
+
+    private static final String RAW_URL = "https://api.company.com/v1/customers/{customerId}/accounts/{accountId}"
+            + "/transactions?type={type}&from={from}&to={to}";
+    private static final String RULE = "(Z230) || ((X241) && (X242)) || (F232)";
+
+    private Map<String, Object> urlParams;
+
+    @Setup
+    public void setup() {
+        urlParams = new LinkedHashMap<>();
+        urlParams.put("customerId", "C-000123");
+        urlParams.put("accountId", 987654);
+        urlParams.put("type", "X241");
+        urlParams.put("from", "2018-12-01");
+        urlParams.put("to", "2018-12-31");
+    }
+
+    @Benchmark
+    public String cookUrl() {
+        return Util.cookUrl(RAW_URL, urlParams);
+    }
+
+    @Benchmark
+    public List<String> extractListOfTokensEnclosedByParenthesis() {
+        return Util.extractListOfTokensEnclosedByParenthesis(RULE);
+    }
+
+    @Benchmark
+    public String buildPath() {
+        return FileMetadata.buildPath("/data/landing/inbox/", "/tmp/upload/transactions_20181203.txt", "csv");
+    }
+}
@@ -0,0 +1,352 @@
+package com.company.app.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.company.app.App;
+import com.company.app.file.DataGenerator;
+import com.company.app.metrics.LatencyHistogram;
+import com.company.app.to.DataTo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * HTTP load generator for the /actions/calculate endpoints, driven by a {@link LoadProfile}.
+ * <p>
+ * The payloads are generated up front by a seeded {@link DataGenerator} and serialized once, so the client spends its
+ * time on the wire rather than on JSON. Each request is assigned a scheduled start: in the open model request k is due
+ * at k / ratePerSecond whatever happened to the previous requests, and its latency is measured from that scheduled
+ * start, so a stall of the server shows as the queueing delay every request scheduled during the stall really suffers.
+ * In the closed model each thread is paced at its share of the rate and the requests a slow response kept it from
+ * sending are back-filled with {@link LatencyHistogram#recordWithExpectedInterval(long, long)}. The service time,
+ * measured from the actual send, is reported next to the corrected response time.
+ * <p>
+ * Usage: <code>LoadGenerator [profile.properties] [key=value ...]</code>
+ *
+ * @since 10/17/2026
+ *
+ */
+public class LoadGenerator {
+
+    private static Logger LOG = LoggerFactory.getLogger(LoadGenerator.class);
+    private static final String ACTIONS = "/actions/";
+    private static final String BATCH_SUFFIX = "/batch";
+    private static final int TIMEOUT_MILLIS = 30_000;
+
+    private final LoadProfile profile;
+    private final List<Target> targets = new ArrayList<>();
+    /**
+     * target index of each slot, a request picks the slot of its sequence number modulo the total weight
+     */
+    private int[] schedule;
+
+    public LoadGenerator(final LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        String path = null;
+        final Map<String, String> overrides = new LinkedHashMap<>();
+        for (final String arg : args) {
+            final int eq = arg.indexOf('=');
+            if (eq > 0) {
+                overrides.put(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+            } else {
+                path = arg;
+            }
+        }
+        final String report = new LoadGenerator(LoadProfile.load(path, overrides)).run();
+        System.out.println(report);
+        System.exit(0);
+    }
+
+    /**
+     * Runs the warm-up and the recorded run
+     *
+     * @return the report
+     */
+    public String run() throws IOException, InterruptedException {
+        LOG.info("Running {}", profile);
+        final ConfigurableApplicationContext app = profile.isEmbedded() ? startApp() : null;
+        try {
+            prepareTargets();
+            return measure();
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext startApp() {
+        final URI uri = URI.create(profile.getBaseUrl());
+        final int port = uri.getPort() < 0 ? 80 : uri.getPort();
+        return SpringApplication.run(App.class, "--server.port=" + port,
+                "--server.servlet.context-path=" + uri.getPath());
+    }
+
+    private void prepareTargets() throws IOException {
+        final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        final List<DataTo> records = new ArrayList<>(profile.getPayloads());
+        DataGenerator.builder().seed(profile.getSeed()).recordCount(profile.getPayloads()).fixedPointAmounts(false)
+                .build().forEachChunk(records::addAll);
+        final List<byte[]> single = new ArrayList<>(records.size());
+        for (final DataTo dataTo : records) {
+            single.add(objectMapper.writeValueAsBytes(dataTo));
+        }
+        final List<byte[]> batches = new ArrayList<>();
+        for (int from = 0; from < records.size(); from += profile.getBatchSize()) {
+            batches.add(objectMapper.writeValueAsBytes(
+                    records.subList(from, Math.min(records.size(), from + profile.getBatchSize()))));
+        }
+        final List<Integer> weights = new ArrayList<>();
+        for (final Map.Entry<String, Integer> entry : profile.getMix().entrySet()) {
+            final String path = entry.getKey();
+            final List<byte[]> bodies = path.endsWith(BATCH_SUFFIX) ? batches : single;
+            targets.add(new Target(path, new URL(profile.getBaseUrl() + ACTIONS + path), bodies));
+            weights.add(entry.getValue());
+        }
+        schedule = interleave(weights);
+    }
+
+    /**
+     * Smooth weighted round robin: every target gets its weight of slots, spread evenly over the schedule rather than
+     * in one run, so each target sees a steady share of the load
+     */
+    private static int[] interleave(final List<Integer> weights) {
+        final int total = weights.stream().mapToInt(Integer::intValue).sum();
+        final int[] slots = new int[total];
+        final int[] credits = new int[weights.size()];
+        for (int slot = 0; slot < total; slot++) {
+            int best = 0;
+            for (int i = 0; i < credits.length; i++) {
+                credits[i] += weights.get(i);
+                if (credits[i] > credits[best]) {
+                    best = i;
+                }
+            }
+            credits[best] -= total;
+            slots[slot] = best;
+        }
+        return slots;
+    }
+
+    private String measure() throws InterruptedException {
+        final int threads = profile.getConcurrency();
+        final long rate = profile.getRatePerSecond();
+        final long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        final long recordFromNanos = startNanos + TimeUnit.SECONDS.toNanos(profile.getWarmupSeconds());
+        final long endNanos = recordFromNanos + TimeUnit.SECONDS.toNanos(profile.getDurationSeconds());
+        final AtomicLong sequence = new AtomicLong();
+        // closed model: every thread sends its share of the rate
+        final long threadIntervalNanos = rate == 0 ? 0 : threads * TimeUnit.SECONDS.toNanos(1) / rate;
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            if (profile.isOpenModel()) {
+                pool.execute(() -> openLoop(sequence, startNanos, recordFromNanos, endNanos, rate));
+            } else {
+                pool.execute(() -> closedLoop(sequence, recordFromNanos, endNanos, threadIntervalNanos));
+            }
+        }
+        pool.shutdown();
+        // the last requests may take up to the read timeout
+        pool.awaitTermination(endNanos - System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2 * TIMEOUT_MILLIS),
+                TimeUnit.NANOSECONDS);
+        pool.shutdownNow();
+        return report();
+    }
+
+    /**
+     * Open model: request k is due at startNanos + k / rate
+     */
+    private void openLoop(final AtomicLong sequence, final long startNanos, final long recordFromNanos,
+            final long endNanos, final long rate) {
+        while (true) {
+            final long k = sequence.getAndIncrement();
+            final long scheduled = startNanos + k * TimeUnit.SECONDS.toNanos(1) / rate;
+            if (scheduled >= endNanos) {
+                return;
+            }
+            waitUntil(scheduled);
+            final Target target = targets.get(schedule[(int) (k % schedule.length)]);
+            final long sent = System.nanoTime();
+            final boolean ok = target.send(k);
+            final long done = System.nanoTime();
+            if (scheduled >= recordFromNanos) {
+                target.record(done - scheduled, done - sent, 0, ok);
+            }
+        }
+    }
+
+    /**
+     * Closed model: each thread sends one request every intervalNanos at most, 0 meaning back to back
+     */
+    private void closedLoop(final AtomicLong sequence, final long recordFromNanos, final long endNanos,
+            final long intervalNanos) {
+        long next = System.nanoTime();
+        while (true) {
+            waitUntil(next);
+            final long sent = System.nanoTime();
+            if (sent >= endNanos) {
+                return;
+            }
+            final long k = sequence.getAndIncrement();
+            final Target target = targets.get(schedule[(int) (k % schedule.length)]);
+            final boolean ok = target.send(k);
+            final long done = System.nanoTime();
+            if (sent >= recordFromNanos) {
+                target.record(done - sent, done - sent, intervalNanos, ok);
+            }
+            // the requests a slow response kept from being sent are skipped, the histogram back-fills them
+            next = intervalNanos == 0 ? done : Math.max(next + intervalNanos, done);
+        }
+    }
+
+    private static void waitUntil(final long nanos) {
+        long remaining;
+        while ((remaining = nanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private String report() {
+        final LatencyHistogram totalResponse = new LatencyHistogram();
+        final LatencyHistogram totalService = new LatencyHistogram();
+        long requests = 0;
+        long errors = 0;
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%n%s%n", profile));
+        sb.append(String.format("%-22s %10s %8s %10s %9s %9s %9s %9s %9s%n", "path", "requests", "errors", "req/s",
+                "p50 us", "p90 us", "p99 us", "p99.9 us", "max us"));
+        for (final Target target : targets) {
+            totalResponse.add(target.response);
+            totalService.add(target.service);
+            requests += target.requests.sum();
+            errors += target.errors.sum();
+            appendRow(sb, target.path, target.response.snapshot(), target.requests.sum(), target.errors.sum());
+        }
+        appendRow(sb, "all (response time)", totalResponse.snapshot(), requests, errors);
+        appendRow(sb, "all (service time)", totalService.snapshot(), requests, errors);
+        final String report = sb.toString();
+        if (profile.getReportFile() != null) {
+            try {
+                Files.write(Paths.get(profile.getReportFile()), report.getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (final IOException e) {
+                LOG.warn("Could not write the report to [{}]", profile.getReportFile(), e);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * The request count is the number of requests actually sent, the latency snapshot may hold back-filled values
+     */
+    private void appendRow(final StringBuilder sb, final String name, final LatencyHistogram.Snapshot snapshot,
+            final long requests, final long errors) {
+        sb.append(String.format("%-22s %10d %8d %10d %9d %9d %9d %9d %9d%n", name, requests, errors,
+                requests / profile.getDurationSeconds(), snapshot.getP50Micros(), snapshot.getP90Micros(),
+                snapshot.getP99Micros(), snapshot.getP999Micros(), snapshot.getMaxMicros()));
+    }
+
+    /**
+     * One endpoint of the mix with its payloads and its histograms
+     */
+    private static final class Target {
+        private final String path;
+        private final URL url;
+        private final List<byte[]> bodies;
+        private final LatencyHistogram response = new LatencyHistogram();
+        private final LatencyHistogram service = new LatencyHistogram();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private Target(final String path, final URL url, final List<byte[]> bodies) {
+            this.path = path;
+            this.url = url;
+            this.bodies = bodies;
+        }
+
+        private void record(final long responseNanos, final long serviceNanos, final long intervalNanos,
+                final boolean ok) {
+            response.recordWithExpectedInterval(responseNanos, intervalNanos);
+            service.record(serviceNanos);
+            requests.increment();
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        /**
+         * Posts the k-th payload and reads the whole response, so the connection is kept alive for the next request
+         *
+         * @return whether the response status is 2xx
+         */
+        private boolean send(final long k) {
+            final byte[] body = bodies.get((int) (k % bodies.size()));
+            HttpURLConnection connection = null;
+            try {
+                connection = (HttpURLConnection) url.openConnection();
+                connection.setRequestMethod("POST");
+                connection.setDoOutput(true);
+                connection.setConnectTimeout(TIMEOUT_MILLIS);
+                connection.setReadTimeout(TIMEOUT_MILLIS);
+                connection.setRequestProperty("Content-Type", "application/json");
+                connection.setFixedLengthStreamingMode(body.length);
+                try (final OutputStream out = connection.getOutputStream()) {
+                    out.write(body);
+                }
+                final int status = connection.getResponseCode();
+                drain(status < 400 ? connection.getInputStream() : connection.getErrorStream());
+                return status >= 200 && status < 300;
+            } catch (final IOException e) {
+                if (connection != null) {
+                    try {
+                        drain(connection.getErrorStream());
+                    } catch (final IOException ignored) {
+                        // the connection is dropped
+                    }
+                }
+                LOG.debug("Request to [{}] failed", url, e);
+                return false;
+            }
+        }
+
+        private static void drain(final InputStream in) throws IOException {
+            if (in == null) {
+                return;
+            }
+            try (final InputStream stream = in) {
+                final byte[] buffer = new byte[8192];
+                while (stream.read(buffer) >= 0) {
+                    // discard
+                }
+            }
+        }
+    }
+}
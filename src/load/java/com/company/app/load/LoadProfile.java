@@ -0,0 +1,165 @@
+package com.company.app.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Settings of a {@link LoadGenerator} run, read from a properties file so the same profile can be replayed release
+ * after release. Keys:
+ * <ul>
+ * <li>baseUrl: url of the application, defaults to http://localhost:10000/lambda-demo</li>
+ * <li>embedded: when true the application is started in-process on the port of baseUrl first</li>
+ * <li>concurrency: number of client threads, i.e. of connections</li>
+ * <li>model: "open" (default), requests are scheduled at ratePerSecond whatever the response times and their latency
+ * is measured from their scheduled start; "closed", each thread sends its next request once the previous one
+ * completed, paced at its share of ratePerSecond, and the requests a slow response delayed are back-filled into the
+ * histogram. Both correct the coordinated omission of a naive client</li>
+ * <li>ratePerSecond: total request rate. 0 sends as fast as the threads can go, in the closed model and without
+ * correction</li>
+ * <li>warmupSeconds, durationSeconds: length of the unrecorded warm-up and of the recorded run</li>
+ * <li>mix.&lt;path&gt;: relative weight of the requests sent to /actions/&lt;path&gt;, e.g. mix.calculate=80</li>
+ * <li>batchSize: number of records of a request to a batch path</li>
+ * <li>seed, payloads: seed and number of the distinct generated payloads cycled thru</li>
+ * <li>reportFile: optional file the report is appended to</li>
+ * </ul>
+ *
+ * @since 10/17/2026
+ *
+ */
+public class LoadProfile {
+
+    private static final String MIX_PREFIX = "mix.";
+
+    private final String baseUrl;
+    private final boolean embedded;
+    private final boolean openModel;
+    private final int concurrency;
+    private final int ratePerSecond;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final Map<String, Integer> mix;
+    private final int batchSize;
+    private final long seed;
+    private final int payloads;
+    private final String reportFile;
+
+    private LoadProfile(final Properties properties) {
+        this.baseUrl = properties.getProperty("baseUrl", "http://localhost:10000/lambda-demo");
+        this.embedded = Boolean.parseBoolean(properties.getProperty("embedded", "false"));
+        this.openModel = !"closed".equalsIgnoreCase(properties.getProperty("model", "open").trim());
+        this.concurrency = intValue(properties, "concurrency", 16);
+        this.ratePerSecond = intValue(properties, "ratePerSecond", 1000);
+        this.warmupSeconds = intValue(properties, "warmupSeconds", 10);
+        this.durationSeconds = intValue(properties, "durationSeconds", 60);
+        this.batchSize = intValue(properties, "batchSize", 100);
+        this.seed = Long.parseLong(properties.getProperty("seed", "0").trim());
+        this.payloads = intValue(properties, "payloads", 10_000);
+        this.reportFile = properties.getProperty("reportFile");
+        final Map<String, Integer> weights = new LinkedHashMap<>();
+        properties.stringPropertyNames().stream().filter(key -> key.startsWith(MIX_PREFIX)).sorted()
+                .forEach(key -> weights.put(key.substring(MIX_PREFIX.length()), intValue(properties, key, 0)));
+        if (weights.isEmpty()) {
+            weights.put("calculate", 1);
+        }
+        this.mix = Collections.unmodifiableMap(weights);
+        Preconditions.checkArgument(concurrency > 0, "concurrency [%s] must be greater than zero", concurrency);
+        Preconditions.checkArgument(ratePerSecond >= 0, "ratePerSecond [%s] must not be negative", ratePerSecond);
+        Preconditions.checkArgument(durationSeconds > 0, "durationSeconds [%s] must be greater than zero",
+                durationSeconds);
+        Preconditions.checkArgument(batchSize > 0, "batchSize [%s] must be greater than zero", batchSize);
+        Preconditions.checkArgument(payloads > 0, "payloads [%s] must be greater than zero", payloads);
+        Preconditions.checkArgument(mix.values().stream().allMatch(weight -> weight >= 0)
+                && mix.values().stream().anyMatch(weight -> weight > 0), "mix [%s] needs a positive weight", mix);
+    }
+
+    /**
+     * @param path properties file, null for the defaults
+     * @param overrides key=value pairs overriding the file, e.g. from the command line
+     */
+    public static LoadProfile load(final String path, final Map<String, String> overrides) throws IOException {
+        final Properties properties = new Properties();
+        if (path != null) {
+            try (final InputStream in = Files.newInputStream(Paths.get(path))) {
+                properties.load(in);
+            }
+        }
+        properties.putAll(overrides);
+        return new LoadProfile(properties);
+    }
+
+    private static int intValue(final Properties properties, final String key, final int defaultValue) {
+        final String value = properties.getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public boolean isEmbedded() {
+        return embedded;
+    }
+
+    /**
+     * @return true for the open model, which also needs a positive rate
+     */
+    public boolean isOpenModel() {
+        return openModel && ratePerSecond > 0;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * @return weights by path below /actions, sorted by path
+     */
+    public Map<String, Integer> getMix() {
+        return mix;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getPayloads() {
+        return payloads;
+    }
+
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadProfile [baseUrl=" + baseUrl + ", embedded=" + embedded + ", model="
+                + (isOpenModel() ? "open" : "closed") + ", concurrency=" + concurrency
+                + ", ratePerSecond=" + ratePerSecond + ", warmupSeconds=" + warmupSeconds + ", durationSeconds="
+                + durationSeconds + ", mix=" + mix + ", batchSize=" + batchSize + ", seed=" + seed + ", payloads="
+                + payloads + "]";
+    }
+}
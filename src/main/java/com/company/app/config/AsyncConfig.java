@@ -0,0 +1,64 @@
+package com.company.app.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Executor running the calculations of the async and reactive endpoints, so that a blocking {@link
+ * com.company.app.service.LambdaService} ties up one of these threads rather than a servlet container thread. Requests
+ * beyond the pool size wait in the queue; requests beyond the queue capacity are rejected.
+ * <p>
+ * Declaring an executor bean backs Boot's applicationTaskExecutor off, which would leave Spring MVC running the
+ * streamed batches on an unbounded SimpleAsyncTaskExecutor; the mvcTaskExecutor is a bounded pool of its own for them
+ * (see {@link WebMvcAsyncConfig}), so that long streams do not starve the calculations and vice versa.
+ *
+ * @since 10/17/2026
+ *
+ */
+@Configuration
+public class AsyncConfig {
+
+    public static final String CALC_EXECUTOR = "calcExecutor";
+    public static final String CALC_SCHEDULER = "calcScheduler";
+    public static final String MVC_EXECUTOR = "mvcTaskExecutor";
+
+    @Bean(name = CALC_EXECUTOR)
+    public ThreadPoolTaskExecutor calcExecutor(@Value("${app.async.core-pool-size:16}") final int corePoolSize,
+            @Value("${app.async.max-pool-size:64}") final int maxPoolSize,
+            @Value("${app.async.queue-capacity:10000}") final int queueCapacity) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("calc-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean(name = MVC_EXECUTOR)
+    public ThreadPoolTaskExecutor mvcTaskExecutor(@Value("${app.mvc-async.core-pool-size:8}") final int corePoolSize,
+            @Value("${app.mvc-async.max-pool-size:32}") final int maxPoolSize,
+            @Value("${app.mvc-async.queue-capacity:100}") final int queueCapacity) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Reactor view of the same executor, used by the reactive endpoint
+     */
+    @Bean(name = CALC_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler calcScheduler(@Qualifier(CALC_EXECUTOR) final ThreadPoolTaskExecutor calcExecutor) {
+        return Schedulers.fromExecutor(calcExecutor);
+    }
+}
@@ -0,0 +1,29 @@
+package com.company.app.config;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.company.app.util.DateCodec;
+
+/**
+ * Sizes the cache window of the {@link DateCodec} shared by the CSV and JSON paths. The window should cover the dates
+ * of the processed records; dates outside of it are still parsed and formatted, only without caching.
+ *
+ * @since 10/17/2026
+ *
+ */
+@Configuration
+public class DateCodecConfig {
+
+    @Bean
+    public DateCodec dateCodec(@Value("${app.date.cache-from:1900-01-01}") final String from,
+            @Value("${app.date.cache-to:2099-12-31}") final String to) {
+        final DateCodec codec = DateCodec.builder().window(LocalDate.parse(from), LocalDate.parse(to)).build();
+        // DataTo and the readers use the default codec rather than an injected one
+        DateCodec.setDefault(codec);
+        return codec;
+    }
+}
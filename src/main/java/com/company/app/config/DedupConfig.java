@@ -0,0 +1,42 @@
+package com.company.app.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.company.app.util.DedupIndex;
+
+/**
+ * Creates the {@link DedupIndex} behind the {@link com.company.app.service.DedupLambdaService} decorator when
+ * app.dedup.enabled is set. The index is closed, hence saved to app.dedup.file, on shutdown.
+ * <p>
+ * With app.dedup.off-heap (the default), each generation takes direct memory: 16 bytes per expected id for its set
+ * when expected-ids is a power of two (up to 32 otherwise) and 1.2 for its Bloom filter at the default fpp, i.e. some
+ * 17 MB at the default 2^20 expected ids. A dropped generation is only freed once the garbage collector reclaims it, and one being
+ * saved may be copied once, so run with <code>-XX:MaxDirectMemorySize</code> of at least (generations + 2) times that,
+ * more when generations double after filling up. The JVM default limit is the maximum heap size; exceeding the limit
+ * fails the calculation with an OutOfMemoryError ("Direct buffer memory").
+ *
+ * @since 10/17/2026
+ *
+ */
+@Configuration
+public class DedupConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.dedup", name = "enabled", havingValue = "true")
+    public DedupIndex dedupIndex(@Value("${app.dedup.retention-minutes:1440}") final long retentionMinutes,
+            @Value("${app.dedup.generations:4}") final int generations,
+            @Value("${app.dedup.expected-ids:1048576}") final int expectedIds,
+            @Value("${app.dedup.fpp:0.01}") final double fpp,
+            @Value("${app.dedup.off-heap:true}") final boolean offHeap,
+            @Value("${app.dedup.file:}") final String file,
+            @Value("${app.dedup.snapshot-seconds:300}") final long snapshotSeconds) {
+        return DedupIndex.builder().retention(retentionMinutes, TimeUnit.MINUTES).generations(generations)
+                .expectedIds(expectedIds).fpp(fpp).offHeap(offHeap).path(file)
+                .snapshotInterval(snapshotSeconds, TimeUnit.SECONDS).build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.company.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.company.app.to.DataToJsonModule;
+import com.fasterxml.jackson.databind.Module;
+
+/**
+ * Registers the streaming {@link com.company.app.to.DataTo} JSON codec. Spring Boot adds every {@link Module} bean to
+ * the auto-configured ObjectMapper, so the controllers and {@link com.company.app.service.StreamingCalcService} use it
+ * without further changes. Setting app.json.codec.enabled=false falls back to the builder-based jackson binding.
+ *
+ * @since 10/17/2026
+ *
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.json.codec", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public Module dataToJsonModule(@Value("${app.amount.fixed-point:false}") final boolean fixedPointAmounts) {
+        return new DataToJsonModule(fixedPointAmounts);
+    }
+}
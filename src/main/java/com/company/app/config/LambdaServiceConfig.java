@@ -0,0 +1,84 @@
+package com.company.app.config;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.company.app.metrics.InstrumentedLambdaService;
+import com.company.app.metrics.MetricsRegistry;
+import com.company.app.service.CachingLambdaService;
+import com.company.app.service.DedupLambdaService;
+import com.company.app.service.LambdaPipeline;
+import com.company.app.service.LambdaService;
+import com.company.app.util.DedupIndex;
+import com.google.common.base.Preconditions;
+
+/**
+ * Assembles the {@link LambdaService} injected everywhere else: the implementation named by
+ * <code>app.service.target</code>, or the {@link LambdaPipeline} of the beans listed in <code>app.pipeline.stages</code>
+ * when set, wrapped in the decorators enabled thru configuration. Consumers never change when a
+ * decorator is switched on or off.
+ *
+ * @since 10/17/2026
+ *
+ */
+@Configuration
+public class LambdaServiceConfig {
+
+    private static Logger LOG = LoggerFactory.getLogger(LambdaServiceConfig.class);
+
+    private static final String BEAN_NAME = "lambdaService";
+
+    /**
+     * @param target bean name of the LambdaService implementation doing the actual work. Must not be "lambdaService"
+     * @param stages bean names of the LambdaService pipeline stages, in call order. Overrides target when not empty
+     */
+    @Bean
+    @Primary
+    public LambdaService lambdaService(final BeanFactory beanFactory,
+            @Value("${app.service.target:simpleLambdaService}") final String target,
+            @Value("${app.metrics.enabled:true}") final boolean metricsEnabled, final MetricsRegistry registry,
+            @Value("${app.cache.enabled:false}") final boolean cacheEnabled,
+            @Value("${app.cache.maximum-size:100000}") final long cacheMaximumSize,
+            @Value("${app.cache.ttl-seconds:300}") final long cacheTtlSeconds,
+            @Value("${app.pipeline.stages:}") final String[] stages,
+            @Value("${app.pipeline.stage-metrics:false}") final boolean stageMetrics,
+            final Optional<DedupIndex> dedupIndex) {
+        LambdaService service = stages.length == 0 ? bean(beanFactory, target)
+                : pipeline(beanFactory, stages, stageMetrics ? registry : null);
+        if (metricsEnabled) {
+            service = new InstrumentedLambdaService(service, registry);
+        }
+        // outside the metrics, so the implementation metrics only count the actual calculations
+        if (cacheEnabled) {
+            service = new CachingLambdaService(service, cacheMaximumSize, cacheTtlSeconds);
+        }
+        // outermost, so that duplicates neither reach the cache nor count as calculations
+        if (dedupIndex.isPresent()) {
+            service = new DedupLambdaService(service, dedupIndex.get());
+        }
+        LOG.info("LambdaService assembled over [{}]: {}", stages.length == 0 ? target : String.join(",", stages),
+                service.getClass().getSimpleName());
+        return service;
+    }
+
+    private static LambdaService pipeline(final BeanFactory beanFactory, final String[] stages,
+            final MetricsRegistry registry) {
+        final LambdaPipeline.Builder builder = LambdaPipeline.builder().metrics(registry);
+        for (final String stage : stages) {
+            builder.stage(stage.trim(), bean(beanFactory, stage.trim()));
+        }
+        return builder.build();
+    }
+
+    private static LambdaService bean(final BeanFactory beanFactory, final String name) {
+        Preconditions.checkArgument(!BEAN_NAME.equals(name), "[%s] cannot decorate itself", name);
+        return beanFactory.getBean(name, LambdaService.class);
+    }
+}
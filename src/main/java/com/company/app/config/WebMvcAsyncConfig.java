@@ -0,0 +1,31 @@
+package com.company.app.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs the Spring MVC async processing, e.g. the StreamingResponseBody of the batch endpoint, on the bounded
+ * {@link AsyncConfig#MVC_EXECUTOR}. A request rejected by the full pool fails with a
+ * {@link java.util.concurrent.RejectedExecutionException}, answered with 503 by the controller. The async request
+ * timeout is still taken from spring.mvc.async.request-timeout.
+ *
+ * @since 10/17/2026
+ *
+ */
+@Configuration
+public class WebMvcAsyncConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor mvcTaskExecutor;
+
+    public WebMvcAsyncConfig(@Qualifier(AsyncConfig.MVC_EXECUTOR) final AsyncTaskExecutor mvcTaskExecutor) {
+        this.mvcTaskExecutor = mvcTaskExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcTaskExecutor);
+    }
+}
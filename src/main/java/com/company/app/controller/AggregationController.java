@@ -0,0 +1,98 @@
+package com.company.app.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.company.app.metrics.CallMetrics;
+import com.company.app.metrics.MetricsRegistry;
+import com.company.app.service.AggregationService;
+import com.company.app.service.DataToAggregator;
+import com.company.app.service.DataToAggregator.Dimension;
+import com.company.app.util.Const;
+
+/**
+ * Aggregation endpoints: count, sum, min and max of the amount per group of {@link Dimension}s, computed in one pass
+ * over a posted batch or over a file of the aggregation directory (see {@link AggregationService}). The dimensions are
+ * given as a comma-separated groupBy parameter of DataTo property names, e.g.
+ * <code>groupBy=transactionType,customerName</code>, and default to transactionType.
+ *
+ * @since 10/17/2026
+ *
+ */
+@RestController
+public class AggregationController {
+
+    private static Logger LOG = LoggerFactory.getLogger(AggregationController.class);
+    private static final String DEFAULT_GROUP_BY = "transactionType";
+
+    private final AggregationService service;
+    private final CallMetrics aggregateMetrics;
+    private final CallMetrics aggregateFileMetrics;
+
+    @Autowired
+    public AggregationController(final AggregationService service, final MetricsRegistry registry) {
+        super();
+        this.service = service;
+        this.aggregateMetrics = registry.metrics(MetricsRegistry.ENDPOINT_PREFIX + "aggregate");
+        this.aggregateFileMetrics = registry.metrics(MetricsRegistry.ENDPOINT_PREFIX + "aggregateFile");
+    }
+
+    /**
+     * Aggregates a JSON array or NDJSON body of DataTo records as it is parsed
+     */
+    @PostMapping(value = "/actions/aggregate", consumes = { MediaType.APPLICATION_JSON_VALUE,
+            Const.NDJSON_MEDIA_TYPE })
+    public DataToAggregator aggregate(final InputStream in,
+            @RequestParam(value = "groupBy", defaultValue = DEFAULT_GROUP_BY) final List<String> groupBy)
+            throws IOException {
+        LOG.info("Aggregating DataTo batch by {}", groupBy);
+        final long start = aggregateMetrics.start();
+        boolean failed = true;
+        try {
+            final DataToAggregator result = service.aggregate(in, Dimension.fromNames(groupBy));
+            failed = false;
+            return result;
+        } finally {
+            aggregateMetrics.stop(start, failed);
+        }
+    }
+
+    /**
+     * Aggregates a CSV or columnar file of the aggregation directory
+     */
+    @PostMapping("/actions/aggregate/file")
+    public DataToAggregator aggregateFile(@RequestParam("filename") final String filename,
+            @RequestParam(value = "groupBy", defaultValue = DEFAULT_GROUP_BY) final List<String> groupBy) {
+        LOG.info("Aggregating DataTo file [{}] by {}", filename, groupBy);
+        final long start = aggregateFileMetrics.start();
+        boolean failed = true;
+        try {
+            final DataToAggregator result = service.aggregate(filename, Dimension.fromNames(groupBy));
+            failed = false;
+            return result;
+        } finally {
+            aggregateFileMetrics.stop(start, failed);
+        }
+    }
+
+    /**
+     * Unknown groupBy dimension or filename holding a directory
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(final IllegalArgumentException e) {
+        LOG.warn("Aggregation rejected: {}", e.getMessage());
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+}
@@ -1,33 +1,157 @@
 package com.company.app.controller;
 
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.company.app.config.AsyncConfig;
+import com.company.app.exception.DuplicateDataException;
+import com.company.app.metrics.CallMetrics;
+import com.company.app.metrics.MetricsRegistry;
 import com.company.app.service.LambdaService;
+import com.company.app.service.MicroBatchDispatcher;
+import com.company.app.service.StreamingCalcService;
 import com.company.app.to.DataTo;
+import com.company.app.util.Const;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
 
 @RestController
 public class MainController {
 	
 	private static Logger LOG = LoggerFactory.getLogger(MainController.class);
 	private final LambdaService service;
+	private final StreamingCalcService streamingService;
+	private final MicroBatchDispatcher dispatcher;
+	private final Executor calcExecutor;
+	private final Scheduler calcScheduler;
+	private final CallMetrics createMetrics;
+	private final CallMetrics createBatchMetrics;
+	private final CallMetrics createAsyncMetrics;
+	private final CallMetrics createReactiveMetrics;
 	
 	@Autowired
-	public MainController(LambdaService service) {
+	public MainController(LambdaService service, StreamingCalcService streamingService,
+			Optional<MicroBatchDispatcher> dispatcher, MetricsRegistry registry,
+			@Qualifier(AsyncConfig.CALC_EXECUTOR) Executor calcExecutor,
+			@Qualifier(AsyncConfig.CALC_SCHEDULER) Scheduler calcScheduler) {
 		super();
 		this.service = service;
+		this.streamingService = streamingService;
+		this.dispatcher = dispatcher.orElse(null);
+		this.calcExecutor = calcExecutor;
+		this.calcScheduler = calcScheduler;
+		this.createMetrics = registry.metrics(MetricsRegistry.ENDPOINT_PREFIX + "calculate");
+		this.createBatchMetrics = registry.metrics(MetricsRegistry.ENDPOINT_PREFIX + "calculateBatch");
+		this.createAsyncMetrics = registry.metrics(MetricsRegistry.ENDPOINT_PREFIX + "calculateAsync");
+		this.createReactiveMetrics = registry.metrics(MetricsRegistry.ENDPOINT_PREFIX + "calculateReactive");
 	}
 
 	@PostMapping("/actions/calculate")
 	public ResponseEntity<?> create(@RequestBody DataTo dataTo) {
 		LOG.info("Input DataTo: {}",dataTo);
-		return new ResponseEntity<>(service.calc(dataTo),HttpStatus.OK);
+		final long start = createMetrics.start();
+		boolean failed = true;
+		try {
+			final DataTo result = dispatcher != null ? dispatcher.calc(dataTo) : service.calc(dataTo);
+			failed = false;
+			return new ResponseEntity<>(result,HttpStatus.OK);
+		} finally {
+			createMetrics.stop(start, failed);
+		}
+	}
+
+	/**
+	 * Async variant of {@link #create(DataTo)}. The servlet thread is released right away and the calculation runs on
+	 * the calc executor (or thru the micro-batch dispatcher when enabled), so the number of requests in flight is no
+	 * longer capped by the servlet thread pool.
+	 */
+	@PostMapping("/actions/calculate/async")
+	public CompletableFuture<DataTo> createAsync(@RequestBody DataTo dataTo) {
+		LOG.info("Input DataTo (async): {}",dataTo);
+		final long start = createAsyncMetrics.start();
+		final CompletableFuture<DataTo> result;
+		try {
+			result = dispatcher != null ? dispatcher.submit(dataTo)
+					: CompletableFuture.supplyAsync(() -> service.calc(dataTo), calcExecutor);
+		} catch (RejectedExecutionException e) {
+			createAsyncMetrics.stop(start, true);
+			throw e;
+		}
+		return result.whenComplete((calculated, e) -> createAsyncMetrics.stop(start, e != null));
+	}
+
+	/**
+	 * Reactive variant of {@link #create(DataTo)}. The calculation is subscribed on the calc executor.
+	 */
+	@PostMapping("/actions/calculate/reactive")
+	public Mono<DataTo> createReactive(@RequestBody DataTo dataTo) {
+		LOG.info("Input DataTo (reactive): {}",dataTo);
+		final long start = createReactiveMetrics.start();
+		final Mono<DataTo> result = dispatcher != null ? Mono.defer(() -> Mono.fromFuture(dispatcher.submit(dataTo)))
+				: Mono.fromCallable(() -> service.calc(dataTo)).subscribeOn(calcScheduler);
+		return result.doFinally(signal -> createReactiveMetrics.stop(start, signal == SignalType.ON_ERROR));
+	}
+
+	/**
+	 * The calc executor queue is full
+	 */
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<String> handleRejected(RejectedExecutionException e) {
+		LOG.warn("Calculation rejected: {}", e.getMessage());
+		return new ResponseEntity<>("Too many calculations in flight, retry later", HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	/**
+	 * The record id was already processed, see {@link com.company.app.service.DedupLambdaService}
+	 */
+	@ExceptionHandler(DuplicateDataException.class)
+	public ResponseEntity<String> handleDuplicate(DuplicateDataException e) {
+		LOG.info("Duplicate dropped: {}", e.getMessage());
+		return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+	}
+
+	/**
+	 * Batch variant of {@link #create(DataTo)}. Accepts a JSON array or an NDJSON body, calculates each record as soon
+	 * as it is parsed and streams the results back in chunks, so the batch size is not bounded by the heap.
+	 */
+	@PostMapping(value = "/actions/calculate/batch", consumes = { MediaType.APPLICATION_JSON_VALUE,
+			Const.NDJSON_MEDIA_TYPE })
+	public ResponseEntity<StreamingResponseBody> createBatch(InputStream in,
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+		LOG.info("Input DataTo batch with content type: {}", contentType);
+		final String outContentType = contentType.startsWith(Const.NDJSON_MEDIA_TYPE) ? Const.NDJSON_MEDIA_TYPE
+				: MediaType.APPLICATION_JSON_VALUE;
+		final StreamingResponseBody body = out -> {
+			final long start = createBatchMetrics.start();
+			boolean failed = true;
+			try {
+				streamingService.calcStream(in, out);
+				failed = false;
+			} finally {
+				createBatchMetrics.stop(start, failed);
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(outContentType)).body(body);
 	}
 	
 }
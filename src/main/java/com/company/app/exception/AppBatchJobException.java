@@ -0,0 +1,26 @@
+package com.company.app.exception;
+
+public class AppBatchJobException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AppBatchJobException() {
+    }
+
+    public AppBatchJobException(final String message) {
+        super(message);
+    }
+
+    public AppBatchJobException(final Throwable cause) {
+        super(cause);
+    }
+
+    public AppBatchJobException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+    public AppBatchJobException(final String message, final Throwable cause, final boolean enableSuppression,
+            final boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,26 @@
+package com.company.app.exception;
+
+public class AppRuleParseException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AppRuleParseException() {
+    }
+
+    public AppRuleParseException(final String message) {
+        super(message);
+    }
+
+    public AppRuleParseException(final Throwable cause) {
+        super(cause);
+    }
+
+    public AppRuleParseException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+    public AppRuleParseException(final String message, final Throwable cause, final boolean enableSuppression,
+            final boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,19 @@
+package com.company.app.exception;
+
+/**
+ * Thrown when a record was already processed, e.g. resent by an upstream retry. Duplicates are part of the normal flow,
+ * so the exception carries no stack trace.
+ */
+public class DuplicateDataException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateDataException(final String message) {
+        super(message, null, false, false);
+    }
+
+    public DuplicateDataException(final String message, final Throwable cause, final boolean enableSuppression,
+            final boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
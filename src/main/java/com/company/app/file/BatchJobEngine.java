@@ -0,0 +1,274 @@
+package com.company.app.file;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.company.app.exception.AppBatchJobException;
+import com.company.app.file.BatchJobReport.BatchTiming;
+import com.company.app.service.DedupLambdaService;
+import com.company.app.service.LambdaService;
+import com.company.app.service.LambdaServiceDecorator;
+import com.company.app.to.DataTo;
+import com.company.app.util.FileMetadata;
+import com.company.app.util.Util;
+import com.google.common.base.Preconditions;
+
+/**
+ * Runs a CSV file of {@link DataTo} records thru {@link LambdaService#calcBatch(List)} and writes the results to an
+ * output CSV file in input order.
+ * <p>
+ * The batch plan comes from the {@link Util} batch-sizing helpers. The input is parsed in file order on the calling
+ * thread, each batch is calculated on the executor and the calling thread writes the results batch by batch, waiting
+ * for the oldest batch first. At most maxInFlightBatches batches are held in memory at any time, so the memory use does
+ * not depend on the file size. The output is committed only when every batch succeeded. Records dropped by the
+ * service, i.e. null results such as duplicates, are not written. When the service chain holds a
+ * {@link DedupLambdaService}, the ids the run remembered are forgotten again if the output is not committed, so that
+ * rerunning the file does not drop its records as duplicates.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class BatchJobEngine {
+
+    private static Logger LOG = LoggerFactory.getLogger(BatchJobEngine.class);
+
+    private final LambdaService service;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxInFlightBatches;
+    private final boolean fsync;
+
+    private BatchJobEngine(final Builder builder) {
+        this.service = builder.service;
+        this.executor = builder.executor;
+        this.batchSize = builder.batchSize;
+        this.maxInFlightBatches = builder.maxInFlightBatches;
+        this.fsync = builder.fsync;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Calculates every record of the input file and writes the results to the output file
+     *
+     * @param input CSV file to read
+     * @param output CSV file to write, or {@link DataToColumnar} file when its extension is {@link DataToColumnar#EXT}.
+     *            It is written to its temp-extension path and renamed once complete
+     * @return the batch plan and timings
+     */
+    public BatchJobReport run(final FileMetadata input, final FileMetadata output) {
+        final long startNanos = System.nanoTime();
+        final DataToCsvReader reader = DataToCsvReader.builder().fileMetadata(input).executor(executor).build();
+        final long records = reader.countRecords();
+        Preconditions.checkArgument(records <= Integer.MAX_VALUE, "file [%s] holds too many records [%s]",
+                input.getPath(), records);
+        final int totRecords = (int) records;
+        final DedupLambdaService dedup = LambdaServiceDecorator.find(service, DedupLambdaService.class);
+        final Run run = new Run(totRecords, dedup == null ? null : dedup.startJob());
+        LOG.info("Batch plan for [{}]: {} records in {} batches ({} full batches of {} and a partial batch of {})",
+                input.getPath(), totRecords, run.batches, run.fullBatches, batchSize, run.partialBatchRecords);
+        try (final DataToWriter writer = DataToWriter.forFile(output, fsync)) {
+            try {
+                reader.forEachOrdered(dataTo -> run.add(dataTo, writer));
+                run.finish(writer);
+            } catch (final RuntimeException e) {
+                writer.abort();
+                run.cancel();
+                throw e;
+            }
+        } catch (final RuntimeException e) {
+            // thrown by a batch or by the commit on close
+            if (run.dedupJob != null) {
+                run.dedupJob.rollback();
+            }
+            throw e;
+        }
+        final BatchJobReport report = new BatchJobReport(input.getPath(), output.getPath(), run.recordCount,
+                batchSize, run.timings, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        LOG.info("{}", report);
+        return report;
+    }
+
+    /**
+     * State of a single run. Only touched by the thread calling {@link BatchJobEngine#run(FileMetadata, FileMetadata)}
+     */
+    private final class Run {
+        private final int batches;
+        private final int fullBatches;
+        private final int partialBatchRecords;
+        private final Deque<Future<CalcResult>> inFlight = new ArrayDeque<>();
+        private final List<BatchTiming> timings;
+        private final DedupLambdaService.Job dedupJob;
+        private List<DataTo> current;
+        private int batchIndex;
+        private int recordCount;
+        private int droppedCount;
+
+        private Run(final int totRecords, final DedupLambdaService.Job dedupJob) {
+            this.batches = Util.findNumberOfBatches(totRecords, batchSize);
+            this.fullBatches = Util.findNumberOfFullSizeBatches(totRecords, batchSize);
+            this.partialBatchRecords = Util.findNumberOfRecordsOfPartialSizeBatch(totRecords, batchSize);
+            this.timings = new ArrayList<>(batches);
+            this.dedupJob = dedupJob;
+            this.current = new ArrayList<>(expectedSize(0));
+        }
+
+        private int expectedSize(final int index) {
+            return index == fullBatches && partialBatchRecords > 0 ? partialBatchRecords : batchSize;
+        }
+
+        private void add(final DataTo dataTo, final DataToWriter writer) {
+            current.add(dataTo);
+            if (current.size() == expectedSize(batchIndex)) {
+                submit(writer);
+            }
+        }
+
+        private void submit(final DataToWriter writer) {
+            final int index = batchIndex++;
+            final List<DataTo> batch = current;
+            inFlight.addLast(executor.submit(() -> calc(index, batch, dedupJob)));
+            current = new ArrayList<>(expectedSize(batchIndex));
+            while (inFlight.size() >= maxInFlightBatches) {
+                writeOldest(writer);
+            }
+        }
+
+        private void finish(final DataToWriter writer) {
+            if (!current.isEmpty()) {
+                submit(writer);
+            }
+            while (!inFlight.isEmpty()) {
+                writeOldest(writer);
+            }
+            if (batchIndex != batches) {
+                LOG.warn("Planned {} batches but ran {}: the input file changed while being processed", batches,
+                        batchIndex);
+            }
+            if (droppedCount > 0) {
+                LOG.info("{} records dropped by the service were not written", droppedCount);
+            }
+        }
+
+        private void writeOldest(final DataToWriter writer) {
+            final CalcResult result;
+            try {
+                result = inFlight.removeFirst().get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AppBatchJobException("Interrupted while waiting for a batch", e);
+            } catch (final ExecutionException e) {
+                throw new AppBatchJobException(String.format("Batch failed: %s", e.getCause()), e.getCause());
+            }
+            final long writeStart = System.nanoTime();
+            for (final DataTo dataTo : result.results) {
+                if (dataTo != null) {
+                    writer.write(dataTo);
+                    recordCount++;
+                } else {
+                    droppedCount++;
+                }
+            }
+            timings.add(new BatchTiming(result.batchIndex, result.results.size(), result.calcNanos,
+                    System.nanoTime() - writeStart));
+        }
+
+        private void cancel() {
+            for (final Future<CalcResult> future : inFlight) {
+                future.cancel(true);
+            }
+            inFlight.clear();
+        }
+    }
+
+    private CalcResult calc(final int batchIndex, final List<DataTo> batch, final DedupLambdaService.Job dedupJob) {
+        final long start = System.nanoTime();
+        final List<DataTo> results = service.calcBatch(batch);
+        if (results.size() != batch.size()) {
+            final String msg = String.format("calcBatch returned [%s] results for the [%s] records of batch [%s]",
+                    results.size(), batch.size(), batchIndex);
+            throw new AppBatchJobException(msg);
+        }
+        if (dedupJob != null) {
+            // also when the run was already cancelled: the job then forgets the ids at once
+            dedupJob.calculated(batch, results);
+        }
+        return new CalcResult(batchIndex, results, System.nanoTime() - start);
+    }
+
+    private static final class CalcResult {
+        private final int batchIndex;
+        private final List<DataTo> results;
+        private final long calcNanos;
+
+        private CalcResult(final int batchIndex, final List<DataTo> results, final long calcNanos) {
+            this.batchIndex = batchIndex;
+            this.results = results;
+            this.calcNanos = calcNanos;
+        }
+    }
+
+    public static class Builder {
+
+        private LambdaService service;
+        private ExecutorService executor = ForkJoinPool.commonPool();
+        private int batchSize = 1000;
+        private int maxInFlightBatches = 2 * Runtime.getRuntime().availableProcessors();
+        private boolean fsync;
+
+        public Builder() {
+            // this constructor is needed. Invoked by the static BatchJobEngine build method
+        }
+
+        public Builder service(final LambdaService service) {
+            this.service = service;
+            return this;
+        }
+
+        /**
+         * Pool that counts the input records and calculates the batches. Defaults to the common fork-join pool.
+         */
+        public Builder executor(final ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Maximum number of batches being calculated or waiting to be written. Bounds the memory of a run.
+         */
+        public Builder maxInFlightBatches(final int maxInFlightBatches) {
+            this.maxInFlightBatches = maxInFlightBatches;
+            return this;
+        }
+
+        public Builder fsync(final boolean fsync) {
+            this.fsync = fsync;
+            return this;
+        }
+
+        public BatchJobEngine build() {
+            Preconditions.checkArgument(service != null, "service must be set");
+            Preconditions.checkArgument(batchSize > 0, "batchSize [%s] must be greater than zero", batchSize);
+            Preconditions.checkArgument(maxInFlightBatches > 0, "maxInFlightBatches [%s] must be greater than zero",
+                    maxInFlightBatches);
+            return new BatchJobEngine(this);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.company.app.file;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.company.app.util.Util;
+
+/**
+ * Outcome of a {@link BatchJobEngine} run: the batch plan, the per-batch timings and the overall throughput
+ *
+ * @since 10/17/2026
+ *
+ */
+public class BatchJobReport {
+
+    private final String inputPath;
+    private final String outputPath;
+    private final int totalRecords;
+    private final int batchSize;
+    private final List<BatchTiming> batchTimings;
+    private final long elapsedMillis;
+
+    BatchJobReport(final String inputPath, final String outputPath, final int totalRecords, final int batchSize,
+            final List<BatchTiming> batchTimings, final long elapsedMillis) {
+        this.inputPath = inputPath;
+        this.outputPath = outputPath;
+        this.totalRecords = totalRecords;
+        this.batchSize = batchSize;
+        this.batchTimings = Collections.unmodifiableList(batchTimings);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getInputPath() {
+        return inputPath;
+    }
+
+    public String getOutputPath() {
+        return outputPath;
+    }
+
+    public int getTotalRecords() {
+        return totalRecords;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public List<BatchTiming> getBatchTimings() {
+        return batchTimings;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return records processed per second over the whole run
+     */
+    public long getRecordsPerSecond() {
+        return elapsedMillis == 0 ? totalRecords : TimeUnit.SECONDS.toMillis(totalRecords) / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchJobReport [inputPath=" + inputPath + ", outputPath=" + outputPath + ", totalRecords="
+                + Util.formatWithCommas(totalRecords) + ", batchSize=" + batchSize + ", batches=" + batchTimings.size()
+                + ", elapsed=" + Util.formatMilliSeconds(elapsedMillis) + ", recordsPerSecond="
+                + Util.formatWithCommas(getRecordsPerSecond()) + "]";
+    }
+
+    /**
+     * Timing of a single batch. The calc time is measured on the worker thread and the write time on the thread
+     * writing the ordered output.
+     */
+    public static class BatchTiming {
+
+        private final int batchIndex;
+        private final int recordCount;
+        private final long calcNanos;
+        private final long writeNanos;
+
+        BatchTiming(final int batchIndex, final int recordCount, final long calcNanos, final long writeNanos) {
+            this.batchIndex = batchIndex;
+            this.recordCount = recordCount;
+            this.calcNanos = calcNanos;
+            this.writeNanos = writeNanos;
+        }
+
+        public int getBatchIndex() {
+            return batchIndex;
+        }
+
+        public int getRecordCount() {
+            return recordCount;
+        }
+
+        public long getCalcNanos() {
+            return calcNanos;
+        }
+
+        public long getWriteNanos() {
+            return writeNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "BatchTiming [batchIndex=" + batchIndex + ", recordCount=" + recordCount + ", calcMicros="
+                    + TimeUnit.NANOSECONDS.toMicros(calcNanos) + ", writeMicros="
+                    + TimeUnit.NANOSECONDS.toMicros(writeNanos) + "]";
+        }
+    }
+}
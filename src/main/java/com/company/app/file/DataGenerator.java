@@ -0,0 +1,398 @@
+package com.company.app.file;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.company.app.exception.AppFileWriteException;
+import com.company.app.to.DataTo;
+import com.company.app.util.FileMetadata;
+import com.company.app.util.Util;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.base.Preconditions;
+
+/**
+ * Generates reproducible synthetic {@link DataTo} records for load and soak tests, and writes them as CSV laid out as
+ * {@link com.company.app.util.Const#FILE_HEADER_NAMES_STR} or as NDJSON.
+ * <p>
+ * The records are generated in chunks of chunkRecords records, in parallel on the executor. Every record draws from
+ * its own {@link SplittableRandom} seeded from the generator seed and the record index, so the output only depends on
+ * the seed, the record count and the value pools, never on the chunk size, the thread count or the scheduling. Chunks
+ * are handed out, or written, in chunk order with at most maxInFlightChunks chunks held in memory.
+ * <p>
+ * Amounts are generated as fixed-point cents, and dates are picked from a table of the dates of the range, so
+ * generating a record allocates little more than the record and its id.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class DataGenerator {
+
+    private static Logger LOG = LoggerFactory.getLogger(DataGenerator.class);
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int AMOUNT_SCALE = 2;
+
+    private final long seed;
+    private final long recordCount;
+    private final int chunkRecords;
+    private final ExecutorService executor;
+    private final int maxInFlightChunks;
+    private final long minAmountCents;
+    private final long maxAmountCents;
+    private final boolean fixedPointAmounts;
+    private final LocalDate[] dates;
+    private final String[] names;
+    private final String[] customerNames;
+    private final String[] transactionTypes;
+
+    private DataGenerator(final Builder builder) {
+        this.seed = builder.seed;
+        this.recordCount = builder.recordCount;
+        this.chunkRecords = builder.chunkRecords;
+        this.executor = builder.executor;
+        this.maxInFlightChunks = builder.maxInFlightChunks;
+        this.minAmountCents = builder.minAmountCents;
+        this.maxAmountCents = builder.maxAmountCents;
+        this.fixedPointAmounts = builder.fixedPointAmounts;
+        final long minDay = builder.minDate.toEpochDay();
+        this.dates = new LocalDate[(int) (builder.maxDate.toEpochDay() - minDay + 1)];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = LocalDate.ofEpochDay(minDay + i);
+        }
+        this.names = builder.names.toArray(new String[0]);
+        this.customerNames = builder.customerNames.toArray(new String[0]);
+        this.transactionTypes = builder.transactionTypes.toArray(new String[0]);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long getChunkCount() {
+        return (recordCount + chunkRecords - 1) / chunkRecords;
+    }
+
+    /**
+     * @param chunkIndex between 0 and {@link #getChunkCount()} excluded
+     * @return the records of the chunk; always the same ones for the same generator settings
+     */
+    public List<DataTo> chunk(final long chunkIndex) {
+        Preconditions.checkArgument(chunkIndex >= 0 && chunkIndex < getChunkCount(),
+                "chunkIndex [%s] must be between 0 and [%s]", chunkIndex, getChunkCount());
+        final long first = chunkIndex * chunkRecords;
+        final int size = (int) Math.min(chunkRecords, recordCount - first);
+        final List<DataTo> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            records.add(record(first + i));
+        }
+        return records;
+    }
+
+    private DataTo record(final long index) {
+        // local and short-lived, so cheap, and often scalar-replaced by the JIT
+        final SplittableRandom random = new SplittableRandom(mix64(seed + GOLDEN_GAMMA * (index + 1)));
+        final long cents = random.nextLong(minAmountCents, maxAmountCents + 1);
+        final DataTo.Builder builder = DataTo.builder().id(Long.toString(index + 1))
+                .name(names[random.nextInt(names.length)]).date(dates[random.nextInt(dates.length)])
+                .customerName(customerNames[random.nextInt(customerNames.length)])
+                .transactionType(transactionTypes[random.nextInt(transactionTypes.length)]);
+        return fixedPointAmounts ? builder.fixedPointAmount(cents, AMOUNT_SCALE).build()
+                : builder.amount(BigDecimal.valueOf(cents, AMOUNT_SCALE)).build();
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads neighbouring record seeds over the whole seed space
+     */
+    private static long mix64(final long z) {
+        long x = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+
+    /**
+     * Generates the chunks in parallel and hands them to the consumer in chunk order, on the calling thread
+     */
+    public void forEachChunk(final Consumer<List<DataTo>> consumer) {
+        generate(records -> records, consumer);
+    }
+
+    /**
+     * Writes all the records as CSV, committing the file only when complete (see {@link DataToCsvWriter})
+     *
+     * @param output CSV file to write
+     * @param header whether the header line is written first
+     * @return number of written records
+     */
+    public long writeCsv(final FileMetadata output, final boolean header) {
+        final long start = System.currentTimeMillis();
+        try (final DataToCsvWriter writer = DataToCsvWriter.builder().fileMetadata(output).header(header).build()) {
+            try {
+                forEachChunk(records -> records.forEach(writer::write));
+            } catch (final RuntimeException e) {
+                writer.abort();
+                throw e;
+            }
+            log(output, writer.getRecordCount(), start);
+            return writer.getRecordCount();
+        }
+    }
+
+    /**
+     * Writes all the records as NDJSON, one object per line. The chunks are encoded in parallel too. The file is
+     * written to its temp-extension path and renamed once complete
+     *
+     * @param output NDJSON file to write
+     * @param objectMapper mapper encoding the records, e.g. the application one
+     * @return number of written records
+     */
+    public long writeNdjson(final FileMetadata output, final ObjectMapper objectMapper) {
+        final long start = System.currentTimeMillis();
+        final ObjectWriter writer = objectMapper.writerFor(DataTo.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final Path tempPath = Paths.get(output.getPathWithTempExtension());
+        final Path path = Paths.get(output.getPath());
+        final long[] count = new long[1];
+        try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempPath),
+                DataToCsvWriter.DEFAULT_BUFFER_SIZE_BYTES)) {
+            generate(records -> encodeNdjson(records, objectMapper, writer), chunk -> {
+                try {
+                    out.write(chunk.bytes, 0, chunk.length);
+                    count[0] += chunk.records;
+                } catch (final IOException e) {
+                    throw new AppFileWriteException(String.format("Exception while writing to [%s]", tempPath), e);
+                }
+            });
+        } catch (final IOException | RuntimeException e) {
+            deleteQuietly(tempPath);
+            throw e instanceof RuntimeException ? (RuntimeException) e
+                    : new AppFileWriteException(String.format("Exception while writing to [%s]", tempPath), e);
+        }
+        DataToCsvWriter.commit(tempPath, path, false);
+        log(output, count[0], start);
+        return count[0];
+    }
+
+    private static EncodedChunk encodeNdjson(final List<DataTo> records, final ObjectMapper objectMapper,
+            final ObjectWriter writer) {
+        final ExposedByteArrayOutputStream bytes = new ExposedByteArrayOutputStream(records.size() * 160);
+        try (final JsonGenerator generator = objectMapper.getFactory().createGenerator(bytes)) {
+            // every line ends with its own newline, so lines of consecutive chunks concatenate
+            generator.setRootValueSeparator(null);
+            for (final DataTo dataTo : records) {
+                writer.writeValue(generator, dataTo);
+                generator.writeRaw('\n');
+            }
+        } catch (final IOException e) {
+            throw new AppFileWriteException("Exception while encoding records as NDJSON", e);
+        }
+        return new EncodedChunk(bytes.buffer(), bytes.size(), records.size());
+    }
+
+    private static void deleteQuietly(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (final IOException e) {
+            LOG.warn("Could not delete [{}]", path, e);
+        }
+    }
+
+    private void log(final FileMetadata output, final long count, final long start) {
+        LOG.info("Generated {} records with seed {} into [{}] in {}", Util.formatWithCommas(count), seed,
+                output.getPath(), Util.formatMilliSeconds(System.currentTimeMillis() - start));
+    }
+
+    /**
+     * Generates and maps the chunks on the executor, and hands the results to the sink in chunk order
+     */
+    private <T> void generate(final Function<List<DataTo>, T> mapper, final Consumer<T> sink) {
+        final Deque<Future<T>> inFlight = new ArrayDeque<>();
+        try {
+            for (long chunkIndex = 0; chunkIndex < getChunkCount(); chunkIndex++) {
+                final long index = chunkIndex;
+                inFlight.addLast(executor.submit(() -> mapper.apply(chunk(index))));
+                if (inFlight.size() >= maxInFlightChunks) {
+                    sink.accept(await(inFlight.removeFirst()));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                sink.accept(await(inFlight.removeFirst()));
+            }
+        } finally {
+            for (final Future<T> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static <T> T await(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating records", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+
+    private static final class EncodedChunk {
+        private final byte[] bytes;
+        private final int length;
+        private final int records;
+
+        private EncodedChunk(final byte[] bytes, final int length, final int records) {
+            this.bytes = bytes;
+            this.length = length;
+            this.records = records;
+        }
+    }
+
+    /**
+     * Gives access to its buffer, sparing the copy of {@link ByteArrayOutputStream#toByteArray()}
+     */
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+        private ExposedByteArrayOutputStream(final int size) {
+            super(size);
+        }
+
+        private byte[] buffer() {
+            return buf;
+        }
+    }
+
+    public static class Builder {
+
+        private long seed;
+        private long recordCount;
+        private int chunkRecords = 100_000;
+        private ExecutorService executor = ForkJoinPool.commonPool();
+        private int maxInFlightChunks = 2 * Runtime.getRuntime().availableProcessors();
+        private long minAmountCents;
+        private long maxAmountCents = 10_000;
+        private boolean fixedPointAmounts = true;
+        private LocalDate minDate = LocalDate.of(2000, 1, 1);
+        private LocalDate maxDate = LocalDate.of(2025, 12, 31);
+        private List<String> names = Arrays.asList("Invoice", "Payment", "Refund", "Adjustment", "Transfer", "Fee",
+                "Interest", "Chargeback");
+        private List<String> customerNames = Arrays.asList("ACME Corporation", "Globex Inc", "Initech LLC",
+                "Umbrella Corp", "Stark Industries", "Wayne Enterprises", "Hooli", "Soylent Co", "Vandelay Industries",
+                "Wonka Industries");
+        private List<String> transactionTypes = Arrays.asList("Z230", "X241", "X242", "F232");
+
+        public Builder() {
+            // this constructor is needed. Invoked by the static DataGenerator build method
+        }
+
+        public Builder seed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder recordCount(final long recordCount) {
+            this.recordCount = recordCount;
+            return this;
+        }
+
+        /**
+         * Records per chunk, i.e. per task. Has no effect on the generated records
+         */
+        public Builder chunkRecords(final int chunkRecords) {
+            this.chunkRecords = chunkRecords;
+            return this;
+        }
+
+        /**
+         * Pool generating the chunks. Defaults to the common fork-join pool.
+         */
+        public Builder executor(final ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder maxInFlightChunks(final int maxInFlightChunks) {
+            this.maxInFlightChunks = maxInFlightChunks;
+            return this;
+        }
+
+        /**
+         * Closed range of the amounts, in cents. Defaults to 0.00 to 100.00
+         */
+        public Builder amountCentsRange(final long minAmountCents, final long maxAmountCents) {
+            this.minAmountCents = minAmountCents;
+            this.maxAmountCents = maxAmountCents;
+            return this;
+        }
+
+        /**
+         * Whether the records hold their amount as a fixed-point scaled long rather than a BigDecimal. Defaults to true
+         */
+        public Builder fixedPointAmounts(final boolean fixedPointAmounts) {
+            this.fixedPointAmounts = fixedPointAmounts;
+            return this;
+        }
+
+        /**
+         * Closed range of the dates. Defaults to 1/1/2000 to 12/31/2025
+         */
+        public Builder dateRange(final LocalDate minDate, final LocalDate maxDate) {
+            this.minDate = minDate;
+            this.maxDate = maxDate;
+            return this;
+        }
+
+        public Builder names(final List<String> names) {
+            this.names = names;
+            return this;
+        }
+
+        public Builder customerNames(final List<String> customerNames) {
+            this.customerNames = customerNames;
+            return this;
+        }
+
+        public Builder transactionTypes(final List<String> transactionTypes) {
+            this.transactionTypes = transactionTypes;
+            return this;
+        }
+
+        public DataGenerator build() {
+            Preconditions.checkArgument(recordCount >= 0, "recordCount [%s] must be greater than or equal to zero",
+                    recordCount);
+            Preconditions.checkArgument(chunkRecords > 0, "chunkRecords [%s] must be greater than zero", chunkRecords);
+            Preconditions.checkArgument(maxInFlightChunks > 0, "maxInFlightChunks [%s] must be greater than zero",
+                    maxInFlightChunks);
+            Preconditions.checkArgument(minAmountCents <= maxAmountCents && maxAmountCents < Long.MAX_VALUE,
+                    "amount range [%s, %s] is not valid", minAmountCents, maxAmountCents);
+            Preconditions.checkArgument(!minDate.isAfter(maxDate), "date range [%s, %s] is not valid", minDate,
+                    maxDate);
+            Preconditions.checkArgument(!names.isEmpty() && !customerNames.isEmpty() && !transactionTypes.isEmpty(),
+                    "value pools must not be empty");
+            return new DataGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.company.app.file;
+
+import java.math.BigDecimal;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+
+import com.company.app.to.DataTo;
+
+/**
+ * Holds the layout of the binary, column-oriented {@link DataTo} file format written by {@link DataToColumnarWriter}
+ * and read by {@link DataToColumnarReader}. All numbers are little-endian.
+ *
+ * <pre>
+ * file        := MAGIC VERSION:int rowGroup* footer footerOffset:long MAGIC
+ * rowGroup    := columnChunk[ID] columnChunk[NAME] columnChunk[AMOUNT] columnChunk[DATE]
+ *                columnChunk[CUSTOMER_NAME] columnChunk[TRANSACTION_TYPE]
+ * footer      := rowGroupCount:int (rowCount:int (offset:long length:int)[6] stats)*
+ * stats       := hasDates:byte [minEpochDay:int maxEpochDay:int]
+ *                hasAmounts:byte [minUnscaled:long minScale:int maxUnscaled:long maxScale:int]
+ * </pre>
+ *
+ * A string column chunk is either dictionary-encoded (the distinct values of the row group, then one code per row of
+ * 1, 2 or 4 bytes, -1 standing for null) or, when most values are distinct, plain (length-prefixed UTF-8, length -1
+ * standing for null). An amount chunk holds scaled longs, with a single scale when the row group shares one, or plain
+ * decimal strings when an amount does not fit a long. A date chunk holds epoch days. Amount and date chunks start with
+ * an optional null bitmap.
+ * <p>
+ * Every column chunk is located by the footer, so a reader maps only the chunks of the columns it needs, and skips the
+ * row groups whose stats do not match.
+ *
+ * @since 10/17/2026
+ *
+ */
+public abstract class DataToColumnar {
+
+    /**
+     * file extension of the format
+     */
+    public static final String EXT = "dtc";
+    public static final int DEFAULT_ROW_GROUP_SIZE = 64 * 1024;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final int MAGIC = 0x31435444; // "DTC1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int TRAILER_BYTES = 12;
+    //
+    static final byte STRING_DICT = 1;
+    static final byte STRING_PLAIN = 2;
+    static final byte AMOUNT_SCALED = 3;
+    static final byte AMOUNT_SCALED_MIXED = 4;
+    static final byte AMOUNT_DECIMAL_STRING = 5;
+    static final byte DATE_EPOCH_DAY = 6;
+    static final int NULL_CODE = -1;
+    static final int NULL_LENGTH = -1;
+
+    private DataToColumnar() {
+    }
+
+    /**
+     * Columns of the format, in file order
+     */
+    public enum Column {
+        ID, NAME, AMOUNT, DATE, CUSTOMER_NAME, TRANSACTION_TYPE;
+
+        static final Column[] VALUES = values();
+    }
+
+    /**
+     * Location and min/max stats of one row group, as found in the footer
+     */
+    public static final class RowGroupStats {
+
+        private final int index;
+        private final int rowCount;
+        private final long[] offsets;
+        private final int[] lengths;
+        private final LocalDate minDate;
+        private final LocalDate maxDate;
+        private final BigDecimal minAmount;
+        private final BigDecimal maxAmount;
+
+        RowGroupStats(final int index, final int rowCount, final long[] offsets, final int[] lengths,
+                final LocalDate minDate, final LocalDate maxDate, final BigDecimal minAmount,
+                final BigDecimal maxAmount) {
+            this.index = index;
+            this.rowCount = rowCount;
+            this.offsets = offsets;
+            this.lengths = lengths;
+            this.minDate = minDate;
+            this.maxDate = maxDate;
+            this.minAmount = minAmount;
+            this.maxAmount = maxAmount;
+        }
+
+        long offset(final Column column) {
+            return offsets[column.ordinal()];
+        }
+
+        int length(final Column column) {
+            return lengths[column.ordinal()];
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * @return the earliest date of the row group, null when it holds no date
+         */
+        public LocalDate getMinDate() {
+            return minDate;
+        }
+
+        public LocalDate getMaxDate() {
+            return maxDate;
+        }
+
+        /**
+         * @return the smallest amount of the row group, null when it holds no amount or amounts too large for a long
+         */
+        public BigDecimal getMinAmount() {
+            return minAmount;
+        }
+
+        public BigDecimal getMaxAmount() {
+            return maxAmount;
+        }
+
+        /**
+         * @return whether the row group may hold a date within [from, to]
+         */
+        public boolean overlapsDates(final LocalDate from, final LocalDate to) {
+            return minDate != null && !maxDate.isBefore(from) && !minDate.isAfter(to);
+        }
+
+        @Override
+        public String toString() {
+            return "RowGroupStats [index=" + index + ", rowCount=" + rowCount + ", minDate=" + minDate + ", maxDate="
+                    + maxDate + ", minAmount=" + minAmount + ", maxAmount=" + maxAmount + "]";
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.company.app.file;
+
+import static com.company.app.file.DataToColumnar.AMOUNT_DECIMAL_STRING;
+import static com.company.app.file.DataToColumnar.AMOUNT_SCALED;
+import static com.company.app.file.DataToColumnar.AMOUNT_SCALED_MIXED;
+import static com.company.app.file.DataToColumnar.DATE_EPOCH_DAY;
+import static com.company.app.file.DataToColumnar.NULL_LENGTH;
+import static com.company.app.file.DataToColumnar.STRING_DICT;
+import static com.company.app.file.DataToColumnar.STRING_PLAIN;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.company.app.exception.AppFileReadException;
+import com.company.app.file.DataToColumnar.Column;
+import com.company.app.file.DataToColumnar.RowGroupStats;
+import com.company.app.to.DataTo;
+import com.company.app.util.FileMetadata;
+import com.company.app.util.FixedPoint;
+import com.company.app.util.StringDictionary;
+import com.google.common.base.Preconditions;
+
+/**
+ * Reads {@link DataTo} records from a file written by {@link DataToColumnarWriter}.
+ * <p>
+ * Only the footer is read up front. The row groups rejected by the row-group filter are skipped without being read,
+ * and of the others only the chunks of the selected columns are memory-mapped and decoded; the fields of the other
+ * columns are left null in the returned records. Dictionary-encoded strings are decoded once per row group, so the
+ * records of a row group share their string instances; customerName and transactionType are further canonicalized
+ * thru the shared {@link StringDictionary} instances.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class DataToColumnarReader {
+
+    private final String path;
+    private final Set<Column> columns;
+    private final Predicate<RowGroupStats> rowGroupFilter;
+
+    private DataToColumnarReader(final Builder builder) {
+        this.path = builder.path;
+        this.columns = builder.columns;
+        this.rowGroupFilter = builder.rowGroupFilter;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the location and stats of every row group of the file, in file order
+     */
+    public List<RowGroupStats> getRowGroups() {
+        try (final FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            return readFooter(channel);
+        } catch (final IOException e) {
+            throw new AppFileReadException(String.format("Exception while reading a file [%s]", path), e);
+        }
+    }
+
+    /**
+     * Decodes the row groups accepted by the filter one after the other and hands each record to the consumer in file
+     * order
+     *
+     * @param consumer record consumer
+     * @return number of records read
+     */
+    public long forEach(final Consumer<DataTo> consumer) {
+        long count = 0;
+        try (final FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            for (final RowGroupStats rowGroup : readFooter(channel)) {
+                if (rowGroupFilter.test(rowGroup)) {
+                    count += new RowGroupDecoder(channel, rowGroup).forEach(consumer);
+                }
+            }
+        } catch (final IOException e) {
+            throw new AppFileReadException(String.format("Exception while reading a file [%s]", path), e);
+        }
+        return count;
+    }
+
+    private List<RowGroupStats> readFooter(final FileChannel channel) throws IOException {
+        final long size = channel.size();
+        if (size < DataToColumnar.HEADER_BYTES + DataToColumnar.TRAILER_BYTES) {
+            throw notColumnar("too short");
+        }
+        final ByteBuffer header = read(channel, 0, DataToColumnar.HEADER_BYTES);
+        if (header.getInt() != DataToColumnar.MAGIC || header.getInt() != DataToColumnar.VERSION) {
+            throw notColumnar("unknown header");
+        }
+        final ByteBuffer trailer = read(channel, size - DataToColumnar.TRAILER_BYTES, DataToColumnar.TRAILER_BYTES);
+        final long footerOffset = trailer.getLong();
+        if (trailer.getInt() != DataToColumnar.MAGIC || footerOffset < DataToColumnar.HEADER_BYTES
+                || footerOffset > size - DataToColumnar.TRAILER_BYTES) {
+            throw notColumnar("unknown trailer");
+        }
+        final ByteBuffer footer = read(channel, footerOffset, (int) (size - DataToColumnar.TRAILER_BYTES
+                - footerOffset));
+        final int rowGroupCount = footer.getInt();
+        final List<RowGroupStats> rowGroups = new ArrayList<>(rowGroupCount);
+        for (int index = 0; index < rowGroupCount; index++) {
+            final int rowCount = footer.getInt();
+            final long[] offsets = new long[Column.VALUES.length];
+            final int[] lengths = new int[Column.VALUES.length];
+            for (int col = 0; col < Column.VALUES.length; col++) {
+                offsets[col] = footer.getLong();
+                lengths[col] = footer.getInt();
+            }
+            LocalDate minDate = null;
+            LocalDate maxDate = null;
+            if (footer.get() != 0) {
+                minDate = LocalDate.ofEpochDay(footer.getInt());
+                maxDate = LocalDate.ofEpochDay(footer.getInt());
+            }
+            BigDecimal minAmount = null;
+            BigDecimal maxAmount = null;
+            if (footer.get() != 0) {
+                minAmount = FixedPoint.toBigDecimal(footer.getLong(), footer.getInt());
+                maxAmount = FixedPoint.toBigDecimal(footer.getLong(), footer.getInt());
+            }
+            rowGroups.add(new RowGroupStats(index, rowCount, offsets, lengths, minDate, maxDate, minAmount,
+                    maxAmount));
+        }
+        return rowGroups;
+    }
+
+    private static ByteBuffer read(final FileChannel channel, final long offset, final int length)
+            throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(DataToColumnar.ORDER);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException(String.format("unexpected end of file at [%s]", offset + buffer.position()));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private AppFileReadException notColumnar(final String reason) {
+        return new AppFileReadException(String.format("File [%s] is not a %s file: %s", path,
+                DataToColumnar.class.getSimpleName(), reason));
+    }
+
+    /**
+     * Decodes the selected columns of one row group
+     */
+    private final class RowGroupDecoder {
+        private final RowGroupStats rowGroup;
+        private final int rowCount;
+        private final String[][] strings = new String[Column.VALUES.length][];
+        private byte[] scratch = new byte[256];
+        private long[] unscaled;
+        private int[] scales;
+        private BigDecimal[] decimals;
+        private boolean[] amountNulls;
+        private int[] epochDays;
+        private boolean[] dateNulls;
+
+        private RowGroupDecoder(final FileChannel channel, final RowGroupStats rowGroup) throws IOException {
+            this.rowGroup = rowGroup;
+            this.rowCount = rowGroup.getRowCount();
+            for (final Column column : columns) {
+                final ByteBuffer chunk = channel
+                        .map(FileChannel.MapMode.READ_ONLY, rowGroup.offset(column), rowGroup.length(column))
+                        .order(DataToColumnar.ORDER);
+                switch (column) {
+                case AMOUNT:
+                    decodeAmounts(chunk);
+                    break;
+                case DATE:
+                    decodeDates(chunk);
+                    break;
+                default:
+                    strings[column.ordinal()] = decodeStrings(chunk, dictionary(column));
+                }
+            }
+        }
+
+        private long forEach(final Consumer<DataTo> consumer) {
+            for (int row = 0; row < rowCount; row++) {
+                final DataTo.Builder builder = DataTo.builder().id(string(Column.ID, row))
+                        .name(string(Column.NAME, row)).customerName(string(Column.CUSTOMER_NAME, row))
+                        .transactionType(string(Column.TRANSACTION_TYPE, row));
+                if (epochDays != null && !dateNulls[row]) {
+                    builder.date(LocalDate.ofEpochDay(epochDays[row]));
+                }
+                if (decimals != null) {
+                    builder.amount(decimals[row]);
+                } else if (unscaled != null && !amountNulls[row]) {
+                    builder.fixedPointAmount(unscaled[row], scales[row]);
+                }
+                consumer.accept(builder.build());
+            }
+            return rowCount;
+        }
+
+        private String string(final Column column, final int row) {
+            final String[] values = strings[column.ordinal()];
+            return values == null ? null : values[row];
+        }
+
+        /**
+         * @return the shared dictionary canonicalizing the column across row groups and files, null for none
+         */
+        private StringDictionary dictionary(final Column column) {
+            switch (column) {
+            case CUSTOMER_NAME:
+                return StringDictionary.CUSTOMER_NAMES;
+            case TRANSACTION_TYPE:
+                return StringDictionary.TRANSACTION_TYPES;
+            default:
+                return null;
+            }
+        }
+
+        private String[] decodeStrings(final ByteBuffer chunk, final StringDictionary shared) {
+            final String[] values = new String[rowCount];
+            final byte encoding = chunk.get();
+            if (encoding == STRING_PLAIN) {
+                for (int row = 0; row < rowCount; row++) {
+                    values[row] = utf8(chunk, shared);
+                }
+                return values;
+            }
+            checkEncoding(encoding == STRING_DICT, encoding);
+            final String[] dictionary = new String[chunk.getInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = utf8(chunk, shared);
+            }
+            final int width = chunk.get();
+            for (int row = 0; row < rowCount; row++) {
+                final int code = width == Byte.BYTES ? chunk.get() : width == Short.BYTES ? chunk.getShort()
+                        : chunk.getInt();
+                values[row] = code < 0 ? null : dictionary[code];
+            }
+            return values;
+        }
+
+        private String utf8(final ByteBuffer chunk) {
+            return utf8(chunk, null);
+        }
+
+        private String utf8(final ByteBuffer chunk, final StringDictionary shared) {
+            final int length = chunk.getInt();
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            chunk.get(scratch, 0, length);
+            return shared == null ? new String(scratch, 0, length, StandardCharsets.UTF_8)
+                    : shared.intern(scratch, 0, length);
+        }
+
+        private void decodeAmounts(final ByteBuffer chunk) {
+            final byte encoding = chunk.get();
+            if (encoding == AMOUNT_DECIMAL_STRING) {
+                decimals = new BigDecimal[rowCount];
+                for (int row = 0; row < rowCount; row++) {
+                    final String amount = utf8(chunk);
+                    decimals[row] = amount == null ? null : new BigDecimal(amount);
+                }
+                return;
+            }
+            checkEncoding(encoding == AMOUNT_SCALED || encoding == AMOUNT_SCALED_MIXED, encoding);
+            amountNulls = nulls(chunk);
+            scales = new int[rowCount];
+            if (encoding == AMOUNT_SCALED) {
+                Arrays.fill(scales, chunk.getInt());
+            }
+            unscaled = new long[rowCount];
+            chunk.asLongBuffer().get(unscaled);
+            chunk.position(chunk.position() + rowCount * Long.BYTES);
+            if (encoding == AMOUNT_SCALED_MIXED) {
+                chunk.asIntBuffer().get(scales);
+            }
+        }
+
+        private void decodeDates(final ByteBuffer chunk) {
+            final byte encoding = chunk.get();
+            checkEncoding(encoding == DATE_EPOCH_DAY, encoding);
+            dateNulls = nulls(chunk);
+            epochDays = new int[rowCount];
+            chunk.asIntBuffer().get(epochDays);
+        }
+
+        private boolean[] nulls(final ByteBuffer chunk) {
+            final boolean[] nulls = new boolean[rowCount];
+            if (chunk.get() == 0) {
+                return nulls;
+            }
+            for (int base = 0; base < rowCount; base += 8) {
+                final int bits = chunk.get();
+                for (int bit = 0; bit < 8 && base + bit < rowCount; bit++) {
+                    nulls[base + bit] = (bits & (1 << bit)) != 0;
+                }
+            }
+            return nulls;
+        }
+
+        private void checkEncoding(final boolean known, final byte encoding) {
+            if (!known) {
+                throw notColumnar(String.format("unknown encoding [%s] in row group [%s]", encoding,
+                        rowGroup.getIndex()));
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private String path;
+        private Set<Column> columns = EnumSet.allOf(Column.class);
+        private Predicate<RowGroupStats> rowGroupFilter = rowGroup -> true;
+
+        public Builder() {
+            // this constructor is needed. Invoked by the static DataToColumnarReader build method
+        }
+
+        public Builder fileMetadata(final FileMetadata fileMetadata) {
+            this.path = fileMetadata.getPath();
+            return this;
+        }
+
+        public Builder path(final String path) {
+            this.path = FileMetadata.fixPath(path);
+            return this;
+        }
+
+        /**
+         * Columns to read. Defaults to all of them
+         */
+        public Builder columns(final Column first, final Column... rest) {
+            this.columns = EnumSet.of(first, rest);
+            return this;
+        }
+
+        /**
+         * Row groups to read, e.g. {@code stats -> stats.overlapsDates(from, to)}. Defaults to all of them
+         */
+        public Builder rowGroupFilter(final Predicate<RowGroupStats> rowGroupFilter) {
+            this.rowGroupFilter = rowGroupFilter;
+            return this;
+        }
+
+        public DataToColumnarReader build() {
+            Preconditions.checkArgument(path != null, "path must be set");
+            Preconditions.checkArgument(rowGroupFilter != null, "rowGroupFilter must be set");
+            return new DataToColumnarReader(this);
+        }
+    }
+}
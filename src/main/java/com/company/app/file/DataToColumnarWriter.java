@@ -0,0 +1,508 @@
+package com.company.app.file;
+
+import static com.company.app.file.DataToColumnar.AMOUNT_DECIMAL_STRING;
+import static com.company.app.file.DataToColumnar.AMOUNT_SCALED;
+import static com.company.app.file.DataToColumnar.AMOUNT_SCALED_MIXED;
+import static com.company.app.file.DataToColumnar.DATE_EPOCH_DAY;
+import static com.company.app.file.DataToColumnar.NULL_CODE;
+import static com.company.app.file.DataToColumnar.NULL_LENGTH;
+import static com.company.app.file.DataToColumnar.STRING_DICT;
+import static com.company.app.file.DataToColumnar.STRING_PLAIN;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import com.company.app.exception.AppFileWriteException;
+import com.company.app.file.DataToColumnar.Column;
+import com.company.app.to.DataTo;
+import com.company.app.util.FileMetadata;
+import com.company.app.util.FixedPoint;
+import com.google.common.base.Preconditions;
+
+/**
+ * Writes {@link DataTo} records in the binary, column-oriented {@link DataToColumnar} format.
+ * <p>
+ * Records are buffered until a row group is full; the row group is then encoded column by column, computing its
+ * min/max stats on the way, and appended to the file found at {@link FileMetadata#getPathWithTempExtension()}. Closing
+ * the writer appends the footer and, like {@link DataToCsvWriter}, atomically renames the temp file to
+ * {@link FileMetadata#getPath()}, or deletes it when a write failed or {@link #abort()} was called.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class DataToColumnarWriter implements DataToWriter {
+
+    private static final int INITIAL_BUFFER_BYTES = 1024 * 1024;
+
+    private final Path tempPath;
+    private final Path path;
+    private final boolean fsync;
+    private final FileChannel channel;
+    private final DataTo[] rows;
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final int[] codes;
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_BYTES).order(DataToColumnar.ORDER);
+    private int rowCount;
+    private long position;
+    private long recordCount;
+    private boolean failed;
+    private boolean aborted;
+    private boolean closed;
+
+    private DataToColumnarWriter(final Builder builder) {
+        this.tempPath = Paths.get(builder.fileMetadata.getPathWithTempExtension());
+        this.path = Paths.get(builder.fileMetadata.getPath());
+        this.fsync = builder.fsync;
+        this.rows = new DataTo[builder.rowGroupSize];
+        this.codes = new int[builder.rowGroupSize];
+        try {
+            this.channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.putInt(DataToColumnar.MAGIC).putInt(DataToColumnar.VERSION);
+            drain();
+        } catch (final IOException e) {
+            throw new AppFileWriteException(String.format("Exception while opening the temp file [%s]", tempPath), e);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void write(final DataTo dataTo) {
+        Preconditions.checkState(!closed, "writer for [%s] is closed", path);
+        Preconditions.checkState(!failed, "writer for [%s] failed on an earlier row group", path);
+        rows[rowCount++] = dataTo;
+        recordCount++;
+        if (rowCount == rows.length) {
+            flushRowGroup();
+        }
+    }
+
+    @Override
+    public void abort() {
+        aborted = true;
+    }
+
+    @Override
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Commits the output by writing the last row group and the footer and atomically renaming the temp file to the
+     * final path, unless the writer was aborted or a write failed, in which case the temp file is deleted
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (failed || aborted) {
+            discard();
+            return;
+        }
+        try {
+            if (rowCount > 0) {
+                flushRowGroup();
+            }
+            writeFooter();
+            if (fsync) {
+                channel.force(true);
+            }
+            channel.close();
+        } catch (final IOException | RuntimeException e) {
+            discard();
+            throw new AppFileWriteException(String.format("Exception while completing the temp file [%s]", tempPath),
+                    e);
+        }
+        DataToCsvWriter.commit(tempPath, path, fsync);
+    }
+
+    private void flushRowGroup() {
+        final RowGroup rowGroup = new RowGroup(rowCount);
+        try {
+            for (final Column column : Column.VALUES) {
+                final long start = position;
+                switch (column) {
+                case AMOUNT:
+                    putAmounts(rowGroup);
+                    break;
+                case DATE:
+                    putDates(rowGroup);
+                    break;
+                default:
+                    putStrings(column);
+                }
+                drain();
+                rowGroup.offsets[column.ordinal()] = start;
+                rowGroup.lengths[column.ordinal()] = (int) (position - start);
+            }
+        } catch (final IOException | RuntimeException e) {
+            failed = true;
+            throw new AppFileWriteException(String.format(
+                    "Exception while writing row group [%s] to the temp file [%s]", rowGroups.size(), tempPath), e);
+        }
+        rowGroups.add(rowGroup);
+        Arrays.fill(rows, 0, rowCount, null);
+        rowCount = 0;
+    }
+
+    /**
+     * Dictionary-encodes the column, unless more than half of its values are distinct
+     */
+    private void putStrings(final Column column) {
+        dictionary.clear();
+        final int maxDictionarySize = Math.max(1, rowCount / 2);
+        boolean plain = false;
+        for (int row = 0; row < rowCount && !plain; row++) {
+            final String value = string(rows[row], column);
+            if (value == null) {
+                codes[row] = NULL_CODE;
+                continue;
+            }
+            Integer code = dictionary.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.put(value, code);
+                plain = dictionary.size() > maxDictionarySize;
+            }
+            codes[row] = code;
+        }
+        if (plain) {
+            ensure(1);
+            buffer.put(STRING_PLAIN);
+            for (int row = 0; row < rowCount; row++) {
+                putUtf8(string(rows[row], column));
+            }
+            return;
+        }
+        final String[] entries = new String[dictionary.size()];
+        for (final Map.Entry<String, Integer> entry : dictionary.entrySet()) {
+            entries[entry.getValue()] = entry.getKey();
+        }
+        ensure(5);
+        buffer.put(STRING_DICT).putInt(entries.length);
+        for (final String entry : entries) {
+            putUtf8(entry);
+        }
+        final int width = codeWidth(entries.length);
+        ensure(1 + rowCount * width);
+        buffer.put((byte) width);
+        for (int row = 0; row < rowCount; row++) {
+            if (width == Byte.BYTES) {
+                buffer.put((byte) codes[row]);
+            } else if (width == Short.BYTES) {
+                buffer.putShort((short) codes[row]);
+            } else {
+                buffer.putInt(codes[row]);
+            }
+        }
+    }
+
+    static int codeWidth(final int dictionarySize) {
+        if (dictionarySize <= Byte.MAX_VALUE) {
+            return Byte.BYTES;
+        }
+        return dictionarySize <= Short.MAX_VALUE ? Short.BYTES : Integer.BYTES;
+    }
+
+    private static String string(final DataTo dataTo, final Column column) {
+        switch (column) {
+        case ID:
+            return dataTo.getId();
+        case NAME:
+            return dataTo.getName();
+        case CUSTOMER_NAME:
+            return dataTo.getCustomerName();
+        case TRANSACTION_TYPE:
+            return dataTo.getTransactionType();
+        default:
+            throw new IllegalArgumentException(String.format("column [%s] is not a string column", column));
+        }
+    }
+
+    private void putUtf8(final String value) {
+        if (value == null) {
+            ensure(Integer.BYTES);
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensure(Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    /**
+     * Writes the amounts as scaled longs when they all fit in a long, as plain decimal strings otherwise
+     */
+    private void putAmounts(final RowGroup rowGroup) {
+        boolean nulls = false;
+        boolean fitsLong = true;
+        boolean commonScale = true;
+        int scale = 0;
+        boolean first = true;
+        for (int row = 0; row < rowCount; row++) {
+            final DataTo dataTo = rows[row];
+            if (!dataTo.isFixedPointAmount() && dataTo.getAmount() == null) {
+                nulls = true;
+                continue;
+            }
+            fitsLong &= dataTo.isFixedPointAmount() || FixedPoint.fitsLong(dataTo.getAmount());
+            final int rowScale = scale(dataTo);
+            commonScale &= first || rowScale == scale;
+            scale = rowScale;
+            first = false;
+        }
+        if (!fitsLong) {
+            ensure(1);
+            buffer.put(AMOUNT_DECIMAL_STRING);
+            for (int row = 0; row < rowCount; row++) {
+                final BigDecimal amount = rows[row].getAmount();
+                putUtf8(amount == null ? null : amount.toPlainString());
+            }
+            return;
+        }
+        ensure(1);
+        buffer.put(commonScale ? AMOUNT_SCALED : AMOUNT_SCALED_MIXED);
+        putNulls(nulls, row -> !rows[row].isFixedPointAmount() && rows[row].getAmount() == null);
+        if (commonScale) {
+            ensure(Integer.BYTES);
+            buffer.putInt(scale);
+        }
+        ensure(rowCount * (Long.BYTES + Integer.BYTES));
+        for (int row = 0; row < rowCount; row++) {
+            final DataTo dataTo = rows[row];
+            if (!dataTo.isFixedPointAmount() && dataTo.getAmount() == null) {
+                buffer.putLong(0);
+                continue;
+            }
+            final long unscaled = dataTo.isFixedPointAmount() ? dataTo.getAmountUnscaled()
+                    : FixedPoint.unscaled(dataTo.getAmount());
+            buffer.putLong(unscaled);
+            rowGroup.amount(unscaled, scale(dataTo));
+        }
+        if (!commonScale) {
+            for (int row = 0; row < rowCount; row++) {
+                buffer.putInt(scale(rows[row]));
+            }
+        }
+    }
+
+    /**
+     * @return the scale of the amount, zero for a null amount
+     */
+    private static int scale(final DataTo dataTo) {
+        if (dataTo.isFixedPointAmount()) {
+            return dataTo.getAmountScale();
+        }
+        return dataTo.getAmount() == null ? 0 : dataTo.getAmount().scale();
+    }
+
+    private void putDates(final RowGroup rowGroup) {
+        boolean nulls = false;
+        for (int row = 0; row < rowCount && !nulls; row++) {
+            nulls = rows[row].getDate() == null;
+        }
+        ensure(1);
+        buffer.put(DATE_EPOCH_DAY);
+        putNulls(nulls, row -> rows[row].getDate() == null);
+        ensure(rowCount * Integer.BYTES);
+        for (int row = 0; row < rowCount; row++) {
+            final LocalDate date = rows[row].getDate();
+            final int epochDay = date == null ? 0 : Math.toIntExact(date.toEpochDay());
+            buffer.putInt(epochDay);
+            if (date != null) {
+                rowGroup.date(epochDay);
+            }
+        }
+    }
+
+    /**
+     * Writes the has-nulls flag and, when set, a bitmap with a bit set for every null row
+     */
+    private void putNulls(final boolean nulls, final IntPredicate isNull) {
+        ensure(1 + (rowCount + 7) / 8);
+        buffer.put((byte) (nulls ? 1 : 0));
+        if (!nulls) {
+            return;
+        }
+        for (int base = 0; base < rowCount; base += 8) {
+            int bits = 0;
+            for (int bit = 0; bit < 8 && base + bit < rowCount; bit++) {
+                bits |= isNull.test(base + bit) ? 1 << bit : 0;
+            }
+            buffer.put((byte) bits);
+        }
+    }
+
+    private void writeFooter() throws IOException {
+        final long footerOffset = position;
+        ensure(Integer.BYTES);
+        buffer.putInt(rowGroups.size());
+        for (final RowGroup rowGroup : rowGroups) {
+            ensure(Integer.BYTES + Column.VALUES.length * (Long.BYTES + Integer.BYTES) + 2 + 2 * Integer.BYTES
+                    + 2 * (Long.BYTES + Integer.BYTES));
+            buffer.putInt(rowGroup.rowCount);
+            for (int col = 0; col < Column.VALUES.length; col++) {
+                buffer.putLong(rowGroup.offsets[col]).putInt(rowGroup.lengths[col]);
+            }
+            buffer.put((byte) (rowGroup.hasDates ? 1 : 0));
+            if (rowGroup.hasDates) {
+                buffer.putInt(rowGroup.minEpochDay).putInt(rowGroup.maxEpochDay);
+            }
+            buffer.put((byte) (rowGroup.hasAmounts ? 1 : 0));
+            if (rowGroup.hasAmounts) {
+                buffer.putLong(rowGroup.minUnscaled).putInt(rowGroup.minScale);
+                buffer.putLong(rowGroup.maxUnscaled).putInt(rowGroup.maxScale);
+            }
+        }
+        ensure(DataToColumnar.TRAILER_BYTES);
+        buffer.putLong(footerOffset).putInt(DataToColumnar.MAGIC);
+        drain();
+    }
+
+    private void ensure(final int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes))
+                .order(DataToColumnar.ORDER);
+        buffer.flip();
+        buffer = grown.put(buffer);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void discard() {
+        try {
+            channel.close();
+            Files.deleteIfExists(tempPath);
+        } catch (final IOException e) {
+            throw new AppFileWriteException(String.format("Exception while deleting the temp file [%s]", tempPath), e);
+        }
+    }
+
+    /**
+     * Location and stats of a written row group
+     */
+    private static final class RowGroup {
+        private final int rowCount;
+        private final long[] offsets = new long[Column.VALUES.length];
+        private final int[] lengths = new int[Column.VALUES.length];
+        private boolean hasDates;
+        private int minEpochDay;
+        private int maxEpochDay;
+        private boolean hasAmounts;
+        private long minUnscaled;
+        private int minScale;
+        private long maxUnscaled;
+        private int maxScale;
+
+        private RowGroup(final int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        private void date(final int epochDay) {
+            if (!hasDates) {
+                hasDates = true;
+                minEpochDay = epochDay;
+                maxEpochDay = epochDay;
+            } else if (epochDay < minEpochDay) {
+                minEpochDay = epochDay;
+            } else if (epochDay > maxEpochDay) {
+                maxEpochDay = epochDay;
+            }
+        }
+
+        private void amount(final long unscaled, final int scale) {
+            if (!hasAmounts) {
+                hasAmounts = true;
+                minUnscaled = maxUnscaled = unscaled;
+                minScale = maxScale = scale;
+            } else if (compare(unscaled, scale, minUnscaled, minScale) < 0) {
+                minUnscaled = unscaled;
+                minScale = scale;
+            } else if (compare(unscaled, scale, maxUnscaled, maxScale) > 0) {
+                maxUnscaled = unscaled;
+                maxScale = scale;
+            }
+        }
+
+        private static int compare(final long unscaled1, final int scale1, final long unscaled2, final int scale2) {
+            if (scale1 == scale2) {
+                return Long.compare(unscaled1, unscaled2);
+            }
+            return FixedPoint.toBigDecimal(unscaled1, scale1).compareTo(FixedPoint.toBigDecimal(unscaled2, scale2));
+        }
+    }
+
+    public static class Builder {
+
+        private FileMetadata fileMetadata;
+        private int rowGroupSize = DataToColumnar.DEFAULT_ROW_GROUP_SIZE;
+        private boolean fsync;
+
+        public Builder() {
+            // this constructor is needed. Invoked by the static DataToColumnarWriter build method
+        }
+
+        /**
+         * Output file, usually with the {@link DataToColumnar#EXT} extension. Records are written to its
+         * temp-extension path and renamed to its path on close
+         */
+        public Builder fileMetadata(final FileMetadata fileMetadata) {
+            this.fileMetadata = fileMetadata;
+            return this;
+        }
+
+        /**
+         * Number of records per row group, the unit of skipping and of buffering. Defaults to
+         * {@link DataToColumnar#DEFAULT_ROW_GROUP_SIZE}
+         */
+        public Builder rowGroupSize(final int rowGroupSize) {
+            this.rowGroupSize = rowGroupSize;
+            return this;
+        }
+
+        /**
+         * Whether the file content and the rename are forced to the storage device on close
+         */
+        public Builder fsync(final boolean fsync) {
+            this.fsync = fsync;
+            return this;
+        }
+
+        public DataToColumnarWriter build() {
+            Preconditions.checkArgument(fileMetadata != null, "fileMetadata must be set");
+            Preconditions.checkArgument(rowGroupSize > 0, "rowGroupSize [%s] must be greater than zero",
+                    rowGroupSize);
+            return new DataToColumnarWriter(this);
+        }
+    }
+}
@@ -0,0 +1,511 @@
+package com.company.app.file;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.company.app.exception.AppFileReadException;
+import com.company.app.to.DataTo;
+import com.company.app.util.Const;
+import com.company.app.util.DateCodec;
+import com.company.app.util.FileMetadata;
+import com.company.app.util.FixedPoint;
+import com.company.app.util.StringDictionary;
+import com.google.common.base.Preconditions;
+
+/**
+ * Reads {@link DataTo} records from a CSV file laid out as {@link Const#FILE_HEADER_NAMES_STR} (dates formatted as
+ * {@link Const#MDYYYY}) without loading the file into memory.
+ * <p>
+ * The file is split into newline-aligned chunks; each chunk is memory-mapped and parsed on the configured executor.
+ * Fields are decoded straight from the mapped bytes, so no intermediate String is built per line, and customerName and
+ * transactionType are canonicalized thru the shared {@link StringDictionary} instances. A header line is optional: when
+ * present its column order is honored, otherwise the {@link Const#FILE_FIELD_NAMES_ARR} order is assumed.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class DataToCsvReader {
+
+    public static final int DEFAULT_CHUNK_SIZE_BYTES = 64 * 1024 * 1024;
+    private static final int BOUNDARY_SCAN_BYTES = 8 * 1024;
+    private static final int MAX_FIELD_BYTES = 4 * 1024;
+    //
+    static final int ID = 0;
+    static final int NAME = 1;
+    static final int AMOUNT = 2;
+    static final int DATE = 3;
+    static final int CUSTOMER_NAME = 4;
+    static final int TRANSACTION_TYPE = 5;
+    static final int FIELD_COUNT = 6;
+
+    private final String path;
+    private final ExecutorService executor;
+    private final int chunkSizeBytes;
+    private final boolean fixedPointAmounts;
+
+    private DataToCsvReader(final Builder builder) {
+        this.path = builder.path;
+        this.executor = builder.executor;
+        this.chunkSizeBytes = builder.chunkSizeBytes;
+        this.fixedPointAmounts = builder.fixedPointAmounts;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Parses every chunk in parallel and hands each record to the consumer. The consumer is invoked concurrently from
+     * the executor threads and in no particular order.
+     *
+     * @param consumer thread-safe record consumer
+     * @return number of records read
+     */
+    public long forEach(final Consumer<DataTo> consumer) {
+        final LongAdder count = new LongAdder();
+        processChunks(() -> null, (nothing, dataTo) -> {
+            consumer.accept(dataTo);
+            count.increment();
+        });
+        return count.sum();
+    }
+
+    /**
+     * Parses the chunks one after the other on the calling thread and hands each record to the consumer in file order
+     *
+     * @param consumer record consumer
+     * @return number of records read
+     */
+    public long forEachOrdered(final Consumer<DataTo> consumer) {
+        long count = 0;
+        for (final Long chunkCount : runChunks((buffer, chunkOffset, columns) -> {
+            final long[] chunkRecords = new long[1];
+            new ChunkParser(buffer, chunkOffset, columns).parse(dataTo -> {
+                consumer.accept(dataTo);
+                chunkRecords[0]++;
+            });
+            return chunkRecords[0];
+        }, false)) {
+            count += chunkCount;
+        }
+        return count;
+    }
+
+    /**
+     * Parses every chunk in parallel. Each chunk gets its own accumulator, which is only touched by the thread parsing
+     * that chunk, so the accumulator does not need to be thread-safe.
+     *
+     * @param accumulatorFactory creates one accumulator per chunk
+     * @param accumulator folds a record into the chunk accumulator
+     * @return the chunk accumulators in file order
+     */
+    public <A> List<A> processChunks(final Supplier<A> accumulatorFactory, final BiConsumer<A, DataTo> accumulator) {
+        return runChunks((buffer, chunkOffset, columns) -> {
+            final A acc = accumulatorFactory.get();
+            new ChunkParser(buffer, chunkOffset, columns).parse(dataTo -> accumulator.accept(acc, dataTo));
+            return acc;
+        }, true);
+    }
+
+    /**
+     * Counts the records, i.e. the non-blank data lines, by scanning the chunks in parallel without parsing them
+     *
+     * @return number of records in the file
+     */
+    public long countRecords() {
+        long count = 0;
+        for (final Long chunkCount : runChunks((buffer, chunkOffset, columns) -> countLines(buffer), true)) {
+            count += chunkCount;
+        }
+        return count;
+    }
+
+    private <R> List<R> runChunks(final ChunkTask<R> task, final boolean parallel) {
+        try (final FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            final Layout layout = readLayout(channel);
+            final List<long[]> chunks = split(channel, layout.dataStart);
+            final List<R> results = new ArrayList<>(chunks.size());
+            if (!parallel) {
+                for (final long[] chunk : chunks) {
+                    results.add(task.run(map(channel, chunk), chunk[0], layout.columns));
+                }
+                return results;
+            }
+            final List<Future<R>> futures = new ArrayList<>(chunks.size());
+            for (final long[] chunk : chunks) {
+                futures.add(executor.submit((Callable<R>) () -> task.run(map(channel, chunk), chunk[0],
+                        layout.columns)));
+            }
+            for (final Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (final IOException e) {
+            throw new AppFileReadException(String.format("Exception while reading a file [%s]", path), e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppFileReadException(String.format("Interrupted while reading a file [%s]", path), e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof AppFileReadException) {
+                throw (AppFileReadException) e.getCause();
+            }
+            throw new AppFileReadException(String.format("Exception while reading a file [%s]", path), e.getCause());
+        }
+    }
+
+    private static MappedByteBuffer map(final FileChannel channel, final long[] chunk) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]);
+    }
+
+    private static long countLines(final MappedByteBuffer buffer) {
+        final int limit = buffer.limit();
+        long count = 0;
+        boolean blank = true;
+        for (int pos = 0; pos < limit; pos++) {
+            final byte b = buffer.get(pos);
+            if (b == '\n') {
+                count += blank ? 0 : 1;
+                blank = true;
+            } else if (blank && !isSpace(b)) {
+                blank = false;
+            }
+        }
+        return count + (blank ? 0 : 1);
+    }
+
+    /**
+     * Splits [dataStart, size) into ranges of about chunkSizeBytes, each ending right after a newline
+     */
+    private List<long[]> split(final FileChannel channel, final long dataStart) throws IOException {
+        final long size = channel.size();
+        final List<long[]> chunks = new ArrayList<>();
+        final ByteBuffer scan = ByteBuffer.allocate(BOUNDARY_SCAN_BYTES);
+        long start = dataStart;
+        while (start < size) {
+            long end = Math.min(size, start + chunkSizeBytes);
+            end = end < size ? nextLineStart(channel, end, scan) : size;
+            chunks.add(new long[] { start, end });
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static long nextLineStart(final FileChannel channel, long pos, final ByteBuffer scan) throws IOException {
+        final long size = channel.size();
+        while (pos < size) {
+            scan.clear();
+            final int read = channel.read(scan, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    /**
+     * Detects an optional header line and returns the column-to-field mapping plus the offset where data starts
+     */
+    private Layout readLayout(final FileChannel channel) throws IOException {
+        final long headerEnd = nextLineStart(channel, 0, ByteBuffer.allocate(BOUNDARY_SCAN_BYTES));
+        final ByteBuffer headerBuffer = ByteBuffer.allocate((int) Math.min(headerEnd, MAX_FIELD_BYTES));
+        channel.read(headerBuffer, 0);
+        final String firstLine = new String(headerBuffer.array(), 0, headerBuffer.position(), StandardCharsets.UTF_8);
+        final List<String> tokens = Const.CSV_SPLITTER.splitToList(firstLine.trim());
+        final int[] columns = new int[FIELD_COUNT];
+        if (tokens.size() == FIELD_COUNT) {
+            boolean isHeader = true;
+            for (int col = 0; col < FIELD_COUNT && isHeader; col++) {
+                columns[col] = fieldIndex(tokens.get(col));
+                isHeader = columns[col] >= 0;
+            }
+            if (isHeader) {
+                return new Layout(columns, headerEnd);
+            }
+        }
+        for (int col = 0; col < FIELD_COUNT; col++) {
+            columns[col] = fieldIndex(Const.FILE_FIELD_NAMES_ARR[col]);
+        }
+        return new Layout(columns, 0);
+    }
+
+    private static int fieldIndex(final String headerName) {
+        switch (headerName) {
+        case "id":
+            return ID;
+        case "name":
+            return NAME;
+        case "amount":
+            return AMOUNT;
+        case "date":
+            return DATE;
+        case "customerName":
+            return CUSTOMER_NAME;
+        case "transactionType":
+            return TRANSACTION_TYPE;
+        default:
+            return -1;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask<R> {
+        R run(MappedByteBuffer buffer, long chunkOffset, int[] columns) throws IOException;
+    }
+
+    private static final class Layout {
+        private final int[] columns;
+        private final long dataStart;
+
+        private Layout(final int[] columns, final long dataStart) {
+            this.columns = columns;
+            this.dataStart = dataStart;
+        }
+    }
+
+    /**
+     * Parses the lines of one mapped chunk. Confined to a single thread.
+     */
+    private final class ChunkParser {
+        private final MappedByteBuffer buffer;
+        private final long chunkOffset;
+        private final int[] columns;
+        private final int[] fieldFrom = new int[FIELD_COUNT];
+        private final int[] fieldTo = new int[FIELD_COUNT];
+        private final byte[] bytes = new byte[MAX_FIELD_BYTES];
+        private final char[] chars = new char[MAX_FIELD_BYTES];
+        private long unscaled;
+        private int scale;
+
+        private ChunkParser(final MappedByteBuffer buffer, final long chunkOffset, final int[] columns) {
+            this.buffer = buffer;
+            this.chunkOffset = chunkOffset;
+            this.columns = columns;
+        }
+
+        private void parse(final Consumer<DataTo> sink) {
+            final int limit = buffer.limit();
+            int pos = 0;
+            while (pos < limit) {
+                final int lineStart = pos;
+                int col = 0;
+                int fieldStart = pos;
+                byte b = 0;
+                while (pos < limit && (b = buffer.get(pos)) != '\n') {
+                    if (b == ',') {
+                        markField(col++, fieldStart, pos, lineStart);
+                        fieldStart = pos + 1;
+                    }
+                    pos++;
+                }
+                final int lineEnd = pos;
+                pos++; // skip the newline
+                if (isBlank(lineStart, lineEnd)) {
+                    continue;
+                }
+                markField(col++, fieldStart, lineEnd, lineStart);
+                if (col != FIELD_COUNT) {
+                    throw malformed(lineStart, String.format("expected [%s] fields but found [%s]", FIELD_COUNT, col));
+                }
+                sink.accept(toDataTo(lineStart));
+            }
+        }
+
+        private void markField(final int col, int from, int to, final int lineStart) {
+            if (col >= FIELD_COUNT) {
+                throw malformed(lineStart, String.format("more than [%s] fields", FIELD_COUNT));
+            }
+            while (from < to && isSpace(buffer.get(from))) {
+                from++;
+            }
+            while (to > from && isSpace(buffer.get(to - 1))) {
+                to--;
+            }
+            if (to - from > MAX_FIELD_BYTES) {
+                throw malformed(lineStart, String.format("field longer than [%s] bytes", MAX_FIELD_BYTES));
+            }
+            final int field = columns[col];
+            fieldFrom[field] = from;
+            fieldTo[field] = to;
+        }
+
+        private DataTo toDataTo(final int lineStart) {
+            try {
+                final DataTo.Builder builder = DataTo.builder().id(string(ID)).name(string(NAME)).date(date())
+                        .customerName(string(CUSTOMER_NAME, StringDictionary.CUSTOMER_NAMES))
+                        .transactionType(string(TRANSACTION_TYPE, StringDictionary.TRANSACTION_TYPES));
+                if (fixedPointAmounts && parseFixedPoint()) {
+                    builder.fixedPointAmount(unscaled, scale);
+                } else {
+                    builder.amount(amount());
+                }
+                return builder.build();
+            } catch (final RuntimeException e) {
+                throw malformed(lineStart, e.getMessage());
+            }
+        }
+
+        private String string(final int field) {
+            final int len = fieldTo[field] - fieldFrom[field];
+            buffer.position(fieldFrom[field]);
+            buffer.get(bytes, 0, len);
+            return new String(bytes, 0, len, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads a low-cardinality field as the canonical instance of the dictionary
+         */
+        private String string(final int field, final StringDictionary dictionary) {
+            final int len = fieldTo[field] - fieldFrom[field];
+            buffer.position(fieldFrom[field]);
+            buffer.get(bytes, 0, len);
+            return dictionary.intern(bytes, 0, len);
+        }
+
+        private BigDecimal amount() {
+            final int from = fieldFrom[AMOUNT];
+            final int len = fieldTo[AMOUNT] - from;
+            for (int i = 0; i < len; i++) {
+                chars[i] = (char) buffer.get(from + i);
+            }
+            return new BigDecimal(chars, 0, len);
+        }
+
+        /**
+         * Parses a plain [-]digits[.digits] amount straight into the unscaled and scale fields
+         *
+         * @return false when the amount has an exponent or more than {@link FixedPoint#MAX_LONG_PRECISION} digits, in
+         *         which case it must be parsed as a BigDecimal
+         */
+        private boolean parseFixedPoint() {
+            int pos = fieldFrom[AMOUNT];
+            final int to = fieldTo[AMOUNT];
+            final boolean negative = pos < to && buffer.get(pos) == '-';
+            if (negative || (pos < to && buffer.get(pos) == '+')) {
+                pos++;
+            }
+            long value = 0;
+            int digitCount = 0;
+            int fractionDigits = -1;
+            for (; pos < to; pos++) {
+                final byte b = buffer.get(pos);
+                if (b >= '0' && b <= '9') {
+                    if (++digitCount > FixedPoint.MAX_LONG_PRECISION) {
+                        return false;
+                    }
+                    value = value * 10 + (b - '0');
+                    if (fractionDigits >= 0) {
+                        fractionDigits++;
+                    }
+                } else if (b == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                } else {
+                    return false;
+                }
+            }
+            if (digitCount == 0) {
+                return false;
+            }
+            unscaled = negative ? -value : value;
+            scale = Math.max(fractionDigits, 0);
+            return true;
+        }
+
+        /**
+         * Parses M/d/yyyy, also accepting yyyy-MM-dd
+         */
+        private LocalDate date() {
+            return DateCodec.getDefault().parse(buffer, fieldFrom[DATE], fieldTo[DATE]);
+        }
+
+        private boolean isBlank(int from, final int to) {
+            while (from < to && isSpace(buffer.get(from))) {
+                from++;
+            }
+            return from == to;
+        }
+
+        private AppFileReadException malformed(final int lineStart, final String reason) {
+            return new AppFileReadException(String.format("Malformed CSV line at byte offset [%s] of file [%s]: %s",
+                    chunkOffset + lineStart, path, reason));
+        }
+    }
+
+    private static boolean isSpace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    public static class Builder {
+
+        private String path;
+        private ExecutorService executor = ForkJoinPool.commonPool();
+        private int chunkSizeBytes = DEFAULT_CHUNK_SIZE_BYTES;
+        private boolean fixedPointAmounts;
+
+        public Builder() {
+            // this constructor is needed. Invoked by the static DataToCsvReader build method
+        }
+
+        public Builder fileMetadata(final FileMetadata fileMetadata) {
+            this.path = fileMetadata.getPath();
+            return this;
+        }
+
+        public Builder path(final String path) {
+            this.path = FileMetadata.fixPath(path);
+            return this;
+        }
+
+        /**
+         * Pool that parses the chunks. Defaults to the common fork-join pool.
+         */
+        public Builder executor(final ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder chunkSizeBytes(final int chunkSizeBytes) {
+            this.chunkSizeBytes = chunkSizeBytes;
+            return this;
+        }
+
+        /**
+         * Whether plain amounts are parsed straight into the fixed-point representation (see {@link FixedPoint})
+         * rather than into BigDecimal. Defaults to false
+         */
+        public Builder fixedPointAmounts(final boolean fixedPointAmounts) {
+            this.fixedPointAmounts = fixedPointAmounts;
+            return this;
+        }
+
+        public DataToCsvReader build() {
+            Preconditions.checkArgument(path != null, "path must be set");
+            Preconditions.checkArgument(chunkSizeBytes > 0, "chunkSizeBytes [%s] must be greater than zero",
+                    chunkSizeBytes);
+            return new DataToCsvReader(this);
+        }
+    }
+}
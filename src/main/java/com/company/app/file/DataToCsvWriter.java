@@ -0,0 +1,355 @@
+package com.company.app.file;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+import com.company.app.exception.AppFileMoveException;
+import com.company.app.exception.AppFileWriteException;
+import com.company.app.to.DataTo;
+import com.company.app.util.Const;
+import com.company.app.util.FileMetadata;
+import com.google.common.base.Preconditions;
+
+/**
+ * Writes {@link DataTo} records as CSV laid out as {@link Const#FILE_HEADER_NAMES_STR} (dates formatted as
+ * {@link Const#MDYYYY}) in constant memory.
+ * <p>
+ * Records are encoded field by field straight into a large direct buffer, which is drained into the file found at
+ * {@link FileMetadata#getPathWithTempExtension()}. Closing the writer flushes the buffer, optionally fsyncs, and
+ * atomically renames the temp file to {@link FileMetadata#getPath()}, so pollers of the final path never see a
+ * half-written file. When a write failed or {@link #abort()} was called, closing deletes the temp file instead.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class DataToCsvWriter implements DataToWriter {
+
+    public static final int DEFAULT_BUFFER_SIZE_BYTES = 1024 * 1024;
+    private static final byte SEPARATOR = ',';
+    private static final byte NEWLINE = '\n';
+    /**
+     * longest encoding of a char is 3 bytes and of a surrogate pair 4 bytes
+     */
+    private static final int MAX_BYTES_PER_CHAR = 4;
+    private static final int MAX_LONG_DIGITS = 20;
+    private static final int MAX_PLAIN_SCALE = 64;
+
+    private final Path tempPath;
+    private final Path path;
+    private final boolean fsync;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[MAX_LONG_DIGITS];
+    private long recordCount;
+    private boolean failed;
+    private boolean aborted;
+    private boolean closed;
+
+    private DataToCsvWriter(final Builder builder) {
+        this.tempPath = Paths.get(builder.fileMetadata.getPathWithTempExtension());
+        this.path = Paths.get(builder.fileMetadata.getPath());
+        this.fsync = builder.fsync;
+        this.buffer = ByteBuffer.allocateDirect(builder.bufferSizeBytes);
+        try {
+            this.channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (final IOException e) {
+            throw new AppFileWriteException(String.format("Exception while opening the temp file [%s]", tempPath), e);
+        }
+        if (builder.header) {
+            buffer.put(Const.FILE_HEADER_NAMES_STR.getBytes(StandardCharsets.UTF_8)).put(NEWLINE);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Appends one record as a CSV line
+     *
+     * @param dataTo record to append
+     */
+    @Override
+    public void write(final DataTo dataTo) {
+        Preconditions.checkState(!closed, "writer for [%s] is closed", path);
+        try {
+            putString(dataTo.getId());
+            putByte(SEPARATOR);
+            putString(dataTo.getName());
+            putByte(SEPARATOR);
+            putAmount(dataTo);
+            putByte(SEPARATOR);
+            putDate(dataTo.getDate());
+            putByte(SEPARATOR);
+            putString(dataTo.getCustomerName());
+            putByte(SEPARATOR);
+            putString(dataTo.getTransactionType());
+            putByte(NEWLINE);
+            recordCount++;
+        } catch (final IOException | RuntimeException e) {
+            failed = true;
+            throw new AppFileWriteException(
+                    String.format("Exception while writing record [%s] to the temp file [%s]", dataTo, tempPath), e);
+        }
+    }
+
+    /**
+     * Discards the output: closing the writer will delete the temp file rather than renaming it
+     */
+    @Override
+    public void abort() {
+        aborted = true;
+    }
+
+    @Override
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Commits the output by atomically renaming the temp file to the final path, unless the writer was aborted or a
+     * write failed, in which case the temp file is deleted
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (failed || aborted) {
+            discard();
+            return;
+        }
+        try {
+            drain();
+            if (fsync) {
+                channel.force(true);
+            }
+            channel.close();
+        } catch (final IOException e) {
+            discard();
+            throw new AppFileWriteException(String.format("Exception while flushing the temp file [%s]", tempPath), e);
+        }
+        commit(tempPath, path, fsync);
+    }
+
+    /**
+     * Atomically renames the complete temp file to the final path, making the rename durable when fsync is set
+     */
+    static void commit(final Path tempPath, final Path path, final boolean fsync) {
+        try {
+            Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException e) {
+            FileMetadata.moveFile(tempPath.toString(), path.toString());
+        } catch (final IOException e) {
+            final String msg = String.format("IOException caught while moving sourceFilepath[%s] to targetFilepath[%s]",
+                    tempPath, path);
+            throw new AppFileMoveException(msg, e);
+        }
+        if (fsync) {
+            forceDirectory(path);
+        }
+    }
+
+    /**
+     * Makes the rename durable. Not every platform allows opening a directory, so failures are ignored
+     */
+    private static void forceDirectory(final Path path) {
+        final Path directory = path.toAbsolutePath().getParent();
+        try (final FileChannel dirChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dirChannel.force(true);
+        } catch (final IOException e) {
+            // best effort
+        }
+    }
+
+    private void discard() {
+        try {
+            channel.close();
+            Files.deleteIfExists(tempPath);
+        } catch (final IOException e) {
+            throw new AppFileWriteException(String.format("Exception while deleting the temp file [%s]", tempPath), e);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensure(final int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void putByte(final byte b) throws IOException {
+        ensure(1);
+        buffer.put(b);
+    }
+
+    /**
+     * Encodes the string as UTF-8 directly into the buffer
+     */
+    private void putString(final String str) throws IOException {
+        if (str == null) {
+            return;
+        }
+        final int len = str.length();
+        for (int i = 0; i < len; i++) {
+            ensure(MAX_BYTES_PER_CHAR);
+            final char c = str.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, str.charAt(++i));
+                buffer.put((byte) (0xF0 | (cp >> 18)));
+                buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (cp & 0x3F)));
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private void putAmount(final DataTo dataTo) throws IOException {
+        if (dataTo.isFixedPointAmount() && Math.abs(dataTo.getAmountScale()) <= MAX_PLAIN_SCALE) {
+            putDecimal(dataTo.getAmountUnscaled(), dataTo.getAmountScale());
+            return;
+        }
+        final BigDecimal amount = dataTo.getAmount();
+        if (amount == null) {
+            return;
+        }
+        if (amount.precision() < MAX_LONG_DIGITS - 1 && Math.abs(amount.scale()) <= MAX_PLAIN_SCALE) {
+            putDecimal(amount.unscaledValue().longValue(), amount.scale());
+        } else {
+            putString(amount.toPlainString());
+        }
+    }
+
+    /**
+     * Writes unscaled * 10^-scale in plain notation
+     */
+    private void putDecimal(final long unscaled, final int scale) throws IOException {
+        ensure(MAX_LONG_DIGITS + Math.max(scale, 0) + 3);
+        if (unscaled < 0) {
+            buffer.put((byte) '-');
+        }
+        int count = 0;
+        long rest = unscaled;
+        do {
+            digits[count++] = (byte) ('0' + Math.abs(rest % 10));
+            rest /= 10;
+        } while (rest != 0);
+        if (scale <= 0) {
+            for (int i = count - 1; i >= 0; i--) {
+                buffer.put(digits[i]);
+            }
+            for (int i = 0; i < -scale && unscaled != 0; i++) {
+                putByte((byte) '0');
+            }
+            return;
+        }
+        if (count <= scale) {
+            buffer.put((byte) '0').put((byte) '.');
+            for (int i = count; i < scale; i++) {
+                buffer.put((byte) '0');
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                buffer.put(digits[i]);
+            }
+            return;
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            buffer.put(digits[i]);
+            if (i == scale) {
+                buffer.put((byte) '.');
+            }
+        }
+    }
+
+    /**
+     * Writes the date as M/d/yyyy
+     */
+    private void putDate(final LocalDate date) throws IOException {
+        if (date == null) {
+            return;
+        }
+        putDecimal(date.getMonthValue(), 0);
+        putByte((byte) '/');
+        putDecimal(date.getDayOfMonth(), 0);
+        putByte((byte) '/');
+        putDecimal(date.getYear(), 0);
+    }
+
+    public static class Builder {
+
+        private FileMetadata fileMetadata;
+        private int bufferSizeBytes = DEFAULT_BUFFER_SIZE_BYTES;
+        private boolean fsync;
+        private boolean header = true;
+
+        public Builder() {
+            // this constructor is needed. Invoked by the static DataToCsvWriter build method
+        }
+
+        /**
+         * Output file. Records are written to its temp-extension path and renamed to its path on close
+         */
+        public Builder fileMetadata(final FileMetadata fileMetadata) {
+            this.fileMetadata = fileMetadata;
+            return this;
+        }
+
+        public Builder bufferSizeBytes(final int bufferSizeBytes) {
+            this.bufferSizeBytes = bufferSizeBytes;
+            return this;
+        }
+
+        /**
+         * Whether the file content and the rename are forced to the storage device on close
+         */
+        public Builder fsync(final boolean fsync) {
+            this.fsync = fsync;
+            return this;
+        }
+
+        /**
+         * Whether the {@link Const#FILE_HEADER_NAMES_STR} header line is written first. Defaults to true
+         */
+        public Builder header(final boolean header) {
+            this.header = header;
+            return this;
+        }
+
+        public DataToCsvWriter build() {
+            Preconditions.checkArgument(fileMetadata != null, "fileMetadata must be set");
+            Preconditions.checkArgument(bufferSizeBytes >= 1024, "bufferSizeBytes [%s] must be at least 1024",
+                    bufferSizeBytes);
+            return new DataToCsvWriter(this);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.company.app.file;
+
+import java.io.Closeable;
+
+import com.company.app.to.DataTo;
+import com.company.app.util.FileMetadata;
+
+/**
+ * Output file of {@link DataTo} records, committed on close unless aborted
+ *
+ * @since 10/17/2026
+ *
+ */
+public interface DataToWriter extends Closeable {
+
+    /**
+     * Appends one record
+     *
+     * @param dataTo record to append
+     */
+    void write(DataTo dataTo);
+
+    /**
+     * Discards the output: closing the writer will delete the temp file rather than committing it
+     */
+    void abort();
+
+    long getRecordCount();
+
+    /**
+     * Commits the output, or discards it when the writer was aborted or a write failed
+     */
+    @Override
+    void close();
+
+    /**
+     * Opens the writer matching the extension of the output file: {@link DataToColumnarWriter} for
+     * {@link DataToColumnar#EXT}, {@link DataToCsvWriter} otherwise
+     *
+     * @param fileMetadata output file
+     * @param fsync whether the output is forced to the storage device on close
+     * @return the open writer
+     */
+    static DataToWriter forFile(final FileMetadata fileMetadata, final boolean fsync) {
+        if (DataToColumnar.EXT.equalsIgnoreCase(fileMetadata.getExtension())) {
+            return DataToColumnarWriter.builder().fileMetadata(fileMetadata).fsync(fsync).build();
+        }
+        return DataToCsvWriter.builder().fileMetadata(fileMetadata).fsync(fsync).build();
+    }
+}
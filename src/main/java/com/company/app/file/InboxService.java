@@ -0,0 +1,245 @@
+package com.company.app.file;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.company.app.exception.AppFileFindException;
+import com.company.app.service.LambdaService;
+import com.company.app.util.FileMetadata;
+import com.google.common.base.Preconditions;
+
+/**
+ * Ingests the CSV files dropped into an inbox directory: each file is run thru the {@link LambdaService} by a
+ * {@link BatchJobEngine}, the results are written to the output directory (temp file renamed once complete) and the
+ * input is moved to the archive directory, or to the error directory when it could not be processed.
+ * <p>
+ * New files are detected with a {@link WatchService} rather than by listing the directory, so an idle inbox costs no
+ * I/O whatever its size. The directory is only listed at start and when the watch service reports lost events. A file
+ * is picked up once no create or modify event was seen for it during the settle time, so files copied in place rather
+ * than renamed are not read half-written. Files carrying the {@link FileMetadata#TMP_EXT} temp extension are ignored.
+ * Files are processed one at a time, each one in parallel by the engine, on the inbox thread.
+ * <p>
+ * The service is optional and only created when <code>app.inbox.enabled=true</code>.
+ *
+ * @since 10/17/2026
+ *
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.inbox", name = "enabled", havingValue = "true")
+public class InboxService {
+
+    private static Logger LOG = LoggerFactory.getLogger(InboxService.class);
+    /**
+     * suffix of the archived file names. Free of periods, which {@link FileMetadata} takes for an extension
+     */
+    private static final DateTimeFormatter ARCHIVE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path inbox;
+    private final String outputDirectory;
+    private final String archiveDirectory;
+    private final String errorDirectory;
+    private final long settleNanos;
+    private final BatchJobEngine engine;
+    private final Thread worker;
+    /**
+     * candidate files by the time of their last event, in arrival order
+     */
+    private final Map<Path, Long> pending = new LinkedHashMap<>();
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private WatchService watchService;
+    private volatile boolean running;
+
+    @Autowired
+    public InboxService(final LambdaService service, @Value("${app.inbox.directory:inbox}") final String directory,
+            @Value("${app.inbox.output-directory:outbox}") final String outputDirectory,
+            @Value("${app.inbox.archive-directory:archive}") final String archiveDirectory,
+            @Value("${app.inbox.error-directory:error}") final String errorDirectory,
+            @Value("${app.inbox.settle-millis:500}") final long settleMillis,
+            @Value("${app.inbox.batch-size:1000}") final int batchSize) {
+        this.inbox = Paths.get(FileMetadata.fixDirectory(directory)).toAbsolutePath().normalize();
+        this.outputDirectory = FileMetadata.fixDirectory(outputDirectory);
+        this.archiveDirectory = FileMetadata.fixDirectory(archiveDirectory);
+        this.errorDirectory = FileMetadata.fixDirectory(errorDirectory);
+        Preconditions.checkArgument(!inbox.equals(Paths.get(this.outputDirectory).toAbsolutePath().normalize()),
+                "output directory [%s] must differ from the inbox directory", outputDirectory);
+        Preconditions.checkArgument(settleMillis >= 0, "settleMillis [%s] must be greater than or equal to zero",
+                settleMillis);
+        this.settleNanos = TimeUnit.MILLISECONDS.toNanos(settleMillis);
+        this.engine = BatchJobEngine.builder().service(service).batchSize(batchSize).build();
+        this.worker = new Thread(this::watch, "inbox-" + inbox.getFileName());
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        for (final String dir : new String[] { inbox.toString(), outputDirectory, archiveDirectory,
+                errorDirectory }) {
+            Files.createDirectories(Paths.get(dir));
+        }
+        watchService = inbox.getFileSystem().newWatchService();
+        inbox.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        // files dropped while the application was down
+        scan();
+        running = true;
+        worker.start();
+        LOG.info("Inbox [{}] watched, output to [{}], archive to [{}]", inbox, outputDirectory, archiveDirectory);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        watchService.close();
+        worker.join(TimeUnit.MINUTES.toMillis(1));
+        LOG.info("Inbox [{}] stopped after {} files ({} failed)", inbox, processedCount.get(), failedCount.get());
+    }
+
+    private void watch() {
+        while (running) {
+            try {
+                final WatchKey key = watchService.poll(pollMillis(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    drainEvents(key);
+                }
+                processSettled();
+            } catch (final ClosedWatchServiceException e) {
+                // stopped
+                return;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final RuntimeException e) {
+                // e.g. the rescan after lost events failed: keep the inbox running rather than let the thread die
+                LOG.error("Inbox [{}] failed to process its events, still watching", inbox, e);
+            }
+        }
+    }
+
+    /**
+     * @return how long to wait for the next event: until the oldest pending file settles, or a while when none is
+     *         pending
+     */
+    private long pollMillis() {
+        if (pending.isEmpty()) {
+            return TimeUnit.SECONDS.toMillis(1);
+        }
+        final long oldest = pending.values().stream().mapToLong(Long::longValue).min().getAsLong();
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(oldest + settleNanos - System.nanoTime()));
+    }
+
+    private void drainEvents(WatchKey key) {
+        while (key != null) {
+            boolean valid;
+            try {
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        LOG.warn("Inbox [{}] lost events, rescanning", inbox);
+                        scan();
+                    } else {
+                        offer(inbox.resolve((Path) event.context()));
+                    }
+                }
+            } finally {
+                // even when the rescan failed, or the key would no longer be signalled
+                valid = key.reset();
+            }
+            if (!valid) {
+                LOG.error("Inbox [{}] is no longer accessible, stopping", inbox);
+                running = false;
+                return;
+            }
+            key = watchService.poll();
+        }
+    }
+
+    private void scan() {
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(inbox)) {
+            for (final Path file : files) {
+                offer(file);
+            }
+        } catch (final IOException e) {
+            throw new AppFileFindException(String.format("Exception while listing the inbox [%s]", inbox), e);
+        }
+    }
+
+    private void offer(final Path file) {
+        // files still being written carry the temp extension (FileMetadata.getPathWithTempExtension()) in place of
+        // the csv one, so they are only picked up once renamed
+        if (FileMetadata.EXT.equalsIgnoreCase(FileMetadata.fileext(file.toString()))) {
+            // a later event restarts the settle time
+            pending.remove(file);
+            pending.put(file, System.nanoTime());
+        }
+    }
+
+    private void processSettled() {
+        final long now = System.nanoTime();
+        for (final Iterator<Map.Entry<Path, Long>> it = pending.entrySet().iterator(); it.hasNext() && running;) {
+            final Map.Entry<Path, Long> entry = it.next();
+            if (now - entry.getValue() >= settleNanos) {
+                it.remove();
+                if (Files.isRegularFile(entry.getKey())) {
+                    process(entry.getKey());
+                }
+            }
+        }
+    }
+
+    private void process(final Path file) {
+        final FileMetadata input = FileMetadata.builder().path(file.toString()).build();
+        final FileMetadata output = FileMetadata.builder(input).directory(outputDirectory).build();
+        final String stampedName = FileMetadata.UNDERSCORE_JOINER.join(input.getFilename(),
+                LocalDateTime.now().format(ARCHIVE_STAMP));
+        try {
+            engine.run(input, output);
+            FileMetadata.moveFile(input.getPath(),
+                    FileMetadata.buildPath(archiveDirectory, stampedName, input.getExtension()));
+            processedCount.incrementAndGet();
+        } catch (final RuntimeException e) {
+            failedCount.incrementAndGet();
+            LOG.error("Inbox file [{}] failed, moving it to [{}]", file, errorDirectory, e);
+            try {
+                FileMetadata.moveFile(input.getPath(),
+                        FileMetadata.buildPath(errorDirectory, stampedName, input.getExtension()));
+            } catch (final RuntimeException moveFailure) {
+                LOG.error("Inbox file [{}] could not be moved to [{}]", file, errorDirectory, moveFailure);
+            }
+        }
+    }
+
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+}
@@ -0,0 +1,60 @@
+package com.company.app.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.company.app.service.CachingLambdaService;
+import com.company.app.service.LambdaService;
+import com.company.app.service.LambdaServiceDecorator;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Actuator endpoint exposing the statistics of the {@link CachingLambdaService}, when enabled, at /actuator/calccache.
+ * A DELETE on the endpoint empties the cache.
+ *
+ * @since 10/17/2026
+ *
+ */
+@Component
+@Endpoint(id = "calccache")
+public class CalcCacheEndpoint {
+
+    private final CachingLambdaService cache;
+
+    @Autowired
+    public CalcCacheEndpoint(final LambdaService service) {
+        this.cache = LambdaServiceDecorator.find(service, CachingLambdaService.class);
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", cache != null);
+        if (cache != null) {
+            final CacheStats cacheStats = cache.getStats();
+            stats.put("size", cache.getSize());
+            stats.put("hitCount", cacheStats.hitCount());
+            stats.put("missCount", cacheStats.missCount());
+            stats.put("hitRate", cacheStats.hitRate());
+            stats.put("evictionCount", cacheStats.evictionCount());
+            stats.put("loadExceptionCount", cacheStats.loadExceptionCount());
+            stats.put("averageLoadPenaltyMicros",
+                    TimeUnit.NANOSECONDS.toMicros((long) cacheStats.averageLoadPenalty()));
+        }
+        return stats;
+    }
+
+    @DeleteOperation
+    public void invalidate() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+}
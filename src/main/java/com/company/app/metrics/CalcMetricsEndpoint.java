@@ -0,0 +1,31 @@
+package com.company.app.metrics;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing every {@link CallMetrics} of the {@link MetricsRegistry}, at /actuator/calcmetrics
+ *
+ * @since 10/17/2026
+ *
+ */
+@Component
+@Endpoint(id = "calcmetrics")
+public class CalcMetricsEndpoint {
+
+    private final MetricsRegistry registry;
+
+    @Autowired
+    public CalcMetricsEndpoint(final MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public Map<String, CallMetrics.Snapshot> metrics() {
+        return registry.snapshot();
+    }
+}
@@ -0,0 +1,114 @@
+package com.company.app.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request count, error count, in-flight gauge and latency histogram of one instrumented call site. All recorders are
+ * striped or lock-free, so instrumenting a hot path does not serialize its callers.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * final long start = metrics.start();
+ * boolean failed = true;
+ * try {
+ *     ...
+ *     failed = false;
+ * } finally {
+ *     metrics.stop(start, failed);
+ * }
+ * </pre>
+ *
+ * @since 10/17/2026
+ *
+ */
+public class CallMetrics {
+
+    private final String name;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public CallMetrics(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Marks the beginning of a call
+     *
+     * @return start timestamp to pass to {@link #stop(long, boolean)}
+     */
+    public long start() {
+        inFlight.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a call started with {@link #start()}
+     *
+     * @param start timestamp returned by {@link #start()}
+     * @param failed whether the call ended with an error
+     */
+    public void stop(final long start, final boolean failed) {
+        latency.record(System.nanoTime() - start);
+        inFlight.decrement();
+        requests.increment();
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(requests.sum(), errors.sum(), inFlight.sum(), latency.snapshot());
+    }
+
+    /**
+     * Point-in-time view of the metrics, as exposed by the metrics endpoint
+     */
+    public static class Snapshot {
+
+        private final long requests;
+        private final long errors;
+        private final long inFlight;
+        private final LatencyHistogram.Snapshot latency;
+
+        private Snapshot(final long requests, final long errors, final long inFlight,
+                final LatencyHistogram.Snapshot latency) {
+            this.requests = requests;
+            this.errors = errors;
+            this.inFlight = inFlight;
+            this.latency = latency;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getInFlight() {
+            return inFlight;
+        }
+
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot [requests=" + requests + ", errors=" + errors + ", inFlight=" + inFlight + ", latency="
+                    + latency + "]";
+        }
+    }
+}
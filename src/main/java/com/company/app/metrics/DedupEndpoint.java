@@ -0,0 +1,49 @@
+package com.company.app.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.company.app.service.DedupLambdaService;
+import com.company.app.service.LambdaService;
+import com.company.app.service.LambdaServiceDecorator;
+import com.company.app.util.DedupIndex;
+
+/**
+ * Actuator endpoint exposing the statistics of the {@link DedupLambdaService}, when enabled, at /actuator/dedup
+ *
+ * @since 10/17/2026
+ *
+ */
+@Component
+@Endpoint(id = "dedup")
+public class DedupEndpoint {
+
+    private final DedupLambdaService dedup;
+
+    @Autowired
+    public DedupEndpoint(final LambdaService service) {
+        this.dedup = LambdaServiceDecorator.find(service, DedupLambdaService.class);
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", dedup != null);
+        if (dedup != null) {
+            final DedupIndex index = dedup.getIndex();
+            stats.put("droppedCount", dedup.getDroppedCount());
+            stats.put("size", index.getSize());
+            stats.put("addedCount", index.getAddedCount());
+            stats.put("generationCount", index.getGenerationCount());
+            stats.put("bloomFalsePositiveCount", index.getBloomFalsePositiveCount());
+            stats.put("bytes", index.getBytes());
+            stats.put("offHeap", index.isOffHeap());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,38 @@
+package com.company.app.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.company.app.util.StringDictionary;
+
+/**
+ * Actuator endpoint exposing the statistics of the shared {@link StringDictionary} instances at /actuator/dictionaries
+ *
+ * @since 10/17/2026
+ *
+ */
+@Component
+@Endpoint(id = "dictionaries")
+public class DictionaryEndpoint {
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        for (final StringDictionary dictionary : StringDictionary.getAll().values()) {
+            final Map<String, Object> dictionaryStats = new LinkedHashMap<>();
+            dictionaryStats.put("size", dictionary.getCodeLimit());
+            dictionaryStats.put("maxEntries", dictionary.getMaxEntries());
+            dictionaryStats.put("hitCount", dictionary.getHitCount());
+            dictionaryStats.put("missCount", dictionary.getMissCount());
+            dictionaryStats.put("rejectedCount", dictionary.getRejectedCount());
+            dictionaryStats.put("hitRatio", dictionary.getHitRatio());
+            dictionaryStats.put("estimatedSavedBytes", dictionary.getEstimatedSavedBytes());
+            stats.put(dictionary.getName(), dictionaryStats);
+        }
+        return stats;
+    }
+}
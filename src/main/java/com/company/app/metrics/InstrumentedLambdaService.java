@@ -0,0 +1,59 @@
+package com.company.app.metrics;
+
+import java.util.List;
+
+import com.company.app.service.LambdaService;
+import com.company.app.service.LambdaServiceDecorator;
+import com.company.app.to.DataTo;
+
+/**
+ * {@link LambdaService} decorator recording the calls of the decorated implementation into {@link CallMetrics}. A
+ * batch call is recorded as one call under a separate "batch" metrics.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class InstrumentedLambdaService implements LambdaServiceDecorator {
+
+    private final LambdaService target;
+    private final CallMetrics calcMetrics;
+    private final CallMetrics batchMetrics;
+
+    public InstrumentedLambdaService(final LambdaService target, final MetricsRegistry registry) {
+        this.target = target;
+        final String name = MetricsRegistry.SERVICE_PREFIX + target.getClass().getSimpleName();
+        this.calcMetrics = registry.metrics(name + ".calc");
+        this.batchMetrics = registry.metrics(name + ".calcBatch");
+    }
+
+    @Override
+    public DataTo calc(final DataTo dataTo) {
+        final long start = calcMetrics.start();
+        boolean failed = true;
+        try {
+            final DataTo result = target.calc(dataTo);
+            failed = false;
+            return result;
+        } finally {
+            calcMetrics.stop(start, failed);
+        }
+    }
+
+    @Override
+    public List<DataTo> calcBatch(final List<DataTo> dataTos) {
+        final long start = batchMetrics.start();
+        boolean failed = true;
+        try {
+            final List<DataTo> results = target.calcBatch(dataTos);
+            failed = false;
+            return results;
+        } finally {
+            batchMetrics.stop(start, failed);
+        }
+    }
+
+    @Override
+    public LambdaService getTarget() {
+        return target;
+    }
+}
@@ -0,0 +1,194 @@
+package com.company.app.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the spirit of HdrHistogram: every power of two is split into
+ * {@value #SUB_BUCKETS} linear sub-buckets, so any recorded value is reported with a relative error below 3.2%. Values
+ * are nanoseconds; values above {@link #HIGHEST_TRACKABLE_NANOS} (about 73 minutes) are clamped.
+ * <p>
+ * Recording is a couple of shifts plus one atomic increment on the value's own bucket, so concurrent recorders only
+ * contend when they hit the very same bucket. Totals and max use striped adders.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /**
+     * values below this are recorded in their own exact bucket
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;
+    private static final int LINEAR_LIMIT_EXPONENT = SUB_BUCKET_BITS + 1;
+    public static final long HIGHEST_TRACKABLE_NANOS = (1L << 42) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(HIGHEST_TRACKABLE_NANOS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Records one latency value
+     *
+     * @param nanos latency in nanoseconds; negative values are recorded as zero
+     */
+    public void record(final long nanos) {
+        final long value = Math.min(Math.max(nanos, 0), HIGHEST_TRACKABLE_NANOS);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Records a latency measured by a loop that issues one request every expectedIntervalNanos and waits for its
+     * response. When a response took longer than the interval, the requests the loop failed to issue meanwhile are
+     * back-filled with the latencies they would have seen, which corrects the coordinated omission of such loops.
+     *
+     * @param nanos measured latency in nanoseconds
+     * @param expectedIntervalNanos expected interval between two requests; zero or less disables the correction
+     */
+    public void recordWithExpectedInterval(final long nanos, final long expectedIntervalNanos) {
+        record(nanos);
+        if (expectedIntervalNanos <= 0) {
+            return;
+        }
+        for (long missing = nanos - expectedIntervalNanos; missing >= expectedIntervalNanos;
+                missing -= expectedIntervalNanos) {
+            record(missing);
+        }
+    }
+
+    /**
+     * Adds all the values recorded by another histogram to this one
+     */
+    public void add(final LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            final long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        totalNanos.add(other.totalNanos.sum());
+        maxNanos.accumulate(other.maxNanos.get());
+    }
+
+    /**
+     * @return a consistent-enough copy of the recorded distribution. Recording may continue while it is taken.
+     */
+    public Snapshot snapshot() {
+        final long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.sum(), maxNanos.get());
+    }
+
+    static int bucketIndex(final long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (exponent - LINEAR_LIMIT_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the highest value recorded in the given bucket
+     */
+    static long highestValueOf(final int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        final int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_LIMIT_EXPONENT;
+        final int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        final int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + subBucket) << shift) + (1L << shift) - 1;
+    }
+
+    /**
+     * Immutable copy of a histogram distribution. Percentiles are reported in microseconds.
+     */
+    public static class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Snapshot(final long[] counts, final long count, final long totalNanos, final long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @return the value, in nanoseconds, below or at which the given percentage of the recorded values fall
+         */
+        public long percentileNanos(final double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank) {
+                    return Math.min(highestValueOf(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanMicros() {
+            return count == 0 ? 0 : (double) totalNanos / count / 1000.0;
+        }
+
+        public long getP50Micros() {
+            return toMicros(percentileNanos(50));
+        }
+
+        public long getP90Micros() {
+            return toMicros(percentileNanos(90));
+        }
+
+        public long getP99Micros() {
+            return toMicros(percentileNanos(99));
+        }
+
+        public long getP999Micros() {
+            return toMicros(percentileNanos(99.9));
+        }
+
+        public long getMaxMicros() {
+            return toMicros(maxNanos);
+        }
+
+        private static long toMicros(final long nanos) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot [count=" + count + ", meanMicros=" + String.format("%.1f", getMeanMicros())
+                    + ", p50Micros=" + getP50Micros() + ", p90Micros=" + getP90Micros() + ", p99Micros="
+                    + getP99Micros() + ", p999Micros=" + getP999Micros() + ", maxMicros=" + getMaxMicros() + "]";
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.company.app.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the {@link CallMetrics} of the application by name. Call sites look their metrics up once and keep the
+ * reference, so the registry is never on the recording path.
+ *
+ * @since 10/17/2026
+ *
+ */
+@Component
+public class MetricsRegistry {
+
+    public static final String ENDPOINT_PREFIX = "endpoint.";
+    public static final String SERVICE_PREFIX = "lambdaService.";
+
+    private final ConcurrentMap<String, CallMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * @param name metrics name
+     * @return the metrics registered under the name, created on first use
+     */
+    public CallMetrics metrics(final String name) {
+        return metrics.computeIfAbsent(name, CallMetrics::new);
+    }
+
+    /**
+     * @return a snapshot of every registered metrics, sorted by name
+     */
+    public Map<String, CallMetrics.Snapshot> snapshot() {
+        final Map<String, CallMetrics.Snapshot> snapshot = new TreeMap<>();
+        metrics.forEach((name, callMetrics) -> snapshot.put(name, callMetrics.snapshot()));
+        return snapshot;
+    }
+}
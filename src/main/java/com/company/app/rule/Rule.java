@@ -0,0 +1,119 @@
+package com.company.app.rule;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Compiled boolean expression over tokens, such as "(Z230) || ((X241) &amp;&amp; (X242))". Instances are created and
+ * cached by {@link RuleEngine#compile(String)}.
+ * <p>
+ * The expression is compiled into a tree of final nodes in which every token is replaced by the id the
+ * {@link RuleEngine} gave it, so an evaluation is a few virtual calls and bit tests: no string is hashed or compared.
+ * And/or nodes short-circuit like the Java operators. Instances are immutable and thread-safe.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class Rule {
+
+    private final String expression;
+    private final Set<String> tokens;
+    private final Node root;
+
+    Rule(final String expression, final Set<String> tokens, final Node root) {
+        this.expression = expression;
+        this.tokens = Collections.unmodifiableSet(tokens);
+        this.root = root;
+    }
+
+    /**
+     * @param presence ids of the tokens present, as returned by {@link RuleEngine#presence(Iterable)}
+     * @return whether the expression holds
+     */
+    public boolean matches(final BitSet presence) {
+        return root.eval(presence);
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * @return the distinct tokens of the expression, in order of appearance
+     */
+    public Set<String> getTokens() {
+        return tokens;
+    }
+
+    @Override
+    public String toString() {
+        return "Rule [" + expression + "]";
+    }
+
+    interface Node {
+        boolean eval(BitSet presence);
+    }
+
+    static final class TokenNode implements Node {
+        private final int id;
+
+        TokenNode(final int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean eval(final BitSet presence) {
+            return presence.get(id);
+        }
+    }
+
+    static final class NotNode implements Node {
+        private final Node operand;
+
+        NotNode(final Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public boolean eval(final BitSet presence) {
+            return !operand.eval(presence);
+        }
+    }
+
+    static final class AndNode implements Node {
+        private final Node[] operands;
+
+        AndNode(final Node[] operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        public boolean eval(final BitSet presence) {
+            for (final Node operand : operands) {
+                if (!operand.eval(presence)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class OrNode implements Node {
+        private final Node[] operands;
+
+        OrNode(final Node[] operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        public boolean eval(final BitSet presence) {
+            for (final Node operand : operands) {
+                if (operand.eval(presence)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
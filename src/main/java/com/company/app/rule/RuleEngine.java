@@ -0,0 +1,135 @@
+package com.company.app.rule;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.company.app.to.DataTo;
+import com.google.common.base.Preconditions;
+
+/**
+ * Compiles rule expressions such as "(Z230) || ((X241) &amp;&amp; (X242))" into {@link Rule}s and evaluates them
+ * against records.
+ * <p>
+ * Compiled rules are cached by expression text, so a rule is parsed once however often it is used. Every token met in
+ * a rule gets a small integer id, shared by all the rules of the engine; a record is then turned once into a
+ * {@link BitSet} of the ids of its tokens, which every rule can test without touching a string. The bulk
+ * {@link #filter(String, List)} and {@link #route(Map, String, List)} methods, whose records only have the
+ * {@link DataTo#getTransactionType()} token, go one step further and evaluate the rules once per distinct transaction
+ * type of the batch.
+ *
+ * @since 10/17/2026
+ *
+ */
+@Component
+public class RuleEngine {
+
+    private final ConcurrentMap<String, Rule> rules = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> tokenIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTokenId = new AtomicInteger();
+
+    /**
+     * @param expression rule expression
+     * @return the compiled rule, from the cache when the expression was already compiled
+     * @throws com.company.app.exception.AppRuleParseException when the expression is malformed
+     */
+    public Rule compile(final String expression) {
+        Preconditions.checkArgument(expression != null, "expression must not be null");
+        final Rule rule = rules.get(expression);
+        return rule != null ? rule : rules.computeIfAbsent(expression, e -> new RuleParser(e, this::tokenId).parse());
+    }
+
+    private int tokenId(final String token) {
+        // ids are dense, so presence sets are sized by the distinct tokens of all the compiled rules
+        return tokenIds.computeIfAbsent(token, t -> nextTokenId.getAndIncrement());
+    }
+
+    /**
+     * @param tokens tokens present in a record
+     * @return the presence set to pass to {@link Rule#matches(BitSet)}. Tokens no rule uses are ignored
+     */
+    public BitSet presence(final Iterable<String> tokens) {
+        final BitSet presence = new BitSet(nextTokenId.get());
+        for (final String token : tokens) {
+            final Integer id = token == null ? null : tokenIds.get(token);
+            if (id != null) {
+                presence.set(id);
+            }
+        }
+        return presence;
+    }
+
+    /**
+     * @param expression rule expression
+     * @param dataTos records whose transaction type is the token to test
+     * @return the records matching the rule, in input order
+     */
+    public List<DataTo> filter(final String expression, final List<DataTo> dataTos) {
+        final Rule rule = compile(expression);
+        final Map<String, Boolean> byTransactionType = new HashMap<>();
+        final List<DataTo> matching = new ArrayList<>();
+        for (final DataTo dataTo : dataTos) {
+            final Boolean matches = byTransactionType.computeIfAbsent(transactionType(dataTo),
+                    t -> rule.matches(presence(Collections.singletonList(t))));
+            if (matches) {
+                matching.add(dataTo);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Routes each record to the first route whose rule matches its transaction type
+     *
+     * @param routes route names mapped to their rule expressions, tested in iteration order
+     * @param defaultRoute name of the route of the records no rule matches
+     * @param dataTos records to route
+     * @return the records of each route, in input order. Every route is present, possibly empty
+     */
+    public Map<String, List<DataTo>> route(final Map<String, String> routes, final String defaultRoute,
+            final List<DataTo> dataTos) {
+        final Map<String, Rule> compiled = new LinkedHashMap<>();
+        final Map<String, List<DataTo>> routed = new LinkedHashMap<>();
+        routes.forEach((name, expression) -> {
+            compiled.put(name, compile(expression));
+            routed.put(name, new ArrayList<>());
+        });
+        routed.putIfAbsent(defaultRoute, new ArrayList<>());
+        final Function<String, List<DataTo>> routeOf = t -> {
+            final BitSet presence = presence(Collections.singletonList(t));
+            for (final Map.Entry<String, Rule> entry : compiled.entrySet()) {
+                if (entry.getValue().matches(presence)) {
+                    return routed.get(entry.getKey());
+                }
+            }
+            return routed.get(defaultRoute);
+        };
+        final Map<String, List<DataTo>> byTransactionType = new HashMap<>();
+        for (final DataTo dataTo : dataTos) {
+            byTransactionType.computeIfAbsent(transactionType(dataTo), routeOf).add(dataTo);
+        }
+        return routed;
+    }
+
+    private static String transactionType(final DataTo dataTo) {
+        final String transactionType = dataTo.getTransactionType();
+        return transactionType == null ? "" : transactionType.trim();
+    }
+
+    /**
+     * @return number of compiled rules held in the cache
+     */
+    public int getRuleCount() {
+        return rules.size();
+    }
+}
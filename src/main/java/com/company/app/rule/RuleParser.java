@@ -0,0 +1,124 @@
+package com.company.app.rule;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import com.company.app.exception.AppRuleParseException;
+
+/**
+ * Recursive-descent parser of rule expressions. Grammar, from the lowest precedence:
+ *
+ * <pre>
+ * or    := and ( "||" and )*
+ * and   := unary ( "&amp;&amp;" unary )*
+ * unary := "!" unary | "(" token ")" | "(" or ")"
+ * </pre>
+ *
+ * A token is, as in {@link com.company.app.util.Util#extractListOfTokensEnclosedByParenthesis(String)}, the trimmed
+ * text between a pair of parenthesis which holds no parenthesis itself. Not thread-safe: one instance per expression.
+ *
+ * @since 10/17/2026
+ *
+ */
+final class RuleParser {
+
+    private final String expression;
+    private final ToIntFunction<String> tokenIds;
+    private final Set<String> tokens = new LinkedHashSet<>();
+    private int pos;
+
+    RuleParser(final String expression, final ToIntFunction<String> tokenIds) {
+        this.expression = expression;
+        this.tokenIds = tokenIds;
+    }
+
+    Rule parse() {
+        final Rule.Node root = parseOr();
+        skipWhitespace();
+        if (pos < expression.length()) {
+            throw error("unexpected character");
+        }
+        return new Rule(expression, tokens, root);
+    }
+
+    private Rule.Node parseOr() {
+        final List<Rule.Node> operands = new ArrayList<>();
+        operands.add(parseAnd());
+        while (accept("||")) {
+            operands.add(parseAnd());
+        }
+        return operands.size() == 1 ? operands.get(0) : new Rule.OrNode(operands.toArray(new Rule.Node[0]));
+    }
+
+    private Rule.Node parseAnd() {
+        final List<Rule.Node> operands = new ArrayList<>();
+        operands.add(parseUnary());
+        while (accept("&&")) {
+            operands.add(parseUnary());
+        }
+        return operands.size() == 1 ? operands.get(0) : new Rule.AndNode(operands.toArray(new Rule.Node[0]));
+    }
+
+    private Rule.Node parseUnary() {
+        if (accept("!")) {
+            return new Rule.NotNode(parseUnary());
+        }
+        if (!accept("(")) {
+            throw error("expected '(' or '!'");
+        }
+        final int close = tokenEnd();
+        if (close >= 0) {
+            final String token = expression.substring(pos, close).trim();
+            if (token.isEmpty()) {
+                throw error("empty token");
+            }
+            pos = close + 1;
+            tokens.add(token);
+            return new Rule.TokenNode(tokenIds.applyAsInt(token));
+        }
+        final Rule.Node group = parseOr();
+        if (!accept(")")) {
+            throw error("expected ')'");
+        }
+        return group;
+    }
+
+    /**
+     * @return the index of the ')' closing a token starting at the current position, or -1 when a '(' comes first
+     */
+    private int tokenEnd() {
+        for (int i = pos; i < expression.length(); i++) {
+            final char c = expression.charAt(i);
+            if (c == ')') {
+                return i;
+            }
+            if (c == '(') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private boolean accept(final String symbol) {
+        skipWhitespace();
+        if (expression.startsWith(symbol, pos)) {
+            pos += symbol.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (pos < expression.length() && Character.isWhitespace(expression.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private AppRuleParseException error(final String reason) {
+        return new AppRuleParseException(
+                String.format("Cannot parse rule [%s] at position [%s]: %s", expression, pos, reason));
+    }
+}
@@ -0,0 +1,200 @@
+package com.company.app.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.company.app.exception.AppBatchJobException;
+import com.company.app.file.DataToColumnar;
+import com.company.app.file.DataToColumnar.Column;
+import com.company.app.file.DataToColumnarReader;
+import com.company.app.file.DataToCsvReader;
+import com.company.app.service.DataToAggregator.Dimension;
+import com.company.app.to.DataTo;
+import com.company.app.util.FileMetadata;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.base.Preconditions;
+
+/**
+ * Aggregates {@link DataTo} records with {@link DataToAggregator} in a single pass, from a JSON array or NDJSON stream
+ * or from a file, without holding the records in memory.
+ * <p>
+ * The work is split into independent partials merged at the end, so no aggregate is shared between threads:
+ * <ul>
+ * <li>a stream is parsed on the calling thread into batches of {@link #STREAM_BATCH_RECORDS} records, each batch is
+ * aggregated into its own partial on the executor and the calling thread merges the partials oldest first, holding at
+ * most maxInFlightBatches batches</li>
+ * <li>a CSV file is parsed chunk by chunk in parallel by {@link DataToCsvReader#processChunks}, one partial per chunk,
+ * with amounts decoded straight into the fixed-point representation</li>
+ * <li>a {@link DataToColumnar} file is read on the calling thread, decoding only the amount and groupBy columns</li>
+ * </ul>
+ *
+ * @since 10/17/2026
+ *
+ */
+@Service
+public class AggregationService {
+
+    private static Logger LOG = LoggerFactory.getLogger(AggregationService.class);
+    static final int STREAM_BATCH_RECORDS = 4096;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reader;
+    private final Path directory;
+    private final ExecutorService executor = ForkJoinPool.commonPool();
+    private final int maxInFlightBatches = 2 * ForkJoinPool.getCommonPoolParallelism();
+
+    @Autowired
+    public AggregationService(final ObjectMapper objectMapper,
+            @Value("${app.aggregate.directory:data}") final String directory) {
+        super();
+        this.objectMapper = objectMapper;
+        this.reader = objectMapper.readerFor(DataTo.class);
+        this.directory = Paths.get(FileMetadata.fixDirectory(directory)).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Aggregates the records of the input stream. The stream is not closed by this method.
+     *
+     * @param in JSON array or NDJSON input
+     * @param groupBy dimensions of the groups
+     * @return the merged aggregate
+     * @throws IOException when the input can not be parsed
+     */
+    public DataToAggregator aggregate(final InputStream in, final Set<Dimension> groupBy) throws IOException {
+        final DataToAggregator total = new DataToAggregator(groupBy);
+        final Deque<Future<DataToAggregator>> inFlight = new ArrayDeque<>();
+        try (final JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            JsonToken token = parser.nextToken();
+            final boolean isArray = token == JsonToken.START_ARRAY;
+            if (isArray) {
+                token = parser.nextToken();
+            }
+            List<DataTo> batch = new ArrayList<>(STREAM_BATCH_RECORDS);
+            while (token == JsonToken.START_OBJECT) {
+                batch.add(reader.readValue(parser));
+                if (batch.size() == STREAM_BATCH_RECORDS) {
+                    submit(batch, groupBy, inFlight, total);
+                    batch = new ArrayList<>(STREAM_BATCH_RECORDS);
+                }
+                token = parser.nextToken();
+            }
+            if (isArray ? token != JsonToken.END_ARRAY : token != null) {
+                throw new JsonParseException(parser, String.format("Expected an object%s but found [%s]",
+                        isArray ? " or the end of the array" : "", token));
+            }
+            if (!batch.isEmpty()) {
+                submit(batch, groupBy, inFlight, total);
+            }
+            while (!inFlight.isEmpty()) {
+                total.merge(await(inFlight.poll()));
+            }
+        } finally {
+            for (final Future<DataToAggregator> future : inFlight) {
+                future.cancel(false);
+            }
+        }
+        LOG.info("Aggregated {} DataTo records into {} groups by {}", total.getRecordCount(), total.getGroupCount(),
+                groupBy);
+        return total;
+    }
+
+    /**
+     * Aggregates the records of a file of the aggregation directory
+     *
+     * @param filename name of a CSV file, or of a {@link DataToColumnar} file when its extension is
+     *            {@link DataToColumnar#EXT}, without any directory
+     * @param groupBy dimensions of the groups
+     * @return the merged aggregate
+     */
+    public DataToAggregator aggregate(final String filename, final Set<Dimension> groupBy) {
+        return aggregate(resolve(filename), groupBy);
+    }
+
+    /**
+     * Aggregates the records of a CSV file, or of a {@link DataToColumnar} file when its extension is
+     * {@link DataToColumnar#EXT}
+     */
+    public DataToAggregator aggregate(final FileMetadata file, final Set<Dimension> groupBy) {
+        final DataToAggregator total = new DataToAggregator(groupBy);
+        if (DataToColumnar.EXT.equals(file.getExtension())) {
+            final List<Column> columns = new ArrayList<>();
+            if (groupBy.contains(Dimension.TRANSACTION_TYPE)) {
+                columns.add(Column.TRANSACTION_TYPE);
+            }
+            if (groupBy.contains(Dimension.CUSTOMER_NAME)) {
+                columns.add(Column.CUSTOMER_NAME);
+            }
+            if (groupBy.contains(Dimension.DATE)) {
+                columns.add(Column.DATE);
+            }
+            DataToColumnarReader.builder().fileMetadata(file).columns(Column.AMOUNT, columns.toArray(new Column[0]))
+                    .build().forEach(total);
+        } else {
+            final DataToCsvReader reader = DataToCsvReader.builder().fileMetadata(file).executor(executor)
+                    .fixedPointAmounts(true).build();
+            for (final DataToAggregator partial : reader.processChunks(() -> new DataToAggregator(groupBy),
+                    DataToAggregator::accept)) {
+                total.merge(partial);
+            }
+        }
+        LOG.info("Aggregated {} DataTo records of [{}] into {} groups by {}", total.getRecordCount(), file.getPath(),
+                total.getGroupCount(), groupBy);
+        return total;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the filename is not a plain file name
+     */
+    private FileMetadata resolve(final String filename) {
+        Preconditions.checkArgument(filename != null && !filename.trim().isEmpty(), "filename must be set");
+        final Path path = directory.resolve(filename).normalize();
+        Preconditions.checkArgument(directory.equals(path.getParent()), "filename [%s] must not hold a directory",
+                filename);
+        return FileMetadata.builder().directory(directory.toString()).filenameAndExtension(filename).build();
+    }
+
+    private void submit(final List<DataTo> batch, final Set<Dimension> groupBy,
+            final Deque<Future<DataToAggregator>> inFlight, final DataToAggregator total) {
+        if (inFlight.size() == maxInFlightBatches) {
+            total.merge(await(inFlight.poll()));
+        }
+        inFlight.add(executor.submit(() -> {
+            final DataToAggregator partial = new DataToAggregator(groupBy);
+            batch.forEach(partial);
+            return partial;
+        }));
+    }
+
+    private static DataToAggregator await(final Future<DataToAggregator> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppBatchJobException("Interrupted while waiting for a partial aggregate", e);
+        } catch (final ExecutionException e) {
+            throw new AppBatchJobException(String.format("Aggregation failed: %s", e.getCause()), e.getCause());
+        }
+    }
+}
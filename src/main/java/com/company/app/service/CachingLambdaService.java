@@ -0,0 +1,73 @@
+package com.company.app.service;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.company.app.to.DataTo;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Memoizing {@link LambdaService} decorator. Results are cached by the whole input {@link DataTo} (see
+ * {@link DataTo#equals(Object)}) in a bounded, concurrent cache evicting the least recently used entries once the
+ * maximum size is reached and expiring entries after a time-to-live. Concurrent misses on the same input calculate it
+ * once. The decorated service must be a pure function of its input and must not return null.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class CachingLambdaService implements LambdaServiceDecorator {
+
+    private final LambdaService target;
+    private final Cache<DataTo, DataTo> cache;
+
+    public CachingLambdaService(final LambdaService target, final long maximumSize, final long ttlSeconds) {
+        this.target = target;
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .concurrencyLevel(Runtime.getRuntime().availableProcessors()).recordStats().build();
+    }
+
+    @Override
+    public DataTo calc(final DataTo dataTo) {
+        try {
+            return cache.get(dataTo, () -> target.calc(dataTo));
+        } catch (final UncheckedExecutionException | ExecutionError e) {
+            throw unwrap(e.getCause());
+        } catch (final ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(final Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new UncheckedExecutionException(cause);
+    }
+
+    @Override
+    public LambdaService getTarget() {
+        return target;
+    }
+
+    /**
+     * @return hit, miss, load and eviction statistics since the cache was created
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getSize() {
+        return cache.size();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,465 @@
+package com.company.app.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.company.app.to.DataTo;
+import com.company.app.util.FixedPoint;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.google.common.base.Preconditions;
+
+/**
+ * Computes the record count and the sum, min and max of the amount of {@link DataTo} records per group, the groups
+ * being the distinct values of the selected {@link Dimension}s.
+ * <p>
+ * An aggregator is a partial aggregate: it is not thread-safe and is meant to be filled by a single thread, e.g. one
+ * per chunk of a file, then merged with the partials of the other threads thru {@link #merge(DataToAggregator)}. Amounts
+ * are summed and compared on fixed-point scaled longs (see {@link FixedPoint}) and switch to BigDecimal only when a long
+ * overflows, so folding a record allocates nothing once its group exists. Sums, mins and maxes equal their BigDecimal
+ * counterparts, scale included. Records without an amount are counted but do not take part in the amount stats.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class DataToAggregator implements Consumer<DataTo> {
+
+    private final Set<Dimension> groupBy;
+    private final boolean byTransactionType;
+    private final boolean byCustomerName;
+    private final boolean byDate;
+    private final Map<Key, Stats> groups = new HashMap<>();
+    /**
+     * reused to look up the group of a record; copied only when the group is new
+     */
+    private final Key probe = new Key();
+    private long recordCount;
+
+    public DataToAggregator(final Set<Dimension> groupBy) {
+        Preconditions.checkArgument(groupBy != null && !groupBy.isEmpty(), "groupBy must hold at least one dimension");
+        this.groupBy = Collections.unmodifiableSet(EnumSet.copyOf(groupBy));
+        this.byTransactionType = groupBy.contains(Dimension.TRANSACTION_TYPE);
+        this.byCustomerName = groupBy.contains(Dimension.CUSTOMER_NAME);
+        this.byDate = groupBy.contains(Dimension.DATE);
+    }
+
+    /**
+     * Folds the record into its group
+     */
+    @Override
+    public void accept(final DataTo dataTo) {
+        probe.set(byTransactionType ? dataTo.getTransactionType() : null,
+                byCustomerName ? dataTo.getCustomerName() : null, byDate ? dataTo.getDate() : null);
+        Stats stats = groups.get(probe);
+        if (stats == null) {
+            stats = new Stats();
+            groups.put(probe.copy(), stats);
+        }
+        stats.add(dataTo);
+        recordCount++;
+    }
+
+    /**
+     * Folds the groups of another partial into this one
+     *
+     * @param other partial over the same dimensions, no longer being filled
+     * @return this aggregator
+     */
+    public DataToAggregator merge(final DataToAggregator other) {
+        Preconditions.checkArgument(groupBy.equals(other.groupBy), "groupBy [%s] differs from [%s]", other.groupBy,
+                groupBy);
+        for (final Map.Entry<Key, Stats> entry : other.groups.entrySet()) {
+            final Stats stats = groups.get(entry.getKey());
+            if (stats == null) {
+                groups.put(entry.getKey(), entry.getValue().copy());
+            } else {
+                stats.merge(entry.getValue());
+            }
+        }
+        recordCount += other.recordCount;
+        return this;
+    }
+
+    public Set<Dimension> getGroupBy() {
+        return groupBy;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public int getGroupCount() {
+        return groups.size();
+    }
+
+    /**
+     * @return the groups ordered by key, null values first
+     */
+    public List<Group> getGroups() {
+        final List<Map.Entry<Key, Stats>> entries = new ArrayList<>(groups.entrySet());
+        entries.sort(Map.Entry.comparingByKey(Key.ORDER));
+        final List<Group> result = new ArrayList<>(entries.size());
+        for (final Map.Entry<Key, Stats> entry : entries) {
+            result.add(new Group(key(entry.getKey()), entry.getValue()));
+        }
+        return result;
+    }
+
+    private Map<String, Object> key(final Key key) {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        if (byTransactionType) {
+            map.put(Dimension.TRANSACTION_TYPE.getName(), key.transactionType);
+        }
+        if (byCustomerName) {
+            map.put(Dimension.CUSTOMER_NAME.getName(), key.customerName);
+        }
+        if (byDate) {
+            map.put(Dimension.DATE.getName(), key.date);
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "DataToAggregator [groupBy=" + groupBy + ", recordCount=" + recordCount + ", groupCount="
+                + groups.size() + "]";
+    }
+
+    /**
+     * Fields the records can be grouped by
+     */
+    public enum Dimension {
+        TRANSACTION_TYPE("transactionType"), CUSTOMER_NAME("customerName"), DATE("date");
+
+        private final String name;
+
+        Dimension(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return the DataTo property name of the dimension, also its JSON representation
+         */
+        @JsonValue
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @param names DataTo property names, e.g. transactionType
+         * @return the dimensions of the names
+         * @throws IllegalArgumentException when a name is not a dimension
+         */
+        public static Set<Dimension> fromNames(final Iterable<String> names) {
+            final Set<Dimension> dimensions = EnumSet.noneOf(Dimension.class);
+            for (final String name : names) {
+                dimensions.add(fromName(name.trim()));
+            }
+            return dimensions;
+        }
+
+        public static Dimension fromName(final String name) {
+            for (final Dimension dimension : values()) {
+                if (dimension.name.equals(name)) {
+                    return dimension;
+                }
+            }
+            throw new IllegalArgumentException(String.format("Unknown groupBy dimension [%s], expected one of %s",
+                    name, Arrays.stream(values()).map(Dimension::getName).collect(Collectors.toList())));
+        }
+    }
+
+    /**
+     * Stats of one group
+     */
+    public static final class Group {
+
+        private final Map<String, Object> key;
+        private final long count;
+        private final long amountCount;
+        private final BigDecimal sum;
+        private final BigDecimal min;
+        private final BigDecimal max;
+
+        private Group(final Map<String, Object> key, final Stats stats) {
+            this.key = Collections.unmodifiableMap(key);
+            this.count = stats.count;
+            this.amountCount = stats.amountCount;
+            this.sum = stats.sum.toBigDecimal();
+            this.min = stats.min.toBigDecimal();
+            this.max = stats.max.toBigDecimal();
+        }
+
+        /**
+         * @return the values of the groupBy dimensions, by DataTo property name
+         */
+        public Map<String, Object> getKey() {
+            return key;
+        }
+
+        /**
+         * @return number of records of the group
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return number of records of the group with an amount
+         */
+        public long getAmountCount() {
+            return amountCount;
+        }
+
+        /**
+         * @return sum of the amounts, null when no record of the group has an amount
+         */
+        public BigDecimal getSum() {
+            return sum;
+        }
+
+        public BigDecimal getMin() {
+            return min;
+        }
+
+        public BigDecimal getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "Group [key=" + key + ", count=" + count + ", amountCount=" + amountCount + ", sum=" + sum
+                    + ", min=" + min + ", max=" + max + "]";
+        }
+    }
+
+    private static final class Key {
+
+        private static final Comparator<String> STRING_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+        private static final Comparator<Key> ORDER = Comparator.comparing((Key key) -> key.transactionType,
+                STRING_ORDER).thenComparing(key -> key.customerName, STRING_ORDER).thenComparing(key -> key.date,
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        private String transactionType;
+        private String customerName;
+        private LocalDate date;
+        private int hash;
+
+        private void set(final String transactionType, final String customerName, final LocalDate date) {
+            this.transactionType = transactionType;
+            this.customerName = customerName;
+            this.date = date;
+            this.hash = (Objects.hashCode(transactionType) * 31 + Objects.hashCode(customerName)) * 31
+                    + Objects.hashCode(date);
+        }
+
+        private Key copy() {
+            final Key key = new Key();
+            key.set(transactionType, customerName, date);
+            return key;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            // the strings are usually canonical (see StringDictionary), so equals mostly ends on ==
+            return hash == other.hash && Objects.equals(transactionType, other.transactionType)
+                    && Objects.equals(customerName, other.customerName) && Objects.equals(date, other.date);
+        }
+    }
+
+    private static final class Stats {
+
+        private long count;
+        private long amountCount;
+        private final Amount sum = new Amount();
+        private final Amount min = new Amount();
+        private final Amount max = new Amount();
+
+        private void add(final DataTo dataTo) {
+            count++;
+            if (dataTo.isFixedPointAmount()) {
+                add(dataTo.getAmountUnscaled(), dataTo.getAmountScale());
+                return;
+            }
+            final BigDecimal amount = dataTo.getAmount();
+            if (amount == null) {
+                return;
+            }
+            if (FixedPoint.fitsLong(amount)) {
+                add(FixedPoint.unscaled(amount), amount.scale());
+            } else {
+                addBig(amount);
+            }
+        }
+
+        private void add(final long unscaled, final int scale) {
+            if (amountCount++ == 0) {
+                sum.set(unscaled, scale);
+                min.set(unscaled, scale);
+                max.set(unscaled, scale);
+                return;
+            }
+            sum.add(unscaled, scale);
+            if (min.compareTo(unscaled, scale) > 0) {
+                min.set(unscaled, scale);
+            }
+            if (max.compareTo(unscaled, scale) < 0) {
+                max.set(unscaled, scale);
+            }
+        }
+
+        private void addBig(final BigDecimal amount) {
+            if (amountCount++ == 0) {
+                sum.set(amount);
+                min.set(amount);
+                max.set(amount);
+                return;
+            }
+            sum.add(amount);
+            if (min.compareTo(amount) > 0) {
+                min.set(amount);
+            }
+            if (max.compareTo(amount) < 0) {
+                max.set(amount);
+            }
+        }
+
+        private void merge(final Stats other) {
+            if (other.amountCount > 0) {
+                if (amountCount == 0) {
+                    sum.set(other.sum);
+                    min.set(other.min);
+                    max.set(other.max);
+                } else {
+                    sum.add(other.sum);
+                    if (min.compareTo(other.min) > 0) {
+                        min.set(other.min);
+                    }
+                    if (max.compareTo(other.max) < 0) {
+                        max.set(other.max);
+                    }
+                }
+            }
+            count += other.count;
+            amountCount += other.amountCount;
+        }
+
+        private Stats copy() {
+            final Stats stats = new Stats();
+            stats.merge(this);
+            return stats;
+        }
+    }
+
+    /**
+     * Mutable amount held as a scaled long, or as a BigDecimal once it does not fit a long
+     */
+    private static final class Amount {
+
+        private long unscaled;
+        private int scale;
+        private BigDecimal big;
+        private boolean present;
+
+        private void set(final long unscaled, final int scale) {
+            this.unscaled = unscaled;
+            this.scale = scale;
+            this.big = null;
+            this.present = true;
+        }
+
+        private void set(final BigDecimal big) {
+            this.big = big;
+            this.present = true;
+        }
+
+        private void set(final Amount other) {
+            this.unscaled = other.unscaled;
+            this.scale = other.scale;
+            this.big = other.big;
+            this.present = other.present;
+        }
+
+        private void add(final long otherUnscaled, final int otherScale) {
+            if (big == null) {
+                try {
+                    if (otherScale > scale) {
+                        // rescaling keeps the value, so the state stays consistent if the addition overflows
+                        unscaled = Math.multiplyExact(unscaled, FixedPoint.pow10(otherScale - scale));
+                        scale = otherScale;
+                        unscaled = Math.addExact(unscaled, otherUnscaled);
+                    } else {
+                        unscaled = Math.addExact(unscaled, Math.multiplyExact(otherUnscaled,
+                                FixedPoint.pow10(scale - otherScale)));
+                    }
+                    return;
+                } catch (final ArithmeticException e) {
+                    big = FixedPoint.toBigDecimal(unscaled, scale);
+                }
+            }
+            big = big.add(FixedPoint.toBigDecimal(otherUnscaled, otherScale));
+        }
+
+        private void add(final BigDecimal amount) {
+            big = toBigDecimal().add(amount);
+        }
+
+        private void add(final Amount other) {
+            if (other.big == null) {
+                add(other.unscaled, other.scale);
+            } else {
+                add(other.big);
+            }
+        }
+
+        private int compareTo(final long otherUnscaled, final int otherScale) {
+            if (big == null) {
+                try {
+                    return FixedPoint.compare(unscaled, scale, otherUnscaled, otherScale);
+                } catch (final ArithmeticException e) {
+                    // compared as BigDecimal below
+                }
+            }
+            return toBigDecimal().compareTo(FixedPoint.toBigDecimal(otherUnscaled, otherScale));
+        }
+
+        private int compareTo(final BigDecimal amount) {
+            return toBigDecimal().compareTo(amount);
+        }
+
+        private int compareTo(final Amount other) {
+            return other.big == null ? compareTo(other.unscaled, other.scale) : compareTo(other.big);
+        }
+
+        private BigDecimal toBigDecimal() {
+            if (!present) {
+                return null;
+            }
+            return big != null ? big : FixedPoint.toBigDecimal(unscaled, scale);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.company.app.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.company.app.exception.DuplicateDataException;
+import com.company.app.to.DataTo;
+import com.company.app.util.DedupIndex;
+
+/**
+ * {@link LambdaService} decorator dropping the records whose {@link DataTo#getId()} was already calculated within the
+ * retention window of the {@link DedupIndex}, e.g. records resent by an upstream retry. Records without an id are
+ * always calculated.
+ * <p>
+ * {@link #calc(DataTo)} throws a {@link DuplicateDataException} for a duplicate; {@link #calcBatch(List)} calculates the
+ * new records as one batch and returns null in place of the duplicates. An id is remembered before its record is
+ * calculated, so concurrent duplicates are calculated once, and forgotten again when the calculation fails, so a retry
+ * of a failed record is calculated. A caller committing the results later, such as a batch job writing an output
+ * file, tracks them with a {@link Job} and rolls the job back when the commit fails, so a rerun is not taken for
+ * duplicates.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class DedupLambdaService implements LambdaServiceDecorator {
+
+    private static Logger LOG = LoggerFactory.getLogger(DedupLambdaService.class);
+
+    private final LambdaService target;
+    private final DedupIndex index;
+    private final LongAdder droppedCount = new LongAdder();
+
+    public DedupLambdaService(final LambdaService target, final DedupIndex index) {
+        this.target = target;
+        this.index = index;
+    }
+
+    @Override
+    public DataTo calc(final DataTo dataTo) {
+        final String id = dataTo.getId();
+        if (id == null) {
+            return target.calc(dataTo);
+        }
+        if (!index.add(id)) {
+            droppedCount.increment();
+            throw new DuplicateDataException(String.format("DataTo id [%s] was already processed", id));
+        }
+        try {
+            return target.calc(dataTo);
+        } catch (final RuntimeException | Error e) {
+            index.remove(id);
+            throw e;
+        }
+    }
+
+    /**
+     * @return one result per input record, in input order, null for the duplicates
+     */
+    @Override
+    public List<DataTo> calcBatch(final List<DataTo> dataTos) {
+        final List<DataTo> unique = new ArrayList<>(dataTos.size());
+        final List<String> addedIds = new ArrayList<>(dataTos.size());
+        final boolean[] duplicates = new boolean[dataTos.size()];
+        for (int i = 0; i < dataTos.size(); i++) {
+            final DataTo dataTo = dataTos.get(i);
+            final String id = dataTo.getId();
+            if (id == null || index.add(id)) {
+                unique.add(dataTo);
+                if (id != null) {
+                    addedIds.add(id);
+                }
+            } else {
+                duplicates[i] = true;
+                droppedCount.increment();
+            }
+        }
+        final List<DataTo> results;
+        try {
+            results = unique.isEmpty() ? unique : target.calcBatch(unique);
+        } catch (final RuntimeException | Error e) {
+            for (final String id : addedIds) {
+                index.remove(id);
+            }
+            throw e;
+        }
+        if (unique.size() == dataTos.size()) {
+            return results;
+        }
+        final List<DataTo> merged = new ArrayList<>(dataTos.size());
+        int next = 0;
+        for (int i = 0; i < dataTos.size(); i++) {
+            merged.add(duplicates[i] ? null : results.get(next++));
+        }
+        return merged;
+    }
+
+    @Override
+    public LambdaService getTarget() {
+        return target;
+    }
+
+    /**
+     * @return a tracker of the ids a job remembers thru this service
+     */
+    public Job startJob() {
+        return new Job();
+    }
+
+    public DedupIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @return number of duplicate records dropped since creation
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Ids remembered while calculating the batches of one job, to be forgotten together when the job output is not
+     * committed. The ids are held as their 8-byte hashes. Instances are thread-safe
+     */
+    public final class Job {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private long[] hashes = new long[INITIAL_CAPACITY];
+        private int size;
+        private boolean rolledBack;
+
+        private Job() {
+        }
+
+        /**
+         * Records the ids of a calculated batch; once the job is rolled back, forgets them instead
+         *
+         * @param dataTos input records of the batch
+         * @param results results of {@link #calcBatch(List)} for the batch, null for the dropped duplicates
+         */
+        public synchronized void calculated(final List<DataTo> dataTos, final List<DataTo> results) {
+            for (int i = 0; i < dataTos.size(); i++) {
+                final String id = dataTos.get(i).getId();
+                if (id == null || results.get(i) == null) {
+                    continue;
+                }
+                if (rolledBack) {
+                    index.remove(id);
+                } else {
+                    if (size == hashes.length) {
+                        hashes = Arrays.copyOf(hashes, 2 * size);
+                    }
+                    hashes[size++] = DedupIndex.hash(id);
+                }
+            }
+        }
+
+        /**
+         * Forgets every id recorded so far, and the ids of the batches recorded later
+         */
+        public synchronized void rollback() {
+            rolledBack = true;
+            for (int i = 0; i < size; i++) {
+                index.removeHash(hashes[i]);
+            }
+            LOG.info("Forgot the {} dedup ids of a job that was not committed", size);
+            hashes = new long[0];
+            size = 0;
+        }
+    }
+}
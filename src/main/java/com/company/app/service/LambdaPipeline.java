@@ -0,0 +1,170 @@
+package com.company.app.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.company.app.metrics.CallMetrics;
+import com.company.app.metrics.MetricsRegistry;
+import com.company.app.to.DataTo;
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link LambdaService} running a record thru a sequence of stages, each one receiving the result of the previous one.
+ * <p>
+ * The stages are fused once, when the pipeline is built, into a chain of final links each holding its stage and the
+ * next link, so a call is a straight sequence of direct calls: there is no per-record iteration over a stage list, no
+ * lookup and no reflection. Only the links of {@link PipelineStage stages} able to short-circuit test for it, and only
+ * stages built with metrics pay for the timing, so a stage costs one extra call at most.
+ * <p>
+ * When a {@link MetricsRegistry} is given, the latency of each stage, excluding the following stages, is recorded in
+ * the {@link CallMetrics} named {@value #METRICS_PREFIX} followed by the stage name.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class LambdaPipeline implements LambdaService {
+
+    public static final String METRICS_PREFIX = "pipeline.";
+
+    private final List<String> stageNames;
+    private final LambdaService head;
+
+    private LambdaPipeline(final Builder builder) {
+        this.stageNames = Collections.unmodifiableList(new ArrayList<>(builder.names));
+        LambdaService link = null;
+        for (int i = builder.stages.size() - 1; i >= 0; i--) {
+            link = link(builder.stages.get(i), builder.names.get(i), builder.registry, link);
+        }
+        this.head = link;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static LambdaService link(final LambdaService stage, final String name, final MetricsRegistry registry,
+            final LambdaService next) {
+        final LambdaService call = registry == null ? stage
+                : new TimedStage(stage, registry.metrics(METRICS_PREFIX + name));
+        if (next == null) {
+            return call;
+        }
+        if (stage instanceof PipelineStage) {
+            return new HaltingLink(call, (PipelineStage) stage, next);
+        }
+        return new Link(call, next);
+    }
+
+    @Override
+    public DataTo calc(final DataTo dataTo) {
+        return head.calc(dataTo);
+    }
+
+    /**
+     * @return the stage names, in call order
+     */
+    public List<String> getStageNames() {
+        return stageNames;
+    }
+
+    @Override
+    public String toString() {
+        return "LambdaPipeline " + stageNames;
+    }
+
+    private static final class Link implements LambdaService {
+        private final LambdaService stage;
+        private final LambdaService next;
+
+        private Link(final LambdaService stage, final LambdaService next) {
+            this.stage = stage;
+            this.next = next;
+        }
+
+        @Override
+        public DataTo calc(final DataTo dataTo) {
+            return next.calc(stage.calc(dataTo));
+        }
+    }
+
+    private static final class HaltingLink implements LambdaService {
+        private final LambdaService stage;
+        private final PipelineStage halting;
+        private final LambdaService next;
+
+        private HaltingLink(final LambdaService stage, final PipelineStage halting, final LambdaService next) {
+            this.stage = stage;
+            this.halting = halting;
+            this.next = next;
+        }
+
+        @Override
+        public DataTo calc(final DataTo dataTo) {
+            final DataTo result = stage.calc(dataTo);
+            return halting.halts(result) ? result : next.calc(result);
+        }
+    }
+
+    private static final class TimedStage implements LambdaService {
+        private final LambdaService stage;
+        private final CallMetrics metrics;
+
+        private TimedStage(final LambdaService stage, final CallMetrics metrics) {
+            this.stage = stage;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public DataTo calc(final DataTo dataTo) {
+            final long start = metrics.start();
+            boolean failed = true;
+            try {
+                final DataTo result = stage.calc(dataTo);
+                failed = false;
+                return result;
+            } finally {
+                metrics.stop(start, failed);
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<LambdaService> stages = new ArrayList<>();
+        private MetricsRegistry registry;
+
+        public Builder() {
+            // this constructor is needed. Invoked by the static LambdaPipeline build method
+        }
+
+        /**
+         * Appends a stage
+         *
+         * @param name stage name, unique within the pipeline
+         * @param stage stage implementation
+         */
+        public Builder stage(final String name, final LambdaService stage) {
+            Preconditions.checkArgument(name != null && stage != null, "stage [%s] must have a name and a service",
+                    name);
+            Preconditions.checkArgument(!names.contains(name), "stage name [%s] is used twice", name);
+            names.add(name);
+            stages.add(stage);
+            return this;
+        }
+
+        /**
+         * Registry receiving the per-stage metrics. Stages are not timed when not set
+         */
+        public Builder metrics(final MetricsRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        public LambdaPipeline build() {
+            Preconditions.checkArgument(!stages.isEmpty(), "a pipeline needs at least one stage");
+            return new LambdaPipeline(this);
+        }
+    }
+}
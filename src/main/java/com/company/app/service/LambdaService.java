@@ -1,9 +1,29 @@
 package com.company.app.service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.company.app.to.DataTo;
 
 public interface LambdaService {
 
 	DataTo calc(DataTo dataTo);
+
+	/**
+	 * Calculates a batch of records. The returned list holds one result per input record, in the same order as the
+	 * input list. The default implementation simply loops over {@link #calc(DataTo)}; implementations with a high
+	 * per-call overhead should override it to amortize that overhead across the whole batch. A decorator dropping
+	 * records, such as {@link DedupLambdaService}, returns null in their place.
+	 *
+	 * @param dataTos input records
+	 * @return calculated records, in input order
+	 */
+	default List<DataTo> calcBatch(List<DataTo> dataTos) {
+		final List<DataTo> results = new ArrayList<>(dataTos.size());
+		for (final DataTo dataTo : dataTos) {
+			results.add(calc(dataTo));
+		}
+		return results;
+	}
 		
 }
@@ -0,0 +1,34 @@
+package com.company.app.service;
+
+/**
+ * A {@link LambdaService} adding behavior around another one. Lets the decorator chain assembled from configuration be
+ * inspected, e.g. to find the decorator holding some statistics.
+ *
+ * @since 10/17/2026
+ *
+ */
+public interface LambdaServiceDecorator extends LambdaService {
+
+	/**
+	 * @return the decorated service
+	 */
+	LambdaService getTarget();
+
+	/**
+	 * Walks the decorator chain starting at the given service
+	 *
+	 * @param service outermost service of the chain
+	 * @param type decorator type to look for
+	 * @return the first decorator of the given type, or null when the chain has none
+	 */
+	static <T extends LambdaService> T find(LambdaService service, Class<T> type) {
+		LambdaService current = service;
+		while (current != null) {
+			if (type.isInstance(current)) {
+				return type.cast(current);
+			}
+			current = current instanceof LambdaServiceDecorator ? ((LambdaServiceDecorator) current).getTarget() : null;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,267 @@
+package com.company.app.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.company.app.exception.DuplicateDataException;
+import com.company.app.to.DataTo;
+import com.google.common.base.Preconditions;
+
+/**
+ * Coalesces concurrent single-record calculations into micro-batches that are run thru
+ * {@link LambdaService#calcBatch(List)}. A collector thread takes the pending records off a bounded queue and closes a
+ * batch once it reaches the maximum batch size or once the maximum wait time since its first record has elapsed. Closed
+ * batches are calculated on a small pool of batch threads; when all of them are busy the collector runs the batch
+ * itself, which pushes back on the callers thru the bounded queue: a caller waits at most offerTimeoutMillis for room
+ * in the queue and is then rejected with a {@link RejectedExecutionException}.
+ * <p>
+ * A failing batch is retried record by record thru {@link LambdaService#calc(DataTo)}, so that one bad record only
+ * fails its own caller rather than every caller of the batch. Should the collector thread die, e.g. when interrupted,
+ * the records it holds or finds queued are failed and the dispatcher stops accepting work.
+ * <p>
+ * The dispatcher is optional and only created when <code>app.dispatcher.enabled=true</code>.
+ *
+ * @since 10/17/2026
+ *
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.dispatcher", name = "enabled", havingValue = "true")
+public class MicroBatchDispatcher {
+
+    private static Logger LOG = LoggerFactory.getLogger(MicroBatchDispatcher.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final LambdaService service;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final long offerTimeoutMillis;
+    private final BlockingQueue<Pending> queue;
+    private final ExecutorService batchExecutor;
+    private final Thread collector;
+    private volatile boolean running;
+
+    @Autowired
+    public MicroBatchDispatcher(final LambdaService service,
+            @Value("${app.dispatcher.max-batch-size:64}") final int maxBatchSize,
+            @Value("${app.dispatcher.max-wait-micros:500}") final long maxWaitMicros,
+            @Value("${app.dispatcher.queue-capacity:10000}") final int queueCapacity,
+            @Value("${app.dispatcher.threads:4}") final int threads,
+            @Value("${app.dispatcher.offer-timeout-millis:100}") final long offerTimeoutMillis) {
+        Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize [%s] must be greater than zero", maxBatchSize);
+        Preconditions.checkArgument(maxWaitMicros >= 0, "maxWaitMicros [%s] must be greater than or equal to zero",
+                maxWaitMicros);
+        Preconditions.checkArgument(threads > 0, "threads [%s] must be greater than zero", threads);
+        Preconditions.checkArgument(offerTimeoutMillis >= 0,
+                "offerTimeoutMillis [%s] must be greater than or equal to zero", offerTimeoutMillis);
+        this.service = service;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.batchExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads), runnable -> {
+                    final Thread thread = new Thread(runnable, "micro-batch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.collector = new Thread(this::collect, "micro-batch-collector");
+        this.collector.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        collector.start();
+        LOG.info("Micro-batch dispatcher started [maxBatchSize={}, maxWaitNanos={}]", maxBatchSize, maxWaitNanos);
+    }
+
+    /**
+     * Stops accepting work, calculates the records still queued and waits for the in-flight batches to finish
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        collector.join();
+        final List<Pending> late = new ArrayList<>();
+        queue.drainTo(late);
+        for (final Pending pending : late) {
+            pending.result.completeExceptionally(stopped());
+        }
+        batchExecutor.shutdown();
+        batchExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        LOG.info("Micro-batch dispatcher stopped");
+    }
+
+    /**
+     * Queues a record to be calculated as part of the next micro-batch. Waits at most offerTimeoutMillis while the
+     * queue is full.
+     *
+     * @param dataTo record to calculate
+     * @return future completed with the calculated record, or exceptionally when the calculation failed, the queue
+     *         stayed full ({@link RejectedExecutionException}) or the dispatcher is stopped
+     */
+    public CompletableFuture<DataTo> submit(final DataTo dataTo) {
+        final Pending pending = new Pending(dataTo);
+        if (!running) {
+            pending.result.completeExceptionally(stopped());
+            return pending.result;
+        }
+        try {
+            if (!queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                pending.result.completeExceptionally(new RejectedExecutionException(String.format(
+                        "Micro-batch queue is still full after [%s] ms", offerTimeoutMillis)));
+                return pending.result;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.result.completeExceptionally(e);
+            return pending.result;
+        }
+        // stop() may have run between the running check and the offer, after the collector exited and the queue was
+        // drained: whoever removes the record from the queue completes it
+        if (!running && queue.remove(pending)) {
+            pending.result.completeExceptionally(stopped());
+        }
+        return pending.result;
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("Micro-batch dispatcher is stopped");
+    }
+
+    /**
+     * Blocking variant of {@link #submit(DataTo)} that rethrows the calculation failure as is
+     *
+     * @param dataTo record to calculate
+     * @return the calculated record
+     */
+    public DataTo calc(final DataTo dataTo) {
+        try {
+            return submit(dataTo).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void collect() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                final Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                final long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    final long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    final Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                final List<Pending> closedBatch = batch;
+                batch = new ArrayList<>(maxBatchSize);
+                batchExecutor.execute(() -> dispatch(closedBatch));
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Micro-batch collector interrupted with {} records queued", queue.size());
+        } finally {
+            // nothing takes the records off the queue anymore: fail them rather than leave their callers waiting
+            running = false;
+            queue.drainTo(batch);
+            for (final Pending pending : batch) {
+                pending.result.completeExceptionally(stopped());
+            }
+        }
+    }
+
+    private void dispatch(final List<Pending> batch) {
+        try {
+            calcBatch(batch);
+        } catch (final Throwable t) {
+            LOG.error("Micro-batch of {} records failed", batch.size(), t);
+            for (final Pending pending : batch) {
+                pending.result.completeExceptionally(t);
+            }
+        }
+    }
+
+    private void calcBatch(final List<Pending> batch) {
+        final List<DataTo> inputs = new ArrayList<>(batch.size());
+        for (final Pending pending : batch) {
+            inputs.add(pending.dataTo);
+        }
+        final List<DataTo> results;
+        try {
+            results = service.calcBatch(inputs);
+            if (results.size() != inputs.size()) {
+                throw new IllegalStateException(String.format("calcBatch returned [%s] results for [%s] records",
+                        results.size(), inputs.size()));
+            }
+        } catch (final RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            LOG.warn("Micro-batch of {} records failed, retrying record by record: {}", batch.size(), e.toString());
+            for (final Pending pending : batch) {
+                try {
+                    pending.result.complete(service.calc(pending.dataTo));
+                } catch (final RuntimeException recordFailure) {
+                    pending.result.completeExceptionally(recordFailure);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            final DataTo result = results.get(i);
+            if (result != null) {
+                batch.get(i).result.complete(result);
+            } else {
+                // dropped by the dedup decorator
+                batch.get(i).result.completeExceptionally(new DuplicateDataException(String.format(
+                        "DataTo id [%s] was already processed", inputs.get(i).getId())));
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final DataTo dataTo;
+        private final CompletableFuture<DataTo> result = new CompletableFuture<>();
+
+        private Pending(final DataTo dataTo) {
+            this.dataTo = dataTo;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.company.app.service;
+
+import com.company.app.to.DataTo;
+
+/**
+ * A {@link LambdaPipeline} stage able to short-circuit the pipeline. Plain {@link LambdaService} beans can be used as
+ * stages too; they never short-circuit.
+ *
+ * @since 10/17/2026
+ *
+ */
+public interface PipelineStage extends LambdaService {
+
+	/**
+	 * Called after each {@link #calc(DataTo)} of this stage
+	 *
+	 * @param result what this stage returned
+	 * @return true when the following stages must be skipped and the result returned as the pipeline result
+	 */
+	boolean halts(DataTo result);
+}
@@ -1,16 +1,54 @@
 package com.company.app.service;
 
+import java.math.BigDecimal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.company.app.to.DataTo;
+import com.company.app.util.FixedPoint;
 
 @Service
 public class SimpleLambdaService implements LambdaService {
 
+	private static final int MOVE_POINT_RIGHT = 2;
+	/**
+	 * when set, BigDecimal amounts are switched to the fixed-point representation before the calculation
+	 */
+	private final boolean fixedPoint;
+
+	public SimpleLambdaService() {
+		this(false);
+	}
+
+	@Autowired
+	public SimpleLambdaService(@Value("${app.amount.fixed-point:false}") boolean fixedPoint) {
+		this.fixedPoint = fixedPoint;
+	}
+
 	@Override
 	public DataTo calc(DataTo dataTo) {
-		
-		return DataTo.builder(dataTo).amount(dataTo.getAmount().movePointRight(2)).build();
+		if (dataTo.isFixedPointAmount()) {
+			return calcFixedPoint(dataTo, dataTo.getAmountUnscaled(), dataTo.getAmountScale());
+		}
+		final BigDecimal amount = dataTo.getAmount();
+		if (fixedPoint && FixedPoint.fitsLong(amount)) {
+			return calcFixedPoint(dataTo, FixedPoint.unscaled(amount), amount.scale());
+		}
+		return DataTo.builder(dataTo).amount(amount.movePointRight(MOVE_POINT_RIGHT)).build();
+	}
+
+	/**
+	 * Same calculation on the scaled long, falling back to BigDecimal when it overflows
+	 */
+	private DataTo calcFixedPoint(DataTo dataTo, long unscaled, int scale) {
+		try {
+			return dataTo.withFixedPointAmount(FixedPoint.movePointRightUnscaled(unscaled, scale, MOVE_POINT_RIGHT),
+					FixedPoint.movePointRightScale(scale, MOVE_POINT_RIGHT));
+		} catch (final ArithmeticException overflow) {
+			return dataTo.withAmount(FixedPoint.toBigDecimal(unscaled, scale).movePointRight(MOVE_POINT_RIGHT));
+		}
 	}
 
 }
@@ -0,0 +1,132 @@
+package com.company.app.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.company.app.exception.DuplicateDataException;
+import com.company.app.to.DataTo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Runs a stream of {@link DataTo} records thru the {@link LambdaService} without ever holding the whole batch in
+ * memory. The input is parsed incrementally with the jackson streaming parser and each result is written to the output
+ * as soon as it is calculated.
+ * <p>
+ * Two input shapes are accepted and the output mirrors the input shape:
+ * <ul>
+ * <li>a JSON array of objects, e.g. <code>[{...},{...}]</code>, answered with a JSON array</li>
+ * <li>newline delimited JSON (NDJSON), i.e. one object per line, answered with NDJSON</li>
+ * </ul>
+ * Records rejected with a {@link DuplicateDataException} are left out of the output.
+ *
+ * @since 10/17/2026
+ *
+ */
+@Service
+public class StreamingCalcService {
+
+    private static Logger LOG = LoggerFactory.getLogger(StreamingCalcService.class);
+    /**
+     * number of written records after which the generator is flushed, so results reach the client in chunks rather
+     * than at the end of the batch
+     */
+    private static final int FLUSH_EVERY_RECORDS = 1000;
+    private static final SerializedString NDJSON_SEPARATOR = new SerializedString("\n");
+
+    private final LambdaService service;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    @Autowired
+    public StreamingCalcService(final LambdaService service, final ObjectMapper objectMapper) {
+        super();
+        this.service = service;
+        this.objectMapper = objectMapper;
+        this.reader = objectMapper.readerFor(DataTo.class);
+        this.writer = objectMapper.writerFor(DataTo.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Reads {@link DataTo} records from the input stream, calculates each one as it arrives and writes the result to
+     * the output stream. Neither stream is closed by this method.
+     *
+     * @param in JSON array or NDJSON input
+     * @param out output receiving a JSON array or NDJSON, following the input shape
+     * @return number of processed records
+     * @throws IOException when the input can not be parsed or the output can not be written
+     */
+    public long calcStream(final InputStream in, final OutputStream out) throws IOException {
+        long count = 0;
+        long dropped = 0;
+        try (final JsonParser parser = createParser(in); final JsonGenerator generator = createGenerator(out)) {
+            JsonToken token = parser.nextToken();
+            final boolean isArray = token == JsonToken.START_ARRAY;
+            if (isArray) {
+                generator.writeStartArray();
+                token = parser.nextToken();
+            } else {
+                generator.setRootValueSeparator(NDJSON_SEPARATOR);
+            }
+            while (token == JsonToken.START_OBJECT) {
+                final DataTo dataTo = reader.readValue(parser);
+                try {
+                    writer.writeValue(generator, service.calc(dataTo));
+                    if (++count % FLUSH_EVERY_RECORDS == 0) {
+                        generator.flush();
+                    }
+                } catch (final DuplicateDataException e) {
+                    dropped++;
+                }
+                token = parser.nextToken();
+            }
+            if (isArray) {
+                if (token != JsonToken.END_ARRAY) {
+                    throw new JsonParseException(parser,
+                            String.format("Expected an object or the end of the array but found [%s]", token));
+                }
+                generator.writeEndArray();
+            } else if (token != null) {
+                throw new JsonParseException(parser, String.format("Expected an object but found [%s]", token));
+            }
+            generator.flush();
+        } finally {
+            LOG.info("Processed {} DataTo records in streaming mode, dropped {} duplicates", count, dropped);
+        }
+        return count;
+    }
+
+    /**
+     * @return a parser leaving the input stream open when closed
+     */
+    private JsonParser createParser(final InputStream in) throws IOException {
+        final JsonParser parser = objectMapper.getFactory().createParser(in);
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        return parser;
+    }
+
+    /**
+     * @return a generator leaving the output stream open when closed, and not completing the JSON content either, so
+     *         that a failed batch does not end with what looks like a well-formed array
+     */
+    private JsonGenerator createGenerator(final OutputStream out) throws IOException {
+        final JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        return generator;
+    }
+}
@@ -2,8 +2,10 @@ package com.company.app.to;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Objects;
 
-import com.company.app.util.DateUtil;
+import com.company.app.util.DateCodec;
+import com.company.app.util.FixedPoint;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
@@ -12,7 +14,11 @@ import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
  * Data Transfer Object used in this Demo application. This transfer object class is thread-safe because it is immutable
  * -- it does not have neither public constructors nor setters and new instances can be created only thru the static
  * inner class builder. This class anotated to allow jackson to use the builder to do marshalling and unmarshalling
- * activities.
+ * activities; when {@link DataToJsonModule} is registered, its streaming codec is used instead.
+ * <p>
+ * The amount is held either as a BigDecimal or, opt-in, as a fixed-point scaled long (see {@link FixedPoint}). The
+ * fixed-point representation lets the service path run its arithmetic on primitives; {@link #getAmount()} returns the
+ * same BigDecimal value for both representations, so the JSON wire format does not change.
  * 
  * 
  * @since 12/3/2018 8:05 AM
@@ -27,6 +33,9 @@ public class DataTo {
     private final BigDecimal amount;
     private final String customerName;
     private final String transactionType;
+    private final boolean fixedPointAmount;
+    private final long amountUnscaled;
+    private final int amountScale;
 	private DataTo(Builder builder) {
 		this.id = builder.id;
 		this.name = builder.name;
@@ -34,6 +43,42 @@ public class DataTo {
 		this.amount = builder.amount;
 		this.customerName = builder.customerName;
 		this.transactionType = builder.transactionType;
+		this.fixedPointAmount = builder.fixedPointAmount;
+		this.amountUnscaled = builder.amountUnscaled;
+		this.amountScale = builder.amountScale;
+	}
+	private DataTo(DataTo dataTo, BigDecimal amount, boolean fixedPointAmount, long amountUnscaled, int amountScale) {
+		this.id = dataTo.id;
+		this.name = dataTo.name;
+		this.date = dataTo.date;
+		this.amount = amount;
+		this.customerName = dataTo.customerName;
+		this.transactionType = dataTo.transactionType;
+		this.fixedPointAmount = fixedPointAmount;
+		this.amountUnscaled = amountUnscaled;
+		this.amountScale = amountScale;
+	}
+	private DataTo(String id, String name, LocalDate date, BigDecimal amount, String customerName,
+			String transactionType, boolean fixedPointAmount, long amountUnscaled, int amountScale) {
+		this.id = id;
+		this.name = name;
+		this.date = date;
+		this.amount = amount;
+		this.customerName = customerName;
+		this.transactionType = transactionType;
+		this.fixedPointAmount = fixedPointAmount;
+		this.amountUnscaled = amountUnscaled;
+		this.amountScale = amountScale;
+	}
+	/**
+	 * Creates an instance from its fields, without going thru a builder. Used by {@link DataToJsonModule}.
+	 * @param amount BigDecimal amount, ignored when fixedPointAmount is set
+	 * @return created instance
+	 */
+	static DataTo of(String id, String name, LocalDate date, BigDecimal amount, String customerName,
+			String transactionType, boolean fixedPointAmount, long amountUnscaled, int amountScale) {
+		return new DataTo(id, name, date, fixedPointAmount ? null : amount, customerName, transactionType,
+				fixedPointAmount, amountUnscaled, amountScale);
 	}
 	/**
 	 * Creates builder to build {@link DataTo}.
@@ -50,6 +95,23 @@ public class DataTo {
 	public static Builder builder(DataTo dataTo) {
 		return new Builder(dataTo);
 	}
+	/**
+	 * Copies this object replacing the amount, without going thru a builder.
+	 * @param amount the new amount
+	 * @return the copy
+	 */
+	public DataTo withAmount(BigDecimal amount) {
+		return new DataTo(this, amount, false, 0, 0);
+	}
+	/**
+	 * Copies this object replacing the amount by a fixed-point amount, without going thru a builder.
+	 * @param unscaled unscaled value of the new amount
+	 * @param scale scale of the new amount
+	 * @return the copy
+	 */
+	public DataTo withFixedPointAmount(long unscaled, int scale) {
+		return new DataTo(this, null, true, unscaled, scale);
+	}
 	/**
 	 * Builder to build {@link DataTo}.
 	 */
@@ -61,6 +123,9 @@ public class DataTo {
 		private BigDecimal amount;
 		private String customerName;
 		private String transactionType;
+		private boolean fixedPointAmount;
+		private long amountUnscaled;
+		private int amountScale;
 
 		private Builder() {
 		}
@@ -72,6 +137,9 @@ public class DataTo {
 			this.amount = dataTo.amount;
 			this.customerName = dataTo.customerName;
 			this.transactionType = dataTo.transactionType;
+			this.fixedPointAmount = dataTo.fixedPointAmount;
+			this.amountUnscaled = dataTo.amountUnscaled;
+			this.amountScale = dataTo.amountScale;
 		}
 
 		public Builder id(String id) {
@@ -91,6 +159,19 @@ public class DataTo {
 
 		public Builder amount(BigDecimal amount) {
 			this.amount = amount;
+			this.fixedPointAmount = false;
+			return this;
+		}
+
+		/**
+		 * Sets the amount as a fixed-point scaled long, i.e. unscaled * 10^-scale
+		 */
+		@JsonIgnore
+		public Builder fixedPointAmount(long unscaled, int scale) {
+			this.amount = null;
+			this.fixedPointAmount = true;
+			this.amountUnscaled = unscaled;
+			this.amountScale = scale;
 			return this;
 		}
 
@@ -110,12 +191,12 @@ public class DataTo {
 		
 	    @JsonIgnore
 	    public String getDateFmt1Str() {
-	        return date.format(DateUtil.DATE_FMT_MDYYYY);
+	        return DateCodec.getDefault().mdyyyy(date);
 	    }
 
 	    @JsonIgnore
 	    public String getDateFmt2Str() {
-	        return date.format(DateUtil.DATE_FMT_YYYYMMDD);
+	        return DateCodec.getDefault().yyyymmdd(date);
 	    }
 	}
 	
@@ -131,8 +212,32 @@ public class DataTo {
 	public LocalDate getDate() {
 		return date;
 	}
+	/**
+	 * @return the amount; a fixed-point amount is converted to an equivalent BigDecimal on each call
+	 */
 	public BigDecimal getAmount() {
-		return amount;
+		return fixedPointAmount ? FixedPoint.toBigDecimal(amountUnscaled, amountScale) : amount;
+	}
+	/**
+	 * @return true when the amount is held as a fixed-point scaled long
+	 */
+	@JsonIgnore
+	public boolean isFixedPointAmount() {
+		return fixedPointAmount;
+	}
+	/**
+	 * @return the unscaled value of a fixed-point amount; meaningless otherwise
+	 */
+	@JsonIgnore
+	public long getAmountUnscaled() {
+		return amountUnscaled;
+	}
+	/**
+	 * @return the scale of a fixed-point amount; meaningless otherwise
+	 */
+	@JsonIgnore
+	public int getAmountScale() {
+		return amountScale;
 	}
 	public String getCustomerName() {
 		return customerName;
@@ -140,9 +245,41 @@ public class DataTo {
 	public String getTransactionType() {
 		return transactionType;
 	}
+	/**
+	 * Value equality over all the fields. Amounts are compared like {@link BigDecimal#equals(Object)}, i.e. the scale
+	 * matters, whatever their representation.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof DataTo)) {
+			return false;
+		}
+		final DataTo other = (DataTo) obj;
+		return Objects.equals(id, other.id) && Objects.equals(name, other.name) && Objects.equals(date, other.date)
+				&& Objects.equals(customerName, other.customerName)
+				&& Objects.equals(transactionType, other.transactionType) && amountEquals(other);
+	}
+	private boolean amountEquals(DataTo other) {
+		if (fixedPointAmount && other.fixedPointAmount) {
+			return amountUnscaled == other.amountUnscaled && amountScale == other.amountScale;
+		}
+		return Objects.equals(getAmount(), other.getAmount());
+	}
+	/**
+	 * Consistent with {@link #equals(Object)}: a fixed-point amount hashes like its BigDecimal, without building it.
+	 */
+	@Override
+	public int hashCode() {
+		final int amountHash = fixedPointAmount ? FixedPoint.hashCode(amountUnscaled, amountScale)
+				: Objects.hashCode(amount);
+		return Objects.hash(id, name, date, amountHash, customerName, transactionType);
+	}
 	@Override
 	public String toString() {
-		return "DataTo [id=" + id + ", name=" + name + ", date=" + date + ", amount=" + amount + ", customerName="
+		return "DataTo [id=" + id + ", name=" + name + ", date=" + date + ", amount=" + getAmount() + ", customerName="
 				+ customerName + ", transactionType=" + transactionType + "]";
 	}
 
@@ -0,0 +1,363 @@
+package com.company.app.to;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import com.company.app.util.DateCodec;
+import com.company.app.util.FixedPoint;
+import com.company.app.util.StringDictionary;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Jackson module replacing the builder-based, reflective (de)serialization of {@link DataTo} by a hand-written
+ * streaming codec with the same JSON shape: the properties id, name, date, amount, customerName and transactionType,
+ * in that order, the date as "yyyy-MM-dd" (or [yyyy, M, d] when {@link SerializationFeature#WRITE_DATES_AS_TIMESTAMPS}
+ * is enabled) and the amount as a JSON number.
+ * <p>
+ * The deserializer matches the canonical (interned) field names, builds the instance straight from its fields and reads
+ * amount and date from the parser tokens, and canonicalizes customerName and transactionType thru the shared
+ * {@link StringDictionary} instances; with fixedPointAmounts set, amounts of up to
+ * {@value FixedPoint#MAX_LONG_PRECISION} digits are decoded from the number characters into the fixed-point
+ * representation without going thru BigDecimal. The serializer writes pre-encoded field names.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class DataToJsonModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String DATE = "date";
+    static final String AMOUNT = "amount";
+    static final String CUSTOMER_NAME = "customerName";
+    static final String TRANSACTION_TYPE = "transactionType";
+
+    public DataToJsonModule(final boolean fixedPointAmounts) {
+        super(DataToJsonModule.class.getSimpleName(), Version.unknownVersion());
+        addSerializer(DataTo.class, new Serializer());
+        final Deserializer deserializer = new Deserializer(fixedPointAmounts);
+        // the builder named by @JsonDeserialize is resolved before the deserializers added to a module are looked up,
+        // so the builder-based deserializer is replaced once built
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(final DeserializationConfig config,
+                    final BeanDescription beanDesc, final JsonDeserializer<?> builtDeserializer) {
+                final Class<?> beanClass = beanDesc.getBeanClass();
+                return beanClass == DataTo.class || beanClass == DataTo.Builder.class ? deserializer
+                        : builtDeserializer;
+            }
+        });
+    }
+
+    /**
+     * Streaming {@link DataTo} serializer writing pre-encoded field names
+     */
+    public static class Serializer extends StdSerializer<DataTo> {
+
+        private static final long serialVersionUID = 1L;
+        private static final SerializableString ID_NAME = new SerializedString(ID);
+        private static final SerializableString NAME_NAME = new SerializedString(NAME);
+        private static final SerializableString DATE_NAME = new SerializedString(DATE);
+        private static final SerializableString AMOUNT_NAME = new SerializedString(AMOUNT);
+        private static final SerializableString CUSTOMER_NAME_NAME = new SerializedString(CUSTOMER_NAME);
+        private static final SerializableString TRANSACTION_TYPE_NAME = new SerializedString(TRANSACTION_TYPE);
+
+        public Serializer() {
+            super(DataTo.class);
+        }
+
+        @Override
+        public void serialize(final DataTo value, final JsonGenerator gen, final SerializerProvider provider)
+                throws IOException {
+            final JsonInclude.Include inclusion = provider.getConfig().getDefaultPropertyInclusion()
+                    .getValueInclusion();
+            final boolean nulls = inclusion != JsonInclude.Include.NON_NULL
+                    && inclusion != JsonInclude.Include.NON_ABSENT && inclusion != JsonInclude.Include.NON_EMPTY
+                    && inclusion != JsonInclude.Include.NON_DEFAULT;
+            gen.writeStartObject(value);
+            writeString(gen, ID_NAME, value.getId(), nulls);
+            writeString(gen, NAME_NAME, value.getName(), nulls);
+            final LocalDate date = value.getDate();
+            if (date != null) {
+                gen.writeFieldName(DATE_NAME);
+                if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+                    gen.writeStartArray();
+                    gen.writeNumber(date.getYear());
+                    gen.writeNumber(date.getMonthValue());
+                    gen.writeNumber(date.getDayOfMonth());
+                    gen.writeEndArray();
+                } else {
+                    gen.writeString(DateCodec.getDefault().isoDate(date));
+                }
+            } else if (nulls) {
+                gen.writeFieldName(DATE_NAME);
+                gen.writeNull();
+            }
+            final BigDecimal amount = value.getAmount();
+            if (amount != null) {
+                gen.writeFieldName(AMOUNT_NAME);
+                gen.writeNumber(amount);
+            } else if (nulls) {
+                gen.writeFieldName(AMOUNT_NAME);
+                gen.writeNull();
+            }
+            writeString(gen, CUSTOMER_NAME_NAME, value.getCustomerName(), nulls);
+            writeString(gen, TRANSACTION_TYPE_NAME, value.getTransactionType(), nulls);
+            gen.writeEndObject();
+        }
+
+        private static void writeString(final JsonGenerator gen, final SerializableString fieldName,
+                final String value, final boolean nulls) throws IOException {
+            if (value != null) {
+                gen.writeFieldName(fieldName);
+                gen.writeString(value);
+            } else if (nulls) {
+                gen.writeFieldName(fieldName);
+                gen.writeNull();
+            }
+        }
+    }
+
+    /**
+     * Streaming {@link DataTo} deserializer building the instance without a builder
+     */
+    public static class Deserializer extends StdDeserializer<DataTo> {
+
+        private static final long serialVersionUID = 1L;
+        private static final int ISO_DATE_LENGTH = 10;
+
+        private final boolean fixedPointAmounts;
+
+        public Deserializer(final boolean fixedPointAmounts) {
+            super(DataTo.class);
+            this.fixedPointAmounts = fixedPointAmounts;
+        }
+
+        @Override
+        public DataTo deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            String field;
+            if (p.isExpectedStartObjectToken()) {
+                field = p.nextFieldName();
+            } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+                field = p.getCurrentName();
+            } else {
+                return (DataTo) ctxt.handleUnexpectedToken(DataTo.class, p);
+            }
+            String id = null;
+            String name = null;
+            LocalDate date = null;
+            BigDecimal amount = null;
+            String customerName = null;
+            String transactionType = null;
+            final Amount fixedPoint = new Amount();
+            for (; field != null; field = p.nextFieldName()) {
+                final JsonToken token = p.nextToken();
+                switch (field) {
+                case ID:
+                    id = string(p, ctxt, token);
+                    break;
+                case NAME:
+                    name = string(p, ctxt, token);
+                    break;
+                case DATE:
+                    date = date(p, ctxt, token);
+                    break;
+                case AMOUNT:
+                    fixedPoint.isSet = false;
+                    amount = null;
+                    if (fixedPointAmounts && (token == JsonToken.VALUE_NUMBER_INT
+                            || token == JsonToken.VALUE_NUMBER_FLOAT) && fixedPoint.parse(p)) {
+                        break;
+                    }
+                    amount = amount(p, ctxt, token);
+                    break;
+                case CUSTOMER_NAME:
+                    customerName = string(p, ctxt, token, StringDictionary.CUSTOMER_NAMES);
+                    break;
+                case TRANSACTION_TYPE:
+                    transactionType = string(p, ctxt, token, StringDictionary.TRANSACTION_TYPES);
+                    break;
+                default:
+                    handleUnknownProperty(p, ctxt, DataTo.class, field);
+                }
+            }
+            return DataTo.of(id, name, date, amount, customerName, transactionType, fixedPoint.isSet,
+                    fixedPoint.unscaled, fixedPoint.scale);
+        }
+
+        private static String string(final JsonParser p, final DeserializationContext ctxt, final JsonToken token)
+                throws IOException {
+            if (token == JsonToken.VALUE_STRING) {
+                return p.getText();
+            }
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token.isScalarValue()) {
+                return p.getValueAsString();
+            }
+            return (String) ctxt.handleUnexpectedToken(String.class, p);
+        }
+
+        /**
+         * Reads a low-cardinality string as the canonical instance of the dictionary, straight from the token chars
+         */
+        private static String string(final JsonParser p, final DeserializationContext ctxt, final JsonToken token,
+                final StringDictionary dictionary) throws IOException {
+            if (token == JsonToken.VALUE_STRING) {
+                return dictionary.intern(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            }
+            return dictionary.intern(string(p, ctxt, token));
+        }
+
+        private static BigDecimal amount(final JsonParser p, final DeserializationContext ctxt, final JsonToken token)
+                throws IOException {
+            switch (token) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return p.getDecimalValue();
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                final String text = p.getText().trim();
+                if (text.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return new BigDecimal(text);
+                } catch (final NumberFormatException e) {
+                    return (BigDecimal) ctxt.handleWeirdStringValue(BigDecimal.class, text, "not a valid amount");
+                }
+            default:
+                return (BigDecimal) ctxt.handleUnexpectedToken(BigDecimal.class, p);
+            }
+        }
+
+        private static LocalDate date(final JsonParser p, final DeserializationContext ctxt, final JsonToken token)
+                throws IOException {
+            switch (token) {
+            case VALUE_STRING:
+                return isoDate(p, ctxt);
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+                try {
+                    return LocalDate.ofEpochDay(p.getLongValue());
+                } catch (final DateTimeException e) {
+                    return (LocalDate) ctxt.handleWeirdNumberValue(LocalDate.class, p.getNumberValue(),
+                            e.getMessage());
+                }
+            case START_ARRAY:
+                final int year = p.nextIntValue(-1);
+                final int month = p.nextIntValue(-1);
+                final int day = p.nextIntValue(-1);
+                if (p.nextToken() != JsonToken.END_ARRAY || year < 0 || month < 0 || day < 0) {
+                    return (LocalDate) ctxt.handleUnexpectedToken(LocalDate.class, p);
+                }
+                try {
+                    return LocalDate.of(year, month, day);
+                } catch (final DateTimeException e) {
+                    return ctxt.reportInputMismatch(LocalDate.class, "[%s,%s,%s] is not a valid date: %s", year,
+                            month, day, e.getMessage());
+                }
+            default:
+                return (LocalDate) ctxt.handleUnexpectedToken(LocalDate.class, p);
+            }
+        }
+
+        /**
+         * Decodes "yyyy-MM-dd" straight from the token characters thru {@link DateCodec}, falling back to
+         * {@link LocalDate#parse} otherwise
+         */
+        private static LocalDate isoDate(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            final char[] chars = p.getTextCharacters();
+            final int offset = p.getTextOffset();
+            if (p.getTextLength() == ISO_DATE_LENGTH && chars[offset + 4] == '-' && chars[offset + 7] == '-') {
+                try {
+                    final LocalDate date = DateCodec.getDefault().parse(chars, offset, ISO_DATE_LENGTH);
+                    // the codec resolves days past the end of the month to its last day, LocalDate.parse rejects them
+                    if (date.getDayOfMonth() != (chars[offset + 8] - '0') * 10 + chars[offset + 9] - '0') {
+                        return (LocalDate) ctxt.handleWeirdStringValue(LocalDate.class, p.getText(),
+                                "day is past the end of the month");
+                    }
+                    return date;
+                } catch (final DateTimeException e) {
+                    return (LocalDate) ctxt.handleWeirdStringValue(LocalDate.class, p.getText(), e.getMessage());
+                }
+            }
+            final String text = p.getText().trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(text);
+            } catch (final DateTimeParseException e) {
+                return (LocalDate) ctxt.handleWeirdStringValue(LocalDate.class, text, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Fixed-point amount decoded from the characters of a JSON number token
+     */
+    private static final class Amount {
+        private boolean isSet;
+        private long unscaled;
+        private int scale;
+
+        /**
+         * @return false when the number has an exponent or more than {@link FixedPoint#MAX_LONG_PRECISION} digits
+         */
+        private boolean parse(final JsonParser p) throws IOException {
+            final char[] chars = p.getTextCharacters();
+            final int end = p.getTextOffset() + p.getTextLength();
+            int i = p.getTextOffset();
+            final boolean negative = chars[i] == '-';
+            if (negative) {
+                i++;
+            }
+            long value = 0;
+            int digits = 0;
+            int pointAt = -1;
+            for (; i < end; i++) {
+                final char c = chars[i];
+                if (c == '.' && pointAt < 0) {
+                    pointAt = digits;
+                } else if (c >= '0' && c <= '9') {
+                    if (++digits > FixedPoint.MAX_LONG_PRECISION) {
+                        return false;
+                    }
+                    value = value * 10 + (c - '0');
+                } else {
+                    return false;
+                }
+            }
+            unscaled = negative ? -value : value;
+            scale = pointAt < 0 ? 0 : digits - pointAt;
+            isSet = true;
+            return true;
+        }
+    }
+}
@@ -33,6 +33,7 @@ public abstract class Const {
     public static final String PIPE = "|";
     public static final String NULL = "_NULL_";
     public static final String YES_FLAG = "Y";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
     public static final String NO_FLAG = "N";
     //
     public static final MathContext AMT_MATH_CTX = new MathContext(2, RoundingMode.HALF_UP);
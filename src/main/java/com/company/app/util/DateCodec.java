@@ -0,0 +1,347 @@
+package com.company.app.util;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Parses and formats the {@link Const#MDYYYY} and {@link Const#YYYYMMDD} date layouts without going thru a
+ * DateTimeFormatter.
+ * <p>
+ * Parsing reads the digits straight from the characters or bytes into the year, month and day, validates them and
+ * computes the epoch day. Within the cache window, the LocalDate instances and both formatted strings are cached in
+ * arrays indexed by epoch day, so parsing or formatting a date of the window allocates nothing once the date has been
+ * seen. The cache arrays are filled lazily; a race between two threads filling the same slot only costs a duplicate,
+ * equal value. Outside the window, the results are computed on each call and equal those of {@link DateUtil}
+ * formatters.
+ * <p>
+ * Instances are thread-safe. {@link #getDefault()} is used by {@link com.company.app.to.DataTo}, the CSV reader and the
+ * JSON codec; its window can be replaced at startup thru {@link #setDefault(DateCodec)}.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class DateCodec {
+
+    public static final LocalDate DEFAULT_WINDOW_FROM = LocalDate.of(1900, 1, 1);
+    public static final LocalDate DEFAULT_WINDOW_TO = LocalDate.of(2099, 12, 31);
+    /**
+     * about 2900 years
+     */
+    public static final int MAX_WINDOW_DAYS = 1 << 20;
+    private static final int DAYS_0000_TO_1970 = 719528;
+    private static final String INVALID_DATE = "Invalid date [%s]";
+    private static final int MAX_PART_DIGITS = 4;
+    private static final int YEAR_DIGITS = 4;
+    private static final int MAX_DAY_OF_MONTH = 31;
+    private static final int DIGITS_SHIFT = 14;
+    private static final int VALUE_MASK = (1 << DIGITS_SHIFT) - 1;
+    private static final int PART_BITS = DIGITS_SHIFT + 3;
+    private static final int PART_MASK = (1 << PART_BITS) - 1;
+    private static final int PART_SHIFT = 3 * PART_BITS;
+    private static final int ISO_SHIFT = PART_SHIFT + 2;
+    private static volatile DateCodec defaultCodec = builder().build();
+
+    private final long fromEpochDay;
+    private final LocalDate[] dates;
+    private final String[] mdyyyy;
+    private final String[] yyyymmdd;
+
+    private DateCodec(final Builder builder) {
+        this.fromEpochDay = builder.from.toEpochDay();
+        final int days = (int) (builder.to.toEpochDay() - fromEpochDay + 1);
+        this.dates = new LocalDate[days];
+        this.mdyyyy = new String[days];
+        this.yyyymmdd = new String[days];
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static DateCodec getDefault() {
+        return defaultCodec;
+    }
+
+    /**
+     * Replaces the codec returned by {@link #getDefault()}, e.g. to change the cache window
+     */
+    public static void setDefault(final DateCodec codec) {
+        Preconditions.checkArgument(codec != null, "codec must be set");
+        defaultCodec = codec;
+    }
+
+    /**
+     * @return the date of the epoch day, cached within the window
+     */
+    public LocalDate date(final long epochDay) {
+        final int index = index(epochDay);
+        if (index < 0) {
+            return LocalDate.ofEpochDay(epochDay);
+        }
+        LocalDate date = dates[index];
+        if (date == null) {
+            date = LocalDate.ofEpochDay(epochDay);
+            dates[index] = date;
+        }
+        return date;
+    }
+
+    /**
+     * @return the date formatted as {@link Const#MDYYYY}
+     */
+    public String mdyyyy(final LocalDate date) {
+        final int index = index(date.toEpochDay());
+        if (index < 0) {
+            return date.format(DateUtil.DATE_FMT_MDYYYY);
+        }
+        String str = mdyyyy[index];
+        if (str == null) {
+            str = format(date, false);
+            mdyyyy[index] = str;
+        }
+        return str;
+    }
+
+    /**
+     * @return the date formatted as {@link Const#YYYYMMDD}
+     */
+    public String yyyymmdd(final LocalDate date) {
+        final int index = index(date.toEpochDay());
+        if (index < 0) {
+            return date.format(DateUtil.DATE_FMT_YYYYMMDD);
+        }
+        return cachedYyyymmdd(date, index);
+    }
+
+    /**
+     * @return the date formatted like {@link LocalDate#toString()}, which is {@link Const#YYYYMMDD} within the window
+     */
+    public String isoDate(final LocalDate date) {
+        final int index = index(date.toEpochDay());
+        return index < 0 ? date.toString() : cachedYyyymmdd(date, index);
+    }
+
+    private String cachedYyyymmdd(final LocalDate date, final int index) {
+        String str = yyyymmdd[index];
+        if (str == null) {
+            str = format(date, true);
+            yyyymmdd[index] = str;
+        }
+        return str;
+    }
+
+    /**
+     * Parses a {@link Const#MDYYYY} date, or a {@link Const#YYYYMMDD} one when the first separator is '-', with the
+     * same results as the {@link DateUtil} formatters: a 4-digit year, 2-digit month and day in {@link Const#YYYYMMDD},
+     * and days 29 to 31 past the end of the month resolved to its last day, e.g. 2/30/2018 is 2/28/2018. Month and day
+     * of more than 4 digits, i.e. with extra leading zeros, are rejected.
+     *
+     * @param text date text, without surrounding spaces
+     * @return the date, cached within the window
+     * @throws DateTimeException when the text is not a valid date
+     */
+    public LocalDate parse(final CharSequence text) {
+        long state = 0;
+        final int length = text.length();
+        for (int i = 0; i < length && state >= 0; i++) {
+            state = accept(state, text.charAt(i));
+        }
+        return toDate(state, text);
+    }
+
+    /**
+     * Same as {@link #parse(CharSequence)} over chars[offset, offset + length)
+     */
+    public LocalDate parse(final char[] chars, final int offset, final int length) {
+        long state = 0;
+        for (int i = offset; i < offset + length && state >= 0; i++) {
+            state = accept(state, chars[i]);
+        }
+        return state >= 0 && complete(state) ? toDate(state, null)
+                : toDate(state, new String(chars, offset, length));
+    }
+
+    /**
+     * Same as {@link #parse(CharSequence)} over the ASCII bytes [from, to) of the buffer, read with absolute gets
+     */
+    public LocalDate parse(final ByteBuffer buffer, final int from, final int to) {
+        long state = 0;
+        for (int i = from; i < to && state >= 0; i++) {
+            state = accept(state, (char) buffer.get(i));
+        }
+        return toDate(state, null);
+    }
+
+    /**
+     * The parse state packs, for each of the three parts, its value and digit count, then the current part and
+     * whether the first separator is '-', so that parsing allocates nothing. A negative state means invalid
+     */
+    private static long accept(final long state, final char c) {
+        final int part = (int) (state >>> PART_SHIFT) & 3;
+        final int shift = part * PART_BITS;
+        final int field = (int) (state >>> shift) & PART_MASK;
+        final int digits = field >>> DIGITS_SHIFT;
+        if (c >= '0' && c <= '9') {
+            if (digits == MAX_PART_DIGITS) {
+                return -1;
+            }
+            final int value = (field & VALUE_MASK) * 10 + (c - '0');
+            return state & ~((long) PART_MASK << shift) | (long) ((digits + 1) << DIGITS_SHIFT | value) << shift;
+        }
+        if ((c == '/' || c == '-') && part < 2 && digits > 0) {
+            final boolean iso = c == '-';
+            if (part == 0) {
+                return (iso ? state | 1L << ISO_SHIFT : state) + (1L << PART_SHIFT);
+            }
+            // the second separator must be the first one
+            return iso == ((state >>> ISO_SHIFT & 1) != 0) ? state + (1L << PART_SHIFT) : -1;
+        }
+        return -1;
+    }
+
+    private static boolean complete(final long state) {
+        return ((int) (state >>> PART_SHIFT) & 3) == 2 && digits(state, 2) > 0;
+    }
+
+    private static int value(final long state, final int part) {
+        return (int) (state >>> part * PART_BITS) & PART_MASK;
+    }
+
+    private static int digits(final long state, final int part) {
+        return value(state, part) >>> DIGITS_SHIFT;
+    }
+
+    private LocalDate toDate(final long state, final CharSequence text) {
+        if (state < 0 || !complete(state)) {
+            throw new DateTimeException(text == null ? "Invalid date" : String.format(INVALID_DATE, text));
+        }
+        final boolean iso = (state >>> ISO_SHIFT & 1) != 0;
+        final int first = value(state, 0) & VALUE_MASK;
+        final int second = value(state, 1) & VALUE_MASK;
+        final int third = value(state, 2) & VALUE_MASK;
+        final int year = iso ? first : third;
+        final int month = iso ? second : first;
+        final int day = iso ? third : second;
+        // year of era, so year 0 is not valid
+        if (year < 1 || digits(state, iso ? 0 : 2) != YEAR_DIGITS
+                || iso && (digits(state, 1) != 2 || digits(state, 2) != 2)) {
+            throw new DateTimeException(text == null ? "Invalid date" : String.format(INVALID_DATE, text));
+        }
+        if (month < 1 || month > 12 || day < 1 || day > MAX_DAY_OF_MONTH) {
+            // throws with the same message as for any other invalid date
+            return LocalDate.of(year, month, day);
+        }
+        // like the formatters' smart resolver, days 29 to 31 past the end of the month resolve to its last day
+        return date(epochDay(year, month, Math.min(day, lengthOfMonth(year, month))));
+    }
+
+    private int index(final long epochDay) {
+        final long index = epochDay - fromEpochDay;
+        return index >= 0 && index < dates.length ? (int) index : -1;
+    }
+
+    private static boolean isLeapYear(final long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        switch (month) {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    /**
+     * Epoch day of a valid date, computed like {@link LocalDate#toEpochDay()}
+     */
+    static long epochDay(final int year, final int month, final int day) {
+        final long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Formats a date of a year between 1 and 9999 as yyyy-MM-dd or M/d/yyyy
+     */
+    private static String format(final LocalDate date, final boolean iso) {
+        final char[] chars = new char[10];
+        int pos = 0;
+        final int year = date.getYear();
+        final int month = date.getMonthValue();
+        final int day = date.getDayOfMonth();
+        if (iso) {
+            pos = putDigits(chars, pos, year, 4);
+            chars[pos++] = '-';
+            pos = putDigits(chars, pos, month, 2);
+            chars[pos++] = '-';
+            pos = putDigits(chars, pos, day, 2);
+        } else {
+            pos = putDigits(chars, pos, month, month < 10 ? 1 : 2);
+            chars[pos++] = '/';
+            pos = putDigits(chars, pos, day, day < 10 ? 1 : 2);
+            chars[pos++] = '/';
+            pos = putDigits(chars, pos, year, 4);
+        }
+        return new String(chars, 0, pos);
+    }
+
+    private static int putDigits(final char[] chars, final int pos, int value, final int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+
+    public static class Builder {
+
+        private LocalDate from = DEFAULT_WINDOW_FROM;
+        private LocalDate to = DEFAULT_WINDOW_TO;
+
+        public Builder() {
+            // this constructor is needed. Invoked by the static DateCodec build method
+        }
+
+        /**
+         * Closed range of the cached dates. Defaults to 1/1/1900 to 12/31/2099
+         */
+        public Builder window(final LocalDate from, final LocalDate to) {
+            this.from = from;
+            this.to = to;
+            return this;
+        }
+
+        public DateCodec build() {
+            Preconditions.checkArgument(from != null && to != null && !from.isAfter(to),
+                    "window [%s, %s] is not valid", from, to);
+            Preconditions.checkArgument(from.getYear() >= 1 && to.getYear() <= 9999,
+                    "window [%s, %s] must be within years 1 and 9999", from, to);
+            Preconditions.checkArgument(to.toEpochDay() - from.toEpochDay() < MAX_WINDOW_DAYS,
+                    "window [%s, %s] must not exceed [%s] days", from, to, MAX_WINDOW_DAYS);
+            return new DateCodec(this);
+        }
+    }
+}
@@ -0,0 +1,565 @@
+package com.company.app.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.company.app.exception.AppFileReadException;
+import com.company.app.exception.AppFileWriteException;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+
+/**
+ * Remembers the ids seen during a retention window, to tell new ids from duplicates, with a memory footprint that
+ * allows hundreds of millions of ids.
+ * <p>
+ * An id is kept as its 64-bit murmur3 hash, so two distinct ids are mistaken for one another only on a hash
+ * collision. The hashes are split into generations, newest first. Each generation holds an exact {@link LongHashSet}
+ * (16 bytes per id, off-heap by default) and a Bloom filter of about 10 bits per id at the default fpp of 1%; a
+ * lookup probes the set of a generation only when its Bloom filter reports a possible match, so new ids, the common
+ * case, are mostly answered from the filters. Like a scalable Bloom filter, a generation that fills up before its time
+ * span is followed by one twice as large.
+ * <p>
+ * A new generation is started every retention / generations; a generation is dropped once its last id is older than
+ * the retention, so every id is remembered for at least the retention. When a file is set, the index is loaded from it
+ * on creation and saved to it on {@link #close()} and every snapshot interval; only the hashes are saved and the Bloom
+ * filters are rebuilt on load. Saving only marks the generations under the index lock and writes their sets outside
+ * of it; an id added to or removed from a generation while a snapshot is being written makes that generation copy its
+ * set first, so the snapshot stays consistent and the lock is never held for a copy made ahead of need.
+ * <p>
+ * Off-heap sets and filters are direct buffers, freed only once the garbage collector reclaims the expired
+ * generations: -XX:MaxDirectMemorySize must leave room for them as well as for the live ones.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class DedupIndex implements Closeable {
+
+    private static Logger LOG = LoggerFactory.getLogger(DedupIndex.class);
+    private static final int MAGIC = 0x44445831; // "DDX1"
+    private static final int VERSION = 1;
+    /**
+     * 6-bit slices of a 64-bit hash
+     */
+    private static final int MAX_BLOOM_HASHES = 10;
+
+    private final long retentionMillis;
+    private final long generationMillis;
+    private final int expectedIds;
+    private final double fpp;
+    private final boolean offHeap;
+    private final Path file;
+    private final ScheduledExecutorService snapshots;
+    /**
+     * newest first
+     */
+    private final Deque<Generation> generations = new ArrayDeque<>();
+    /**
+     * serializes the saves, which write the file outside of the index lock
+     */
+    private final Object saveLock = new Object();
+    private long addedCount;
+    private long duplicateCount;
+    private long bloomFalsePositiveCount;
+
+    private DedupIndex(final Builder builder) {
+        this.retentionMillis = builder.retentionMillis;
+        this.generationMillis = Math.max(1, builder.retentionMillis / builder.generations);
+        this.expectedIds = builder.expectedIds;
+        this.fpp = builder.fpp;
+        this.offHeap = builder.offHeap;
+        this.file = builder.path == null ? null : Paths.get(builder.path);
+        if (file != null && Files.exists(file)) {
+            load();
+        }
+        if (file != null && builder.snapshotIntervalMillis > 0) {
+            this.snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "dedup-index-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshots.scheduleWithFixedDelay(this::saveQuietly, builder.snapshotIntervalMillis,
+                    builder.snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.snapshots = null;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the 64-bit hash the id is remembered by, never 0 nor {@link Long#MIN_VALUE}
+     */
+    public static long hash(final String id) {
+        final long hash = Hashing.murmur3_128().hashUnencodedChars(id).asLong();
+        return LongHashSet.isValidKey(hash) ? hash : 1;
+    }
+
+    /**
+     * Remembers the id unless it was seen within the retention window
+     *
+     * @return true when the id is new, false for a duplicate
+     */
+    public synchronized boolean add(final String id) {
+        final long hash = hash(id);
+        final long now = System.currentTimeMillis();
+        expire(now);
+        if (find(hash) != null) {
+            duplicateCount++;
+            return false;
+        }
+        writable(current(now)).add(hash, now);
+        addedCount++;
+        return true;
+    }
+
+    public synchronized boolean contains(final String id) {
+        expire(System.currentTimeMillis());
+        return find(hash(id)) != null;
+    }
+
+    /**
+     * Forgets the id, e.g. when its processing failed and a retry must not be taken for a duplicate. The id may still
+     * match the Bloom filters, which only costs an exact lookup.
+     *
+     * @return true when the id was remembered
+     */
+    public boolean remove(final String id) {
+        return removeHash(hash(id));
+    }
+
+    /**
+     * {@link #remove(String)} by the {@link #hash(String)} of the id, e.g. for ids collected as hashes
+     *
+     * @return true when the id was remembered
+     */
+    public synchronized boolean removeHash(final long hash) {
+        final Generation generation = find(hash);
+        if (generation == null) {
+            return false;
+        }
+        return writable(generation).ids.remove(hash);
+    }
+
+    /**
+     * @return the generation, with its own copy of the set when the snapshot being written holds the current one
+     */
+    private Generation writable(final Generation generation) {
+        if (generation.saving) {
+            generation.ids = generation.ids.copy();
+            generation.saving = false;
+        }
+        return generation;
+    }
+
+    private Generation find(final long hash) {
+        for (final Generation generation : generations) {
+            if (generation.mightContain(hash)) {
+                if (generation.ids.contains(hash)) {
+                    return generation;
+                }
+                bloomFalsePositiveCount++;
+            }
+        }
+        return null;
+    }
+
+    private Generation current(final long now) {
+        Generation current = generations.peekFirst();
+        if (current == null || now - current.createdMillis >= generationMillis || current.ids.isFull()) {
+            final int capacity = current != null && current.ids.isFull()
+                    ? Math.min(2 * current.ids.getMaxEntries(), LongHashSet.MAX_ENTRIES) : expectedIds;
+            current = new Generation(capacity, now, now);
+            generations.addFirst(current);
+        }
+        return current;
+    }
+
+    private void expire(final long now) {
+        while (!generations.isEmpty() && generations.peekLast().lastAddMillis <= now - retentionMillis) {
+            final Generation expired = generations.removeLast();
+            LOG.info("Dropped expired dedup generation of {} ids created at {}", expired.ids.size(),
+                    expired.createdMillis);
+        }
+    }
+
+    /**
+     * Writes the index to its file, thru a temp file renamed once complete
+     */
+    public void save() {
+        Preconditions.checkState(file != null, "no file set");
+        synchronized (saveLock) {
+            final List<Snapshot> snapshot = snapshot();
+            try {
+                write(snapshot);
+            } finally {
+                release(snapshot);
+            }
+            long size = 0;
+            for (final Snapshot generation : snapshot) {
+                size += generation.ids.size();
+            }
+            LOG.info("Saved {} dedup ids in {} generations to [{}]", size, snapshot.size(), file);
+        }
+    }
+
+    /**
+     * @return the generations, oldest first, each one marked as saving until released so that it is copied before its
+     *         next change
+     */
+    private synchronized List<Snapshot> snapshot() {
+        final List<Snapshot> snapshot = new ArrayList<>(generations.size());
+        for (final Iterator<Generation> it = generations.descendingIterator(); it.hasNext();) {
+            final Generation generation = it.next();
+            generation.saving = true;
+            snapshot.add(new Snapshot(generation, generation.ids));
+        }
+        return snapshot;
+    }
+
+    private synchronized void release(final List<Snapshot> snapshot) {
+        for (final Snapshot generation : snapshot) {
+            generation.generation.saving = false;
+        }
+    }
+
+    private void write(final List<Snapshot> snapshot) {
+        final Path tempPath = Paths.get(FileMetadata.PERIOD_JOINER.join(file.toString(), FileMetadata.TMP_EXT));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                    tempPath), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(snapshot.size());
+                // oldest first, so that loading can add them in order
+                for (final Snapshot generation : snapshot) {
+                    out.writeLong(generation.createdMillis);
+                    out.writeLong(generation.lastAddMillis);
+                    out.writeInt(generation.ids.getMaxEntries());
+                    out.writeInt(generation.ids.size());
+                    final IOException[] failure = new IOException[1];
+                    generation.ids.forEach(hash -> {
+                        if (failure[0] == null) {
+                            try {
+                                out.writeLong(hash);
+                            } catch (final IOException e) {
+                                failure[0] = e;
+                            }
+                        }
+                    });
+                    if (failure[0] != null) {
+                        throw failure[0];
+                    }
+                }
+            }
+            Files.move(tempPath, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            throw new AppFileWriteException(String.format("Exception while writing a file [%s]", file), e);
+        }
+    }
+
+    private void saveQuietly() {
+        try {
+            save();
+        } catch (final RuntimeException e) {
+            LOG.error("Dedup index snapshot failed", e);
+        }
+    }
+
+    private void load() {
+        final long now = System.currentTimeMillis();
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file),
+                1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new AppFileReadException(String.format("File [%s] is not a %s file", file,
+                        DedupIndex.class.getSimpleName()));
+            }
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final long createdMillis = in.readLong();
+                final long lastAddMillis = in.readLong();
+                final int maxEntries = in.readInt();
+                final int size = in.readInt();
+                final boolean expired = lastAddMillis <= now - retentionMillis;
+                final Generation generation = expired ? null
+                        : new Generation(maxEntries, createdMillis, lastAddMillis);
+                for (int j = 0; j < size; j++) {
+                    final long hash = in.readLong();
+                    if (generation != null) {
+                        generation.add(hash, lastAddMillis);
+                    }
+                }
+                if (generation != null) {
+                    generations.addFirst(generation);
+                }
+            }
+        } catch (final IOException e) {
+            throw new AppFileReadException(String.format("Exception while reading a file [%s]", file), e);
+        }
+        LOG.info("Loaded {} dedup ids in {} generations from [{}]", getSize(), generations.size(), file);
+    }
+
+    /**
+     * Stops the snapshots and saves the index when a file is set
+     */
+    @Override
+    public void close() {
+        if (snapshots != null) {
+            snapshots.shutdownNow();
+        }
+        if (file != null) {
+            save();
+        }
+    }
+
+    /**
+     * @return number of remembered ids
+     */
+    public synchronized long getSize() {
+        long size = 0;
+        for (final Generation generation : generations) {
+            size += generation.ids.size();
+        }
+        return size;
+    }
+
+    public synchronized int getGenerationCount() {
+        return generations.size();
+    }
+
+    /**
+     * @return number of new ids added since creation
+     */
+    public synchronized long getAddedCount() {
+        return addedCount;
+    }
+
+    /**
+     * @return number of duplicates reported since creation
+     */
+    public synchronized long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    /**
+     * @return number of exact lookups made because of a Bloom filter false positive
+     */
+    public synchronized long getBloomFalsePositiveCount() {
+        return bloomFalsePositiveCount;
+    }
+
+    /**
+     * @return size of the sets and Bloom filters of all the generations
+     */
+    public synchronized long getBytes() {
+        long bytes = 0;
+        for (final Generation generation : generations) {
+            bytes += generation.ids.getBytes() + generation.bloomWords * (long) Long.BYTES;
+        }
+        return bytes;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    @Override
+    public String toString() {
+        return "DedupIndex [size=" + getSize() + ", generations=" + getGenerationCount() + ", duplicateCount="
+                + getDuplicateCount() + ", file=" + file + "]";
+    }
+
+    /**
+     * Ids added during one time span, with the Bloom filter fronting them. The Bloom filter is blocked: the hashCount
+     * bits of an id all fall in the same 64-bit word, so a lookup costs a single memory access, for a slightly higher
+     * false positive rate than a classic filter of the same size
+     */
+    private final class Generation {
+        /**
+         * replaced by a copy when an id is added or removed while a snapshot holds the set
+         */
+        private LongHashSet ids;
+        private final LongBuffer bloom;
+        private final int bloomWords;
+        private final int hashCount;
+        private final long createdMillis;
+        private long lastAddMillis;
+        /**
+         * whether a snapshot being written holds the set
+         */
+        private boolean saving;
+
+        private Generation(final int maxEntries, final long createdMillis, final long lastAddMillis) {
+            this.ids = new LongHashSet(maxEntries, offHeap);
+            // optimal Bloom filter size and hash count for maxEntries ids at the fpp
+            final double bitsPerId = -Math.log(fpp) / (Math.log(2) * Math.log(2));
+            this.bloomWords = (int) Math.max(1, Math.ceil(maxEntries * bitsPerId / Long.SIZE));
+            this.bloom = offHeap ? ByteBuffer.allocateDirect(bloomWords * Long.BYTES).order(ByteOrder.nativeOrder())
+                    .asLongBuffer() : LongBuffer.allocate(bloomWords);
+            this.hashCount = (int) Math.max(1, Math.min(MAX_BLOOM_HASHES, Math.round(bitsPerId * Math.log(2))));
+            this.createdMillis = createdMillis;
+            this.lastAddMillis = lastAddMillis;
+        }
+
+        private void add(final long hash, final long now) {
+            ids.add(hash);
+            final int word = word(hash);
+            bloom.put(word, bloom.get(word) | bits(hash));
+            lastAddMillis = now;
+        }
+
+        private boolean mightContain(final long hash) {
+            final long bits = bits(hash);
+            return (bloom.get(word(hash)) & bits) == bits;
+        }
+
+        /**
+         * the high half of the hash picks the word, i.e. a multiply-shift reduction to [0, bloomWords)
+         */
+        private int word(final long hash) {
+            return (int) (((hash >>> 32) * bloomWords) >>> 32);
+        }
+
+        /**
+         * the bits within the word come from 6-bit slices of the remixed hash
+         */
+        private long bits(final long hash) {
+            final long mixed = hash * 0x9E3779B97F4A7C15L;
+            long bits = 0;
+            for (int i = 0; i < hashCount; i++) {
+                bits |= 1L << (mixed >>> (i * 6));
+            }
+            return bits;
+        }
+    }
+
+    /**
+     * A generation as saved: its set, which no longer changes, and its times as of the snapshot
+     */
+    private static final class Snapshot {
+        private final Generation generation;
+        private final LongHashSet ids;
+        private final long createdMillis;
+        private final long lastAddMillis;
+
+        private Snapshot(final Generation generation, final LongHashSet ids) {
+            this.generation = generation;
+            this.ids = ids;
+            this.createdMillis = generation.createdMillis;
+            this.lastAddMillis = generation.lastAddMillis;
+        }
+    }
+
+    public static class Builder {
+
+        private long retentionMillis = TimeUnit.HOURS.toMillis(24);
+        private int generations = 4;
+        private int expectedIds = 1 << 20;
+        private double fpp = 0.01;
+        private boolean offHeap = true;
+        private String path;
+        private long snapshotIntervalMillis;
+
+        public Builder() {
+            // this constructor is needed. Invoked by the static DedupIndex build method
+        }
+
+        /**
+         * Minimum time an id is remembered. Defaults to 24 hours
+         */
+        public Builder retention(final long retention, final TimeUnit unit) {
+            this.retentionMillis = unit.toMillis(retention);
+            return this;
+        }
+
+        /**
+         * Number of generations the retention is split into, i.e. ids are dropped by 1/generations of the retention.
+         * Defaults to 4
+         */
+        public Builder generations(final int generations) {
+            this.generations = generations;
+            return this;
+        }
+
+        /**
+         * Number of ids a generation is sized for; a generation filling up is followed by a twice larger one.
+         * Defaults to 2^20
+         */
+        public Builder expectedIds(final int expectedIds) {
+            this.expectedIds = expectedIds;
+            return this;
+        }
+
+        /**
+         * False positive rate of the Bloom filters. Defaults to 0.01
+         */
+        public Builder fpp(final double fpp) {
+            this.fpp = fpp;
+            return this;
+        }
+
+        /**
+         * Whether the sets and Bloom filters live in direct buffers outside of the heap. Defaults to true
+         */
+        public Builder offHeap(final boolean offHeap) {
+            this.offHeap = offHeap;
+            return this;
+        }
+
+        /**
+         * File the index is loaded from and saved to. Defaults to none, i.e. the index does not survive restarts
+         */
+        public Builder path(final String path) {
+            this.path = path == null || path.trim().isEmpty() ? null : FileMetadata.fixPath(path);
+            return this;
+        }
+
+        /**
+         * Interval between two saves besides the one on close. Defaults to 0, i.e. only on close
+         */
+        public Builder snapshotInterval(final long interval, final TimeUnit unit) {
+            this.snapshotIntervalMillis = unit.toMillis(interval);
+            return this;
+        }
+
+        public DedupIndex build() {
+            Preconditions.checkArgument(retentionMillis > 0, "retention [%s] ms must be greater than zero",
+                    retentionMillis);
+            Preconditions.checkArgument(generations > 0, "generations [%s] must be greater than zero", generations);
+            Preconditions.checkArgument(expectedIds > 0 && expectedIds <= LongHashSet.MAX_ENTRIES,
+                    "expectedIds [%s] is out of range", expectedIds);
+            Preconditions.checkArgument(fpp > 0 && fpp < 1, "fpp [%s] must be between 0 and 1", fpp);
+            Preconditions.checkArgument(snapshotIntervalMillis >= 0, "snapshotInterval [%s] ms must not be negative",
+                    snapshotIntervalMillis);
+            return new DedupIndex(this);
+        }
+    }
+}
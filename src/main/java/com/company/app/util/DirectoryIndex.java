@@ -0,0 +1,356 @@
+package com.company.app.util;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.company.app.exception.AppFileFindException;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * In-memory index of the names of the regular files of a directory (sub-directories are not indexed), kept current by
+ * a {@link WatchService}, so existence, prefix and glob queries cost a sorted-map lookup instead of a directory scan.
+ * <p>
+ * The directory is listed once when its index is created, and again only when the watch service reports lost events.
+ * Events received during the first listing are applied once it is done, in order, so that none is overwritten by it.
+ * Names match exactly, or ignoring case when the index is created case-insensitive. Since events arrive a little after
+ * the fact, a case-sensitive lookup that misses the index confirms with a single file-status call before answering
+ * false; a deletion may still be reported a few milliseconds late.
+ * <p>
+ * Indexes are shared: {@link #of(String, boolean)} returns the same instance for the same directory and case mode, and
+ * one daemon thread serves the events of all of them. Since any directory can be looked up, e.g. thru
+ * {@link FileMetadata#findFilenameWithExtInDir(String, String)}, at most MAX_INDEXES (64) indexes are kept: the
+ * least recently used one is then closed. A closed index stops watching its directory and answers from a fresh listing
+ * of it, so callers still holding it get current, if slower, answers. Instances are thread-safe.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class DirectoryIndex implements Closeable {
+
+    private static Logger LOG = LoggerFactory.getLogger(DirectoryIndex.class);
+    private static final String GLOB = "glob:";
+    private static final String GLOB_META_CHARS = "*?[{\\";
+    private static final int MAX_INDEXES = 64;
+    private static final Cache<String, DirectoryIndex> INDEXES = CacheBuilder.newBuilder().maximumSize(MAX_INDEXES)
+            .removalListener((final RemovalNotification<String, DirectoryIndex> removal) -> removal.getValue()
+                    .stopWatching())
+            .build();
+
+    private final Path directory;
+    private final boolean caseSensitive;
+    private final String registryKey;
+    /**
+     * file names by lookup key, i.e. by name or by lower-case name
+     */
+    private final ConcurrentSkipListMap<String, String> names = new ConcurrentSkipListMap<>();
+    private final WatchKey watchKey;
+    private volatile boolean watching = true;
+    /**
+     * events received while the directory is first listed, applied in order once it is; null afterwards. Guarded by
+     * this
+     */
+    private List<WatchEvent<?>> heldBack = new ArrayList<>();
+
+    private DirectoryIndex(final Path directory, final boolean caseSensitive, final String registryKey) {
+        this.directory = directory;
+        this.caseSensitive = caseSensitive;
+        this.registryKey = registryKey;
+        // registered before the listing, so no file created in between is missed. The events of the listing time are
+        // held back until it is done, or a deletion applied before the listing ends would be undone by it
+        this.watchKey = Watcher.INSTANCE.register(this);
+        try {
+            rebuild();
+        } catch (final RuntimeException e) {
+            Watcher.INSTANCE.unregister(watchKey, this);
+            throw e;
+        }
+        synchronized (this) {
+            for (final WatchEvent<?> event : heldBack) {
+                apply(event);
+            }
+            heldBack = null;
+        }
+    }
+
+    /**
+     * @param directory directory to index
+     * @return the case-sensitive index of the directory
+     */
+    public static DirectoryIndex of(final String directory) {
+        return of(directory, true);
+    }
+
+    /**
+     * @param directory directory to index
+     * @param caseSensitive whether names are matched exactly or ignoring case
+     * @return the shared index of the directory, created and filled on first use
+     */
+    public static DirectoryIndex of(final String directory, final boolean caseSensitive) {
+        final Path path = Paths.get(FileMetadata.fixDirectory(directory)).toAbsolutePath().normalize();
+        final String registryKey = path + (caseSensitive ? "|cs" : "|ci");
+        try {
+            return INDEXES.get(registryKey, () -> new DirectoryIndex(path, caseSensitive, registryKey));
+        } catch (final ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @param filename file name with its extension, without directory
+     * @return whether the directory holds a regular file with this name
+     */
+    public boolean contains(final String filename) {
+        if (names().containsKey(key(filename))) {
+            return true;
+        }
+        // created after the last processed event. Not added to the index, where it would outlive a pending deletion
+        // event
+        return caseSensitive && Files.isRegularFile(directory.resolve(filename));
+    }
+
+    /**
+     * @param prefix start of the file names, matched following the case mode
+     * @return the matching file names, sorted
+     */
+    public List<String> findByPrefix(final String prefix) {
+        return new ArrayList<>(range(names(), key(prefix)).values());
+    }
+
+    /**
+     * @param glob pattern such as "report_2018*.csv", see {@link FileSystems#getPathMatcher(String)}
+     * @return the matching file names, sorted
+     */
+    public List<String> findByGlob(final String glob) {
+        final String keyGlob = key(glob);
+        final PathMatcher matcher = FileSystems.getDefault().getPathMatcher(GLOB + keyGlob);
+        final List<String> found = new ArrayList<>();
+        // only the names starting with the literal head of the pattern can match
+        for (final Map.Entry<String, String> entry : range(names(), literalPrefix(keyGlob)).entrySet()) {
+            if (matcher.matches(Paths.get(entry.getKey()))) {
+                found.add(entry.getValue());
+            }
+        }
+        return found;
+    }
+
+    public int size() {
+        return names().size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return whether the index is kept current by the watch service, i.e. is not closed
+     */
+    public boolean isWatching() {
+        return watching;
+    }
+
+    /**
+     * Stops watching the directory and drops the index from the shared ones
+     */
+    @Override
+    public void close() {
+        if (!INDEXES.asMap().remove(registryKey, this)) {
+            stopWatching();
+        }
+    }
+
+    /**
+     * Removal listener of the shared indexes
+     */
+    private void stopWatching() {
+        watching = false;
+        Watcher.INSTANCE.unregister(watchKey, this);
+    }
+
+    /**
+     * @return the index, or a fresh listing once closed
+     */
+    private NavigableMap<String, String> names() {
+        return watching ? names : new TreeMap<>(list());
+    }
+
+    private String key(final String name) {
+        return caseSensitive ? name : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static NavigableMap<String, String> range(final NavigableMap<String, String> names, final String prefix) {
+        return prefix.isEmpty() ? names : names.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+    }
+
+    private static String literalPrefix(final String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            if (GLOB_META_CHARS.indexOf(glob.charAt(i)) >= 0) {
+                return glob.substring(0, i);
+            }
+        }
+        return glob;
+    }
+
+    /**
+     * Lists the directory again, e.g. after lost events. Entries stay readable meanwhile
+     */
+    private void rebuild() {
+        final Map<String, String> listed = list();
+        names.keySet().retainAll(listed.keySet());
+        names.putAll(listed);
+        LOG.debug("Indexed {} files of [{}]", listed.size(), directory);
+    }
+
+    /**
+     * @return the regular files of the directory, by lookup key
+     */
+    private Map<String, String> list() {
+        final Map<String, String> listed = new HashMap<>();
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (final Path file : files) {
+                if (Files.isRegularFile(file)) {
+                    final String name = file.getFileName().toString();
+                    listed.put(key(name), name);
+                }
+            }
+        } catch (final IOException e) {
+            throw new AppFileFindException(String.format("Exception while indexing the directory [%s]", directory), e);
+        }
+        return listed;
+    }
+
+    private void onEvent(final WatchEvent<?> event) {
+        synchronized (this) {
+            if (heldBack != null) {
+                heldBack.add(event);
+                return;
+            }
+        }
+        apply(event);
+    }
+
+    private void apply(final WatchEvent<?> event) {
+        final WatchEvent.Kind<?> kind = event.kind();
+        final Path name = (Path) event.context();
+        if (kind == OVERFLOW) {
+            rebuild();
+        } else if (kind == ENTRY_CREATE) {
+            if (Files.isRegularFile(directory.resolve(name))) {
+                names.put(key(name.toString()), name.toString());
+            }
+        } else if (kind == ENTRY_DELETE) {
+            names.remove(key(name.toString()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DirectoryIndex [directory=" + directory + ", caseSensitive=" + caseSensitive + ", size=" + size()
+                + "]";
+    }
+
+    /**
+     * Single watch service and daemon thread serving every index
+     */
+    private static final class Watcher {
+
+        private static final Watcher INSTANCE = new Watcher();
+
+        private final WatchService watchService;
+        private final ConcurrentMap<WatchKey, List<DirectoryIndex>> indexes = new ConcurrentHashMap<>();
+
+        private Watcher() {
+            try {
+                this.watchService = FileSystems.getDefault().newWatchService();
+            } catch (final IOException e) {
+                throw new IllegalStateException("Cannot create the directory index watch service", e);
+            }
+            final Thread thread = new Thread(this::run, "directory-index");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private WatchKey register(final DirectoryIndex index) {
+            try {
+                // a directory watched in both case modes shares one key
+                final WatchKey key = index.directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE);
+                indexes.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(index);
+                return key;
+            } catch (final IOException e) {
+                throw new AppFileFindException(
+                        String.format("Exception while watching the directory [%s]", index.directory), e);
+            }
+        }
+
+        private void unregister(final WatchKey key, final DirectoryIndex index) {
+            indexes.computeIfPresent(key, (k, list) -> {
+                list.remove(index);
+                if (list.isEmpty()) {
+                    k.cancel();
+                    return null;
+                }
+                return list;
+            });
+        }
+
+        private void run() {
+            while (true) {
+                final WatchKey key;
+                try {
+                    key = watchService.take();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                final List<DirectoryIndex> watching = indexes.get(key);
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (watching == null) {
+                        continue;
+                    }
+                    for (final DirectoryIndex index : watching) {
+                        try {
+                            index.onEvent(event);
+                        } catch (final RuntimeException e) {
+                            LOG.warn("Could not update {}", index, e);
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    LOG.warn("Directory index stopped watching {}", watching);
+                    indexes.remove(key);
+                }
+            }
+        }
+    }
+}
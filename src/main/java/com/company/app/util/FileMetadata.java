@@ -9,8 +9,6 @@ import java.nio.file.StandardCopyOption;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.springframework.util.StringUtils;
 
@@ -19,12 +17,15 @@ import com.company.app.exception.AppFileMoveException;
 import com.company.app.exception.AppFileReadException;
 import com.company.app.exception.AppFileWriteException;
 import com.google.common.base.Joiner;
-import com.google.common.base.Splitter;
-import com.google.common.collect.ImmutableMap;
 
 /**
  * Holds information data for a file and provides multiple helper methods for manipulation of filenames, extensions and
  * directories
+ * <p>
+ * Most helpers are pure string or single file operations. {@link #findFilenameWithExtInDir(String, String)} is not: it
+ * is served by the shared {@link DirectoryIndex} of the directory, so the first lookup in a directory lists it and
+ * registers a file system watch on it, which is kept until the directory is no longer among the 64 most recently
+ * indexed ones.
  *
  * 
  * @since Sep 20, 2017 10:42:50 PM
@@ -146,7 +147,9 @@ public class FileMetadata {
     }
 
     /**
-     * Finds whether a file exists in a specific directory. The sub-directories are not searched
+     * Finds whether a file exists in a specific directory. The sub-directories are not searched. The filename must
+     * match exactly: the lookup is served by the {@link DirectoryIndex} of the directory, which is listed once and then
+     * kept current by file system events
      * 
      * @param directory string representing the directory to look at. Note that sub-directories are not searched
      * @param filenameWithExt string representing the filename to look for
@@ -154,10 +157,8 @@ public class FileMetadata {
      */
     public static boolean findFilenameWithExtInDir(final String directory, final String filenameWithExt) {
         boolean isFound = false;
-        try (final Stream<Path> filePathStream = Files.walk(Paths.get(directory), 1)) {
-            isFound = filePathStream.filter(Files::isRegularFile)
-                    .filter(path -> String.valueOf(path).endsWith(filenameWithExt)).map(Path::toFile).findFirst()
-                    .isPresent();
+        try {
+            isFound = DirectoryIndex.of(directory).contains(filenameWithExt);
         } catch (final Exception e) {
             final String msg = String.format("Exception while finding a filename [%s] in a directory [%s]",
                     filenameWithExt, directory);
@@ -220,16 +221,13 @@ public class FileMetadata {
     public static Map<String, String> keyEqualValStringListToKeyValMap(final List<String> keyEqualValStringList) {
         //
         // place each element from the list into an element into a Map<String:key, String:val>. Ignore comment
-        // lines (i.e. start with "#") and lines that do not include the "=" character
-        return keyEqualValStringList.stream().filter(line -> !line.trim().startsWith("#"))
-                .filter(line -> line.contains(EQUAL))
-                .flatMap(
-                        line -> ImmutableMap
-                                .of(Splitter.on(EQUAL).trimResults().limit(2).splitToList(line).get(0),
-                                        Splitter.on(EQUAL).trimResults().limit(2).splitToList(line).get(1))
-                                .entrySet().stream())
-                .collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue(), (o, n) -> n,
-                        LinkedHashMap::new));
+        // lines (i.e. start with "#") and lines that do not include the "=" character. Files that are read often
+        // should rather be loaded thru a KeyValConfig, which parses them without reading them into a list first
+        final Map<String, String> keyValMap = new LinkedHashMap<>();
+        for (final String line : keyEqualValStringList) {
+            KeyValConfig.putKeyVal(keyValMap, line);
+        }
+        return keyValMap;
     }
 
     /**
@@ -0,0 +1,127 @@
+package com.company.app.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Holds static helpers for amounts represented as a scaled long, i.e. the value is unscaled * 10^-scale, the same
+ * (unscaled, scale) pair a BigDecimal is made of. The arithmetic runs on primitives and reports an overflow by throwing
+ * an {@link ArithmeticException}, so callers can fall back to BigDecimal.
+ *
+ * @since 10/17/2026
+ *
+ */
+public abstract class FixedPoint {
+
+    /**
+     * any number of at most 18 digits fits in a long
+     */
+    public static final int MAX_LONG_PRECISION = 18;
+    private static final long[] POW10 = new long[MAX_LONG_PRECISION + 1];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private FixedPoint() {
+    }
+
+    /**
+     * @param amount BigDecimal amount
+     * @return true when the unscaled value of the amount fits in a long
+     */
+    public static boolean fitsLong(final BigDecimal amount) {
+        return amount.precision() <= MAX_LONG_PRECISION;
+    }
+
+    /**
+     * @param amount BigDecimal amount whose unscaled value fits in a long (see {@link #fitsLong(BigDecimal)})
+     * @return the unscaled value of the amount
+     */
+    public static long unscaled(final BigDecimal amount) {
+        return amount.unscaledValue().longValueExact();
+    }
+
+    /**
+     * @param unscaled unscaled value
+     * @param scale scale
+     * @return the equivalent BigDecimal, i.e. unscaled * 10^-scale
+     */
+    public static BigDecimal toBigDecimal(final long unscaled, final int scale) {
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * Hash code of the amount equal to {@link BigDecimal#hashCode()} of {@link #toBigDecimal(long, int)}, so both
+     * representations of an amount hash alike, computed without building the BigDecimal
+     *
+     * @param unscaled unscaled value
+     * @param scale scale
+     * @return the hash code
+     */
+    public static int hashCode(final long unscaled, final int scale) {
+        if (unscaled == Long.MIN_VALUE) {
+            // not held as a compact long by BigDecimal, whose hash then comes from its BigInteger
+            return toBigDecimal(unscaled, scale).hashCode();
+        }
+        final long abs = Math.abs(unscaled);
+        final int hash = (int) ((int) (abs >>> 32) * 31 + (abs & 0xFFFFFFFFL));
+        return 31 * (unscaled < 0 ? -hash : hash) + scale;
+    }
+
+    /**
+     * @param exponent between 0 and {@link #MAX_LONG_PRECISION}
+     * @return 10^exponent
+     * @throws ArithmeticException when 10^exponent does not fit in a long
+     */
+    public static long pow10(final int exponent) {
+        if (exponent < 0 || exponent > MAX_LONG_PRECISION) {
+            throw new ArithmeticException(String.format("10^%s overflows a long", exponent));
+        }
+        return POW10[exponent];
+    }
+
+    /**
+     * Compares two amounts like {@link BigDecimal#compareTo(BigDecimal)}, i.e. regardless of their scales
+     *
+     * @return a negative number, zero or a positive number as the first amount is less than, equal to or greater than
+     *         the second
+     * @throws ArithmeticException when aligning the scales overflows a long
+     */
+    public static int compare(final long unscaled1, final int scale1, final long unscaled2, final int scale2) {
+        if (scale1 == scale2) {
+            return Long.compare(unscaled1, unscaled2);
+        }
+        if (scale1 < scale2) {
+            return Long.compare(Math.multiplyExact(unscaled1, pow10(scale2 - scale1)), unscaled2);
+        }
+        return Long.compare(unscaled1, Math.multiplyExact(unscaled2, pow10(scale1 - scale2)));
+    }
+
+    /**
+     * Scale of the result of {@link BigDecimal#movePointRight(int)}
+     *
+     * @param scale scale of the amount
+     * @param n number of places to move the decimal point to the right
+     * @return the scale of the result
+     */
+    public static int movePointRightScale(final int scale, final int n) {
+        return Math.max(scale - n, 0);
+    }
+
+    /**
+     * Unscaled value of the result of {@link BigDecimal#movePointRight(int)}; its scale is given by
+     * {@link #movePointRightScale(int, int)}
+     *
+     * @param unscaled unscaled value of the amount
+     * @param scale scale of the amount
+     * @param n number of places to move the decimal point to the right
+     * @return the unscaled value of the result
+     * @throws ArithmeticException when the result overflows a long
+     */
+    public static long movePointRightUnscaled(final long unscaled, final int scale, final int n) {
+        return scale - n >= 0 ? unscaled : Math.multiplyExact(unscaled, pow10(n - scale));
+    }
+}
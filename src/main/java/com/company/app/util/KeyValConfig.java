@@ -0,0 +1,277 @@
+package com.company.app.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.company.app.exception.AppFileReadException;
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+
+/**
+ * Hot-reloadable "key=val" configuration file, parsed with the rules of
+ * {@link FileMetadata#keyEqualValStringListToKeyValMap(java.util.List)}: "#" comment lines and lines without "=" are
+ * ignored, key and val are the trimmed strings around the first "=", and the last of duplicated keys wins.
+ * <p>
+ * The file is parsed in one streaming pass, hashed on the way, into an immutable {@link Snapshot} which is published
+ * thru an {@link AtomicReference}, so readers never lock and always see a complete snapshot. {@link #get()} checks the
+ * file at most once per check interval, from the calling thread; a single caller does the check while the others keep
+ * reading the current snapshot. The file is read again only when its modification time or size changed, and the
+ * snapshot is replaced only when the content hash changed too. A file modified within the file-time granularity of
+ * the last check is read again on the next check, so two writes in the same tick are not missed.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class KeyValConfig {
+
+    private static Logger LOG = LoggerFactory.getLogger(KeyValConfig.class);
+    private static final char EQUAL = '=';
+    private static final String COMMENT = "#";
+    /**
+     * coarsest modification time resolution among the usual file systems
+     */
+    private static final long MTIME_GRANULARITY_MILLIS = 2000;
+    private static final int READ_BUFFER_CHARS = 64 * 1024;
+
+    private final Path path;
+    private final long checkIntervalNanos;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean checking = new AtomicBoolean();
+    private volatile long nextCheckNanos;
+    private long lastModifiedMillis;
+    private long lastSize;
+    private boolean stable;
+
+    private KeyValConfig(final Builder builder) {
+        this.path = Paths.get(builder.filepath);
+        this.checkIntervalNanos = TimeUnit.MILLISECONDS.toNanos(builder.checkIntervalMillis);
+        checking.set(true);
+        try {
+            check();
+        } finally {
+            checking.set(false);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the current snapshot, reloaded first when the check interval elapsed and the file changed
+     */
+    public Snapshot get() {
+        if (System.nanoTime() - nextCheckNanos >= 0 && checking.compareAndSet(false, true)) {
+            try {
+                check();
+            } catch (final RuntimeException e) {
+                // keep serving the last good snapshot
+                LOG.warn("Could not reload [{}], keeping version {}", path, snapshot.get().getVersion(), e);
+            } finally {
+                checking.set(false);
+            }
+        }
+        return snapshot.get();
+    }
+
+    /**
+     * Checks the file right now, regardless of the check interval
+     *
+     * @return the current snapshot
+     */
+    public Snapshot reload() {
+        while (!checking.compareAndSet(false, true)) {
+            Thread.yield();
+        }
+        try {
+            check();
+        } finally {
+            checking.set(false);
+        }
+        return snapshot.get();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Runs under the checking flag
+     */
+    private void check() {
+        final long checkedAtMillis = System.currentTimeMillis();
+        nextCheckNanos = System.nanoTime() + checkIntervalNanos;
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (final IOException e) {
+            throw new AppFileReadException(String.format("Exception while reading the attributes of [%s]", path), e);
+        }
+        final long modifiedMillis = attributes.lastModifiedTime().toMillis();
+        final Snapshot current = snapshot.get();
+        if (current != null && stable && modifiedMillis == lastModifiedMillis && attributes.size() == lastSize) {
+            return;
+        }
+        final Snapshot loaded = load(current == null ? 1 : current.version + 1, modifiedMillis);
+        lastModifiedMillis = modifiedMillis;
+        lastSize = attributes.size();
+        stable = checkedAtMillis - modifiedMillis > MTIME_GRANULARITY_MILLIS;
+        if (current != null && current.hash.equals(loaded.hash)) {
+            return;
+        }
+        snapshot.set(loaded);
+        LOG.info("Loaded version {} of [{}]: {} keys", loaded.version, path, loaded.size());
+    }
+
+    private Snapshot load(final long version, final long modifiedMillis) {
+        final Map<String, String> map = new LinkedHashMap<>();
+        try (final HashingInputStream in = new HashingInputStream(Hashing.murmur3_128(), Files.newInputStream(path));
+                final BufferedReader reader = newReader(in)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                putKeyVal(map, line);
+            }
+            return new Snapshot(ImmutableMap.copyOf(map), in.hash(), version, modifiedMillis);
+        } catch (final IOException e) {
+            throw new AppFileReadException(String.format("Exception while reading a file [%s]", path), e);
+        }
+    }
+
+    private static BufferedReader newReader(final InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_CHARS);
+    }
+
+    /**
+     * Parses one "key=val" line into the map, ignoring comment lines and lines without "="
+     *
+     * @param map map the key and val are put into; an existing key is overwritten
+     * @param line line to parse
+     */
+    static void putKeyVal(final Map<String, String> map, final String line) {
+        final int equal = line.indexOf(EQUAL);
+        if (equal < 0 || line.trim().startsWith(COMMENT)) {
+            return;
+        }
+        final CharMatcher whitespace = CharMatcher.whitespace();
+        map.put(whitespace.trimFrom(line.substring(0, equal)), whitespace.trimFrom(line.substring(equal + 1)));
+    }
+
+    /**
+     * Immutable content of one version of the file
+     */
+    public static final class Snapshot {
+
+        private final ImmutableMap<String, String> map;
+        private final HashCode hash;
+        private final long version;
+        private final long lastModifiedMillis;
+
+        private Snapshot(final ImmutableMap<String, String> map, final HashCode hash, final long version,
+                final long lastModifiedMillis) {
+            this.map = map;
+            this.hash = hash;
+            this.version = version;
+            this.lastModifiedMillis = lastModifiedMillis;
+        }
+
+        /**
+         * @return the val of the key, null when absent
+         */
+        public String get(final String key) {
+            return map.get(key);
+        }
+
+        public String get(final String key, final String defaultVal) {
+            final String val = map.get(key);
+            return val == null ? defaultVal : val;
+        }
+
+        public boolean containsKey(final String key) {
+            return map.containsKey(key);
+        }
+
+        /**
+         * @return the keys and vals in file order
+         */
+        public ImmutableMap<String, String> asMap() {
+            return map;
+        }
+
+        public int size() {
+            return map.size();
+        }
+
+        /**
+         * @return 1 for the first load, incremented for every published change
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        public String getHash() {
+            return hash.toString();
+        }
+
+        public long getLastModifiedMillis() {
+            return lastModifiedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot [version=" + version + ", size=" + size() + ", hash=" + hash + ", lastModifiedMillis="
+                    + lastModifiedMillis + "]";
+        }
+    }
+
+    public static class Builder {
+
+        private String filepath;
+        private long checkIntervalMillis = 1000;
+
+        public Builder() {
+            // this constructor is needed. Invoked by the static KeyValConfig build method
+        }
+
+        public Builder filepath(final String filepath) {
+            this.filepath = filepath;
+            return this;
+        }
+
+        /**
+         * Minimum time between two checks of the file by {@link KeyValConfig#get()}. Zero checks on every call
+         */
+        public Builder checkIntervalMillis(final long checkIntervalMillis) {
+            this.checkIntervalMillis = checkIntervalMillis;
+            return this;
+        }
+
+        /**
+         * Builds the config and loads the file
+         */
+        public KeyValConfig build() {
+            Preconditions.checkArgument(filepath != null, "filepath must be set");
+            Preconditions.checkArgument(checkIntervalMillis >= 0, "checkIntervalMillis [%s] must not be negative",
+                    checkIntervalMillis);
+            return new KeyValConfig(this);
+        }
+    }
+}
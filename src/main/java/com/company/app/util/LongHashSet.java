@@ -0,0 +1,172 @@
+package com.company.app.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.function.LongConsumer;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Fixed-capacity set of longs, open-addressed with linear probing over a single long array of twice the maximum
+ * number of entries, i.e. 16 bytes per entry and no object per entry. The array lives on the heap or, when offHeap is
+ * set, in a direct buffer outside of it, so that very large sets neither weigh on the garbage collector nor need a
+ * large heap.
+ * <p>
+ * The keys are expected to be well-distributed hashes: their low bits pick the slot as is. 0 and {@link Long#MIN_VALUE}
+ * mark empty and removed slots and can not be added (see {@link #isValidKey(long)}). Removed slots are not reused, so
+ * the set is full once maxEntries keys have been added, whatever was removed since. Instances are not thread-safe.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class LongHashSet {
+
+    /**
+     * 2^27 slots of 8 bytes fill the largest direct buffer
+     */
+    public static final int MAX_ENTRIES = 1 << 26;
+    private static final long EMPTY = 0;
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    private final LongBuffer slots;
+    private final int mask;
+    private final int maxEntries;
+    private final boolean offHeap;
+    private int size;
+    private int used;
+
+    public LongHashSet(final int maxEntries, final boolean offHeap) {
+        Preconditions.checkArgument(maxEntries > 0 && maxEntries <= MAX_ENTRIES, "maxEntries [%s] is out of range",
+                maxEntries);
+        final int capacity = Integer.highestOneBit(maxEntries * 2 - 1) << 1;
+        this.slots = offHeap ? ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder())
+                .asLongBuffer() : LongBuffer.allocate(capacity);
+        this.mask = capacity - 1;
+        this.maxEntries = maxEntries;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * @return whether the key can be held by the set, i.e. is neither 0 nor {@link Long#MIN_VALUE}
+     */
+    public static boolean isValidKey(final long key) {
+        return key != EMPTY && key != REMOVED;
+    }
+
+    /**
+     * @return true when the key was added, false when it was already there
+     * @throws IllegalStateException when the key is new and the set is full
+     */
+    public boolean add(final long key) {
+        checkKey(key);
+        int slot = (int) key & mask;
+        while (true) {
+            final long current = slots.get(slot);
+            if (current == key) {
+                return false;
+            }
+            if (current == EMPTY) {
+                Preconditions.checkState(used < maxEntries, "set is full with [%s] entries", maxEntries);
+                slots.put(slot, key);
+                size++;
+                used++;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public boolean contains(final long key) {
+        checkKey(key);
+        return find(key) >= 0;
+    }
+
+    /**
+     * @return true when the key was removed, false when it was not there
+     */
+    public boolean remove(final long key) {
+        checkKey(key);
+        final int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        slots.put(slot, REMOVED);
+        size--;
+        return true;
+    }
+
+    private int find(final long key) {
+        int slot = (int) key & mask;
+        while (true) {
+            final long current = slots.get(slot);
+            if (current == key) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static void checkKey(final long key) {
+        Preconditions.checkArgument(isValidKey(key), "key [%s] is reserved", key);
+    }
+
+    /**
+     * @return an independent set holding the same keys, with the same capacity and memory placement
+     */
+    public LongHashSet copy() {
+        final LongHashSet copy = new LongHashSet(maxEntries, offHeap);
+        final LongBuffer source = slots.duplicate();
+        source.clear();
+        copy.slots.duplicate().put(source);
+        copy.size = size;
+        copy.used = used;
+        return copy;
+    }
+
+    /**
+     * Hands every key to the consumer, in slot order
+     */
+    public void forEach(final LongConsumer consumer) {
+        for (int slot = 0; slot <= mask; slot++) {
+            final long key = slots.get(slot);
+            if (isValidKey(key)) {
+                consumer.accept(key);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return whether no key can be added anymore
+     */
+    public boolean isFull() {
+        return used >= maxEntries;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * @return size of the slot array
+     */
+    public long getBytes() {
+        return (mask + 1L) * Long.BYTES;
+    }
+
+    @Override
+    public String toString() {
+        return "LongHashSet [size=" + size + ", maxEntries=" + maxEntries + ", offHeap=" + offHeap + "]";
+    }
+}
@@ -0,0 +1,297 @@
+package com.company.app.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Bounded, concurrent dictionary canonicalizing the values of a low-cardinality string field, so that the records of a
+ * large batch share one String instance per distinct value instead of holding a copy each. Every value gets a dense
+ * integer code, usable as an array index by downstream aggregations.
+ * <p>
+ * Values are looked up straight from the parser buffers (UTF-8 bytes or chars), so a hit builds no String. The table is
+ * open-addressed, sized to twice the maximum number of entries and lock-free: a missing value is added with a
+ * compare-and-set on its slot. Once the dictionary holds maxEntries values, further new values are returned as fresh,
+ * non-canonical strings without a code. Two threads racing to add the same value may waste a code, so codes can have
+ * gaps.
+ * <p>
+ * The hit ratio and an estimate of the heap saved by the hits are reported. Instances are thread-safe; {@link #of}
+ * shares them by name.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class StringDictionary {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1 << 16;
+    private static final ConcurrentMap<String, StringDictionary> DICTIONARIES = new ConcurrentHashMap<>();
+    public static final StringDictionary CUSTOMER_NAMES = of("customerName");
+    public static final StringDictionary TRANSACTION_TYPES = of("transactionType");
+    /**
+     * code of the values that are not in the dictionary
+     */
+    public static final int NO_CODE = -1;
+    /**
+     * String header plus char[] header of a 64-bit JVM with compressed oops
+     */
+    private static final int STRING_OVERHEAD_BYTES = 24 + 16;
+
+    private final String name;
+    private final int maxEntries;
+    private final int mask;
+    private final AtomicReferenceArray<Entry> table;
+    private final AtomicReferenceArray<String> values;
+    private final AtomicInteger nextCode = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    public StringDictionary(final String name, final int maxEntries) {
+        Preconditions.checkArgument(maxEntries > 0 && maxEntries <= 1 << 29, "maxEntries [%s] is out of range",
+                maxEntries);
+        this.name = name;
+        this.maxEntries = maxEntries;
+        final int capacity = Integer.highestOneBit(maxEntries * 2 - 1) << 1;
+        this.mask = capacity - 1;
+        this.table = new AtomicReferenceArray<>(capacity);
+        this.values = new AtomicReferenceArray<>(maxEntries);
+    }
+
+    /**
+     * @param name name of the dictionary, usually the field it canonicalizes
+     * @return the dictionary shared under this name, created with {@link #DEFAULT_MAX_ENTRIES} on first use
+     */
+    public static StringDictionary of(final String name) {
+        return DICTIONARIES.computeIfAbsent(name, n -> new StringDictionary(n, DEFAULT_MAX_ENTRIES));
+    }
+
+    /**
+     * @return the shared dictionaries by name
+     */
+    public static Map<String, StringDictionary> getAll() {
+        return Collections.unmodifiableMap(new TreeMap<>(DICTIONARIES));
+    }
+
+    /**
+     * @return the canonical instance equal to the value, or the value itself when it is null or the dictionary is full
+     */
+    public String intern(final String value) {
+        if (value == null) {
+            return null;
+        }
+        return lookup(value.hashCode(), value, 0, value.length()).value;
+    }
+
+    /**
+     * @return the canonical instance equal to the chars [offset, offset + length)
+     */
+    public String intern(final char[] chars, final int offset, final int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        return lookup(hash, chars, offset, length).value;
+    }
+
+    /**
+     * @return the canonical instance equal to the UTF-8 bytes [offset, offset + length)
+     */
+    public String intern(final byte[] bytes, final int offset, final int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final byte b = bytes[i];
+            if (b < 0) {
+                // not ASCII: the chars, hence the hash, need a real decoding
+                return intern(new String(bytes, offset, length, StandardCharsets.UTF_8));
+            }
+            hash = 31 * hash + b;
+        }
+        return lookup(hash, bytes, offset, length).value;
+    }
+
+    /**
+     * @return the code of the value, adding it when missing; {@link #NO_CODE} when null or the dictionary is full
+     */
+    public int code(final String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        return lookup(value.hashCode(), value, 0, value.length()).code;
+    }
+
+    /**
+     * @return the value of the code, null when unknown
+     */
+    public String value(final int code) {
+        return code >= 0 && code < maxEntries ? values.get(code) : null;
+    }
+
+    /**
+     * @return one more than the highest code handed out, i.e. the size of an array indexed by code
+     */
+    public int getCodeLimit() {
+        return Math.min(nextCode.get(), maxEntries);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that built a String to add it to the dictionary: the values added, plus the lookups
+     *         that lost the race to add an equal value
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of lookups of new values made once the dictionary was full
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public double getHitRatio() {
+        final long hitCount = hits.sum();
+        final long total = hitCount + misses.sum() + rejected.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return estimate of the heap not allocated thanks to the hits, i.e. the size of the String copies they avoided
+     */
+    public long getEstimatedSavedBytes() {
+        return savedBytes.sum();
+    }
+
+    /**
+     * Finds the entry of the value held by source, a String, char[] or ASCII byte[], adding it when missing
+     */
+    private Entry lookup(final int hash, final Object source, final int offset, final int length) {
+        int slot = spread(hash) & mask;
+        Entry created = null;
+        while (true) {
+            final Entry entry = table.get(slot);
+            if (entry == null) {
+                if (created == null) {
+                    created = create(hash, source, offset, length);
+                    if (created.code == NO_CODE) {
+                        return created;
+                    }
+                }
+                if (table.compareAndSet(slot, null, created)) {
+                    values.set(created.code, created.value);
+                    misses.increment();
+                    return created;
+                }
+                // lost the slot: check the winner, which may hold the very same value
+                continue;
+            }
+            if (entry.hash == hash && matches(entry.value, source, offset, length)) {
+                if (created != null) {
+                    // lost the race to an equal value: its String was built all the same, and its code is wasted
+                    misses.increment();
+                } else {
+                    hits.increment();
+                    savedBytes.add(stringBytes(length));
+                }
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private Entry create(final int hash, final Object source, final int offset, final int length) {
+        final String value = materialize(source, offset, length);
+        if (nextCode.get() >= maxEntries) {
+            rejected.increment();
+            return new Entry(hash, value, NO_CODE);
+        }
+        final int code = nextCode.getAndIncrement();
+        if (code >= maxEntries) {
+            rejected.increment();
+            return new Entry(hash, value, NO_CODE);
+        }
+        return new Entry(hash, value, code);
+    }
+
+    private static String materialize(final Object source, final int offset, final int length) {
+        if (source instanceof String) {
+            return (String) source;
+        }
+        if (source instanceof char[]) {
+            return new String((char[]) source, offset, length);
+        }
+        return new String((byte[]) source, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private static boolean matches(final String value, final Object source, final int offset, final int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        if (source instanceof String) {
+            return value.equals(source);
+        }
+        if (source instanceof char[]) {
+            final char[] chars = (char[]) source;
+            for (int i = 0; i < length; i++) {
+                if (value.charAt(i) != chars[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        final byte[] bytes = (byte[]) source;
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long stringBytes(final int length) {
+        return (STRING_OVERHEAD_BYTES + 2L * length + 7) & ~7L;
+    }
+
+    @Override
+    public String toString() {
+        return "StringDictionary [name=" + name + ", size=" + getCodeLimit() + ", maxEntries=" + maxEntries
+                + ", hitRatio=" + String.format("%.3f", getHitRatio()) + ", estimatedSavedBytes="
+                + getEstimatedSavedBytes() + "]";
+    }
+
+    private static final class Entry {
+        private final int hash;
+        private final String value;
+        private final int code;
+
+        private Entry(final int hash, final String value, final int code) {
+            this.hash = hash;
+            this.value = value;
+            this.code = code;
+        }
+    }
+}
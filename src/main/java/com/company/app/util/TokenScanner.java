@@ -0,0 +1,376 @@
+package com.company.app.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Removes or replaces a set of tokens, or of begToken + delimited string + endToken pairs, in a single linear pass.
+ * <p>
+ * The tokens are compiled once into an Aho-Corasick automaton flattened into a transition table over the distinct
+ * characters of the tokens, so scanning costs one table lookup per input character whatever the number of tokens.
+ * Characters are copied to the output as they are scanned; when a token is matched, its characters are taken back from
+ * the output, which never holds more pending characters than the longest token. Input can be a {@link CharSequence}
+ * or, for large payloads, a {@link Reader} streamed to a {@link Writer}.
+ * <p>
+ * Tokens are matched leftmost-longest: of the tokens starting at the leftmost position the longest one is replaced,
+ * then scanning resumes right after it, so a replacement is never scanned again. A match is therefore only replaced
+ * once no token starting at or before it can still complete, and the few characters scanned meanwhile are scanned
+ * again after it. This gives the result of replacing the tokens one after the other with {@link String#replace} when a
+ * token holding another one is listed first, e.g. "xx" for "xabcx" and tokens [abc, b]; it differs when the shorter
+ * token is listed first ([b, abc] sequentially gives "xacx") or when removing a token forms another one ("abc" and
+ * tokens [b, ac] sequentially gives "", here "ac").
+ * <p>
+ * In pair mode the first begToken opens a pair and the first endToken after it closes it; an unterminated begToken and
+ * the text after it are kept as they are.
+ * <p>
+ * Instances are immutable and thread-safe; {@link #of(Collection)} and {@link #ofPair(String, String)} cache them by
+ * token set.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class TokenScanner {
+
+    private static final int MAX_CACHED_SCANNERS = 256;
+    private static final int IO_BUFFER_SIZE = 8192;
+    private static final int ASCII = 128;
+    private static final int BEG = 1;
+    private static final int END = 2;
+    private static final LoadingCache<List<String>, TokenScanner> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_SCANNERS).build(CacheLoader.from(TokenScanner::compile));
+
+    private final List<String> tokens;
+    private final boolean pair;
+    /**
+     * character class of the ASCII characters; class 0 stands for the characters no token holds
+     */
+    private final int[] asciiClasses = new int[ASCII];
+    private final Map<Character, Integer> otherClasses = new HashMap<>();
+    private final int classCount;
+    /**
+     * transition table, indexed by state * classCount + class
+     */
+    private final int[] delta;
+    /**
+     * number of characters of the current match attempt, i.e. the trie depth of the state
+     */
+    private final int[] depth;
+    /**
+     * length of the longest token ending at the state, 0 when none
+     */
+    private final int[] matchLength;
+    /**
+     * pair mode only: BEG and/or END bits of the tokens ending at the state
+     */
+    private final int[] matchKinds;
+    /**
+     * whether no token extends the characters of the state
+     */
+    private final boolean[] leaf;
+
+    private TokenScanner(final List<String> tokens, final boolean pair) {
+        this.tokens = tokens;
+        this.pair = pair;
+        int classes = 1;
+        for (final String token : tokens) {
+            for (int i = 0; i < token.length(); i++) {
+                final char c = token.charAt(i);
+                if (c < ASCII) {
+                    if (asciiClasses[c] == 0) {
+                        asciiClasses[c] = classes++;
+                    }
+                } else if (!otherClasses.containsKey(c)) {
+                    otherClasses.put(c, classes++);
+                }
+            }
+        }
+        this.classCount = classes;
+
+        // trie
+        final List<int[]> children = new ArrayList<>();
+        final List<Integer> depths = new ArrayList<>();
+        final List<Integer> lengths = new ArrayList<>();
+        final List<Integer> kinds = new ArrayList<>();
+        children.add(newChildren());
+        depths.add(0);
+        lengths.add(0);
+        kinds.add(0);
+        for (int t = 0; t < tokens.size(); t++) {
+            final String token = tokens.get(t);
+            int state = 0;
+            for (int i = 0; i < token.length(); i++) {
+                final int cls = classOf(token.charAt(i));
+                if (children.get(state)[cls] < 0) {
+                    children.get(state)[cls] = children.size();
+                    children.add(newChildren());
+                    depths.add(i + 1);
+                    lengths.add(0);
+                    kinds.add(0);
+                }
+                state = children.get(state)[cls];
+            }
+            lengths.set(state, token.length());
+            kinds.set(state, kinds.get(state) | (pair ? (t == 0 ? BEG : END) : 0));
+        }
+
+        // failure links folded into a full transition table, breadth first
+        final int states = children.size();
+        this.delta = new int[states * classCount];
+        this.depth = new int[states];
+        this.matchLength = new int[states];
+        this.matchKinds = new int[states];
+        this.leaf = new boolean[states];
+        final int[] fail = new int[states];
+        final Deque<Integer> queue = new ArrayDeque<>();
+        for (int cls = 0; cls < classCount; cls++) {
+            final int child = children.get(0)[cls];
+            delta[cls] = Math.max(child, 0);
+            if (child > 0) {
+                queue.add(child);
+            }
+        }
+        for (int state = 0; state < states; state++) {
+            depth[state] = depths.get(state);
+            matchLength[state] = lengths.get(state);
+            matchKinds[state] = kinds.get(state);
+            leaf[state] = Arrays.stream(children.get(state)).allMatch(child -> child < 0);
+        }
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            matchLength[state] = Math.max(matchLength[state], matchLength[fail[state]]);
+            matchKinds[state] |= matchKinds[fail[state]];
+            for (int cls = 0; cls < classCount; cls++) {
+                final int child = children.get(state)[cls];
+                if (child > 0) {
+                    fail[child] = delta[fail[state] * classCount + cls];
+                    delta[state * classCount + cls] = child;
+                    queue.add(child);
+                } else {
+                    delta[state * classCount + cls] = delta[fail[state] * classCount + cls];
+                }
+            }
+        }
+    }
+
+    private int[] newChildren() {
+        final int[] array = new int[classCount];
+        Arrays.fill(array, -1);
+        return array;
+    }
+
+    private int classOf(final char c) {
+        if (c < ASCII) {
+            return asciiClasses[c];
+        }
+        final Integer cls = otherClasses.get(c);
+        return cls == null ? 0 : cls;
+    }
+
+    /**
+     * @param tokens tokens to remove or replace; empty tokens are ignored
+     * @return the compiled scanner, from the cache when the same tokens were already compiled
+     */
+    public static TokenScanner of(final Collection<String> tokens) {
+        final LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        for (final String token : tokens) {
+            if (token != null && !token.isEmpty()) {
+                distinct.add(token);
+            }
+        }
+        final List<String> key = new ArrayList<>(distinct.size() + 1);
+        key.add(null);
+        key.addAll(distinct);
+        return CACHE.getUnchecked(key);
+    }
+
+    /**
+     * @param begToken marker opening a delimited string
+     * @param endToken marker closing a delimited string; must differ from begToken
+     * @return the compiled pair scanner, from the cache when the same pair was already compiled
+     */
+    public static TokenScanner ofPair(final String begToken, final String endToken) {
+        Preconditions.checkArgument(begToken != null && !begToken.isEmpty(), "begToken must not be empty");
+        Preconditions.checkArgument(endToken != null && !endToken.isEmpty(), "endToken must not be empty");
+        Preconditions.checkArgument(!begToken.equals(endToken), "begToken [%s] must differ from endToken", begToken);
+        return CACHE.getUnchecked(Arrays.asList(begToken, endToken));
+    }
+
+    /**
+     * Cache loader. A null first element marks a token set; otherwise the key is a (begToken, endToken) pair
+     */
+    private static TokenScanner compile(final List<String> key) {
+        return key.get(0) == null ? new TokenScanner(key.subList(1, key.size()), false)
+                : new TokenScanner(key, true);
+    }
+
+    /**
+     * @param in input text, may be null
+     * @return the input without the tokens, or without the delimited pairs in pair mode
+     */
+    public String remove(final CharSequence in) {
+        return replace(in, "");
+    }
+
+    /**
+     * @param in input text, may be null
+     * @param replacement text replacing every token, or every delimited pair in pair mode
+     * @return the input with the replacements
+     */
+    public String replace(final CharSequence in, final String replacement) {
+        if (in == null) {
+            return null;
+        }
+        final Scan scan = new Scan(replacement, new StringBuilder(in.length()), null);
+        final int len = in.length();
+        for (int i = 0; i < len; i++) {
+            scan.accept(in.charAt(i));
+        }
+        return scan.finish().toString();
+    }
+
+    /**
+     * Streaming variant of {@link #replace(CharSequence, String)}. Memory use is bounded by the buffers, except in
+     * pair mode where the text of a delimited pair is held until its endToken
+     *
+     * @param in input text. Not closed
+     * @param out output text. Not closed, nor flushed
+     * @param replacement text replacing every token, or every delimited pair in pair mode
+     */
+    public void replace(final Reader in, final Writer out, final String replacement) throws IOException {
+        final Scan scan = new Scan(replacement, new StringBuilder(2 * IO_BUFFER_SIZE), out);
+        final char[] buffer = new char[IO_BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            for (int i = 0; i < read; i++) {
+                scan.accept(buffer[i]);
+            }
+            scan.drain(false);
+        }
+        scan.finish();
+        scan.drain(true);
+    }
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenScanner [tokens=" + tokens + ", pair=" + pair + "]";
+    }
+
+    /**
+     * State of one scan
+     */
+    private final class Scan {
+        private final String replacement;
+        private final StringBuilder out;
+        private final Writer writer;
+        /**
+         * pair mode: text since the begToken of the current pair, null when outside a pair
+         */
+        private StringBuilder held;
+        private int state;
+        /**
+         * token mode: output range of the leftmost-longest match found so far, not replaced yet; -1 when none
+         */
+        private int matchStart = -1;
+        private int matchEnd;
+
+        private Scan(final String replacement, final StringBuilder out, final Writer writer) {
+            this.replacement = replacement;
+            this.out = out;
+            this.writer = writer;
+        }
+
+        private void accept(final char c) {
+            state = delta[state * classCount + classOf(c)];
+            if (held != null) {
+                held.append(c);
+                if ((matchKinds[state] & END) != 0) {
+                    out.append(replacement);
+                    held = null;
+                    state = 0;
+                }
+                return;
+            }
+            out.append(c);
+            final int length = matchLength[state];
+            if (!pair) {
+                if (length > 0 && (matchStart < 0 || out.length() - length <= matchStart)) {
+                    matchStart = out.length() - length;
+                    matchEnd = out.length();
+                }
+                // the earliest token still in progress starts at out.length() - depth[state]
+                if (matchStart >= 0 && (out.length() - depth[state] > matchStart
+                        || leaf[state] && matchEnd == out.length() && out.length() - depth[state] == matchStart)) {
+                    replaceMatch();
+                }
+            } else if (length > 0 && (matchKinds[state] & BEG) != 0) {
+                final String begToken = tokens.get(0);
+                out.setLength(out.length() - begToken.length());
+                held = new StringBuilder(begToken);
+                state = 0;
+            }
+        }
+
+        /**
+         * Replaces the pending match, then scans again the characters that followed it
+         */
+        private void replaceMatch() {
+            final String rest = out.substring(matchEnd);
+            out.setLength(matchStart);
+            out.append(replacement);
+            matchStart = -1;
+            state = 0;
+            for (int i = 0; i < rest.length(); i++) {
+                accept(rest.charAt(i));
+            }
+        }
+
+        private StringBuilder finish() {
+            while (matchStart >= 0) {
+                replaceMatch();
+            }
+            if (held != null) {
+                out.append(held);
+                held = null;
+            }
+            state = 0;
+            return out;
+        }
+
+        /**
+         * Writes the output characters no later token can take back
+         */
+        private void drain(final boolean all) throws IOException {
+            int safe = all || held != null ? out.length() : out.length() - depth[state];
+            if (matchStart >= 0) {
+                safe = Math.min(safe, matchStart);
+            }
+            if (safe > 0 && (all || out.length() >= IO_BUFFER_SIZE)) {
+                writer.append(out, 0, safe);
+                out.delete(0, safe);
+                if (matchStart >= 0) {
+                    matchStart -= safe;
+                    matchEnd -= safe;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.company.app.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.StringUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Raw url holding "{key}" placeholders, parsed once into its literal and placeholder segments. Expanding it is a single
+ * pass appending the segments to a builder sized up front, instead of a full replace pass over the url per key.
+ * <p>
+ * Instances are immutable and thread-safe; {@link #of(String)} caches them by raw url.
+ *
+ * @since 10/17/2026
+ *
+ */
+public class UrlTemplate {
+
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+    /**
+     * guess of the length of an expanded value, used to size the builder
+     */
+    private static final int EXPECTED_VALUE_LENGTH = 16;
+    private static final LoadingCache<String, UrlTemplate> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_TEMPLATES).build(CacheLoader.from(UrlTemplate::new));
+
+    private final String rawUrl;
+    /**
+     * literals[i] comes before names[i]; the last literal follows the last placeholder
+     */
+    private final String[] literals;
+    private final String[] names;
+    private final int expectedLength;
+
+    private UrlTemplate(final String rawUrl) {
+        this.rawUrl = rawUrl;
+        final List<String> literalList = new ArrayList<>();
+        final List<String> nameList = new ArrayList<>();
+        int literalStart = 0;
+        int open = rawUrl.indexOf('{');
+        while (open >= 0) {
+            final int close = rawUrl.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            final int nestedOpen = rawUrl.lastIndexOf('{', close);
+            literalList.add(rawUrl.substring(literalStart, nestedOpen));
+            nameList.add(rawUrl.substring(nestedOpen + 1, close));
+            literalStart = close + 1;
+            open = rawUrl.indexOf('{', literalStart);
+        }
+        literalList.add(rawUrl.substring(literalStart));
+        this.literals = literalList.toArray(new String[0]);
+        this.names = nameList.toArray(new String[0]);
+        int literalLength = 0;
+        for (final String literal : literals) {
+            literalLength += literal.length();
+        }
+        this.expectedLength = literalLength + names.length * EXPECTED_VALUE_LENGTH;
+    }
+
+    /**
+     * @param rawUrl url holding "{key}" placeholders
+     * @return the parsed template, from the cache when the raw url was already parsed
+     */
+    public static UrlTemplate of(final String rawUrl) {
+        Preconditions.checkArgument(rawUrl != null, "rawUrl must not be null");
+        return CACHE.getUnchecked(rawUrl);
+    }
+
+    /**
+     * Replaces each "{key}" placeholder by the whitespace-trimmed string value the map holds for the key. Placeholders
+     * whose key is not in the map are kept as they are. The values are not expanded in turn, even when they hold or,
+     * next to the surrounding literals, make up a placeholder.
+     *
+     * @param values placeholder values by key
+     * @return the expanded url
+     */
+    public String expand(final Map<String, ?> values) {
+        if (names.length == 0) {
+            return rawUrl;
+        }
+        final StringBuilder sb = new StringBuilder(expectedLength);
+        for (int i = 0; i < names.length; i++) {
+            sb.append(literals[i]);
+            final String name = names[i];
+            if (values.containsKey(name)) {
+                sb.append(StringUtils.trimWhitespace(String.valueOf(values.get(name))));
+            } else {
+                sb.append('{').append(name).append('}');
+            }
+        }
+        return sb.append(literals[names.length]).toString();
+    }
+
+    public String getRawUrl() {
+        return rawUrl;
+    }
+
+    /**
+     * @return the placeholder keys, in order of appearance
+     */
+    public List<String> getNames() {
+        final List<String> list = new ArrayList<>(names.length);
+        for (final String name : names) {
+            list.add(name);
+        }
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        return "UrlTemplate [" + rawUrl + "]";
+    }
+}
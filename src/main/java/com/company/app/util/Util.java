@@ -8,8 +8,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -18,6 +18,7 @@ import org.springframework.util.StringUtils;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 /**
@@ -31,6 +32,7 @@ public abstract class Util {
 
     private static final BigDecimal MAX_GEN_BIGDECIMAL = new BigDecimal("100");
     private static final String EMPTY_STRING = "";
+    private static final Pattern TOKEN_ENCLOSED_BY_PARENTHESIS = Pattern.compile("\\((?<content>[^()]+)\\)");
 
     /**
      * Calculates the number of batches based on the total number of records and batch size value
@@ -95,8 +97,8 @@ public abstract class Util {
      * @return generated random number
      */
     public static BigDecimal randomBigDecByScaleInClosedRange(final int min, final int max, final int scale) {
-        return new BigDecimal(String.valueOf(min + (Math.random() * (max - min + 1)))).setScale(scale,
-                RoundingMode.HALF_UP);
+        return new BigDecimal(String.valueOf(min + (ThreadLocalRandom.current().nextDouble() * (max - min + 1))))
+                .setScale(scale, RoundingMode.HALF_UP);
     }
 
     /**
@@ -110,8 +112,8 @@ public abstract class Util {
      */
     public static BigDecimal randomBigDecByScaleInClosedRange(final BigDecimal min, final BigDecimal max,
             final int scale) {
-        return min.add(new BigDecimal(Math.random()).multiply(max.subtract(min).add(BigDecimal.ONE))).setScale(scale,
-                BigDecimal.ROUND_HALF_UP);
+        return min.add(new BigDecimal(ThreadLocalRandom.current().nextDouble())
+                .multiply(max.subtract(min).add(BigDecimal.ONE))).setScale(scale, BigDecimal.ROUND_HALF_UP);
     }
 
     /**
@@ -153,7 +155,7 @@ public abstract class Util {
         if (min >= max) {
             throw new IllegalArgumentException("max must be greater than min");
         }
-        return min + new Random().nextInt(max - min + 1);
+        return min + ThreadLocalRandom.current().nextInt(max - min + 1);
     }
 
     /**
@@ -214,8 +216,7 @@ public abstract class Util {
      * @return the list of tokens, such as ["Z230", "X241", "X242", "F232"]
      */
     public static List<String> extractListOfTokensEnclosedByParenthesis(final String inStr) {
-        final Pattern p = Pattern.compile("\\((?<content>[^()]+)\\)");
-        final Matcher m = p.matcher(inStr);
+        final Matcher m = TOKEN_ENCLOSED_BY_PARENTHESIS.matcher(inStr);
         final List<String> outList = Lists.newArrayList();
         while (m.find()) {
             outList.add(m.group("content").trim());
@@ -230,8 +231,7 @@ public abstract class Util {
      * @return the set of tokens, such as ["Z230", "X241", "X242", "F232"]
      */
     public static Set<String> extractSetOfTokensEnclosedByParenthesis(final String inStr) {
-        final Pattern p = Pattern.compile("\\((?<content>[^()]+)\\)");
-        final Matcher m = p.matcher(inStr);
+        final Matcher m = TOKEN_ENCLOSED_BY_PARENTHESIS.matcher(inStr);
         final Set<String> outSet = Sets.newLinkedHashSet();
         while (m.find()) {
             outSet.add(m.group("content").trim());
@@ -281,7 +281,7 @@ public abstract class Util {
 
     /**
      * Replaces all occurrences of "{key}" tokens in a raw url with the "value" in the inMap corresponding to the key in
-     * the url and inMap
+     * the url and inMap. The raw url is parsed once and cached as a {@link UrlTemplate}
      * 
      * @param inUrl input raw url. Raw means that contains "{key}" tokens to be expanded as the corresponding "value"
      *            found in the inMap
@@ -289,30 +289,40 @@ public abstract class Util {
      * @return the expanded url with all "{key}" tokens replaced by their "value"s
      */
     public static String cookUrl(final String inUrl, final Map<String, Object> inMap) {
-        String expandedUrl = inUrl;
-        for (final Entry<String, Object> paramEntry : inMap.entrySet()) {
-            // use the inMap key-value pairs to replace each rawUrl's "{key}" token by its "value"
-            expandedUrl = StringUtils.replace(expandedUrl,
-                    Const.EMPTY_JOINER.join("{", StringUtils.trimWhitespace(paramEntry.getKey()), "}"),
-                    StringUtils.trimWhitespace(String.valueOf(paramEntry.getValue())));
+        return UrlTemplate.of(inUrl).expand(trimKeys(inMap));
+    }
+
+    /**
+     * @return the map itself when no key has surrounding whitespace, otherwise a copy with trimmed keys where the first
+     *         of several keys trimmed to the same key wins
+     */
+    private static Map<String, Object> trimKeys(final Map<String, Object> inMap) {
+        for (final String key : inMap.keySet()) {
+            if (!key.equals(StringUtils.trimWhitespace(key))) {
+                final Map<String, Object> trimmed = Maps.newHashMapWithExpectedSize(inMap.size());
+                for (final Entry<String, Object> paramEntry : inMap.entrySet()) {
+                    final String trimmedKey = StringUtils.trimWhitespace(paramEntry.getKey());
+                    // not putIfAbsent, which would let a later key replace a null value
+                    if (!trimmed.containsKey(trimmedKey)) {
+                        trimmed.put(trimmedKey, paramEntry.getValue());
+                    }
+                }
+                return trimmed;
+            }
         }
-        return expandedUrl;
+        return inMap;
     }
 
     /**
-     * Removes from the passed String all elements of passed tokens array
+     * Removes from the passed String all elements of passed tokens array, in a single pass. Overlapping tokens are
+     * matched leftmost-longest (see {@link TokenScanner})
      * 
      * @param str original string
      * @param tokens list whose elements must be removed from passed string
      * @return passed string with tokens removed
      */
-    public static String removeTokens(String str, final List<String> tokens) {
-        if (str != null) {
-            for (final String token : tokens) {
-                str = str.replace(token, EMPTY_STRING);
-            }
-        }
-        return str;
+    public static String removeTokens(final String str, final List<String> tokens) {
+        return str == null ? null : TokenScanner.of(tokens).remove(str);
     }
 
     /**
@@ -326,18 +336,10 @@ public abstract class Util {
      * @param endToken marker string.
      * @return passed string without tokens and surrounding substrings.
      */
-    public static String removeTokenPairAndDelimetedStr(String str, final String begToken, final String endToken) {
-        if (str != null) {
-            // a [begToken, endToken] pair can occur multiple times
-            while (str.indexOf(begToken) >= 0) {
-                // identify "begToken + surrounded string + endToken" string
-                final String begTokenPlusDelimetedStrPlusEndToken = str.substring(str.indexOf(begToken),
-                        str.indexOf(endToken) + endToken.length());
-                // remove "begToken + surrounded string + endToken" string
-                str = str.replace(begTokenPlusDelimetedStrPlusEndToken, EMPTY_STRING);
-            }
-        }
-        return str;
+    public static String removeTokenPairAndDelimetedStr(final String str, final String begToken,
+            final String endToken) {
+        // a [begToken, endToken] pair can occur multiple times; all are removed in one pass
+        return str == null ? null : TokenScanner.ofPair(begToken, endToken).remove(str);
     }
 
     /**
@@ -366,18 +368,9 @@ public abstract class Util {
      * @param new string that will replace the beg and end Token pair plus the string enclosed between them
      * @return passed string without tokens and surrounded substring
      */
-    public static String replaceTokenPairAndDelimetedStr(String str, final String begToken, final String endToken,
-            final String newStr) {
-        if (str != null) {
-            // a [begToken, endToken] pair can occur multiple times
-            while (str.indexOf(begToken) >= 0) {
-                // identify "begToken + surrounded string + endToken" string
-                final String begTokenPlusDelimetedStrPlusEndToken = str.substring(str.indexOf(begToken),
-                        str.indexOf(endToken) + endToken.length());
-                // replace "begToken + surrounded string + endToken" string
-                str = str.replace(begTokenPlusDelimetedStrPlusEndToken, newStr);
-            }
-        }
-        return str;
+    public static String replaceTokenPairAndDelimetedStr(final String str, final String begToken,
+            final String endToken, final String newStr) {
+        // a [begToken, endToken] pair can occur multiple times; all are replaced in one pass
+        return str == null ? null : TokenScanner.ofPair(begToken, endToken).replace(str, newStr);
     }
 }
@@ -0,0 +1,116 @@
+package com.company.app.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.company.app.exception.AppBatchJobException;
+import com.company.app.service.DedupLambdaService;
+import com.company.app.service.LambdaService;
+import com.company.app.service.SimpleLambdaService;
+import com.company.app.to.DataTo;
+import com.company.app.util.DedupIndex;
+import com.company.app.util.FileMetadata;
+
+public class BatchJobEngineTest {
+
+    private static final int RECORDS = 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileMetadata file(final String filename) {
+        return FileMetadata.builder().path(new File(folder.getRoot(), filename).getPath()).build();
+    }
+
+    private FileMetadata input() {
+        final FileMetadata input = file("input.csv");
+        try (final DataToCsvWriter writer = DataToCsvWriter.builder().fileMetadata(input).build()) {
+            for (int i = 0; i < RECORDS; i++) {
+                writer.write(DataTo.builder().id("id" + i).name("name" + i).date(LocalDate.of(2018, 1, 1 + i % 28))
+                        .amount(BigDecimal.valueOf(i, 2)).customerName("customer" + i % 3).transactionType("T")
+                        .build());
+            }
+        }
+        return input;
+    }
+
+    private static List<DataTo> read(final FileMetadata output) {
+        final List<DataTo> read = new ArrayList<>();
+        DataToCsvReader.builder().fileMetadata(output).build().forEachOrdered(read::add);
+        return read;
+    }
+
+    @Test
+    public void calculatesEveryRecordInOrder() {
+        final FileMetadata input = input();
+        final FileMetadata output = file("output.csv");
+
+        final BatchJobReport report = BatchJobEngine.builder().service(new SimpleLambdaService()).batchSize(64)
+                .maxInFlightBatches(3).build().run(input, output);
+
+        final List<DataTo> expected = new ArrayList<>();
+        for (final DataTo dataTo : read(input)) {
+            expected.add(new SimpleLambdaService().calc(dataTo));
+        }
+        assertEquals(expected, read(output));
+        assertEquals(RECORDS, report.getTotalRecords());
+    }
+
+    @Test
+    public void failedRunForgetsItsDedupIds() throws InterruptedException {
+        final FileMetadata input = input();
+        final FileMetadata output = file("output.csv");
+        final DedupIndex index = DedupIndex.builder().expectedIds(RECORDS).offHeap(false).build();
+        final AtomicInteger batches = new AtomicInteger();
+        final LambdaService failing = new SimpleLambdaService() {
+            @Override
+            public List<DataTo> calcBatch(final List<DataTo> dataTos) {
+                if (batches.incrementAndGet() == 5) {
+                    throw new IllegalStateException("batch failed");
+                }
+                return super.calcBatch(dataTos);
+            }
+        };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            BatchJobEngine.builder().service(new DedupLambdaService(failing, index)).executor(executor).batchSize(64)
+                    .maxInFlightBatches(3).build().run(input, output);
+            fail("the run should have failed");
+        } catch (final AppBatchJobException e) {
+            assertFalse(new File(output.getPath()).exists());
+        }
+        // batches still running when the run failed forget their ids once done
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        assertEquals(0, index.getSize());
+
+        // the rerun calculates every record instead of dropping them as duplicates
+        final BatchJobReport report = BatchJobEngine.builder()
+                .service(new DedupLambdaService(new SimpleLambdaService(), index)).batchSize(64).build()
+                .run(input, output);
+        assertEquals(RECORDS, report.getTotalRecords());
+        assertEquals(RECORDS, read(output).size());
+        assertEquals(RECORDS, index.getSize());
+
+        // a third run of the committed file is all duplicates
+        final FileMetadata again = file("again.csv");
+        assertEquals(0, BatchJobEngine.builder().service(new DedupLambdaService(new SimpleLambdaService(), index))
+                .build().run(input, again).getTotalRecords());
+    }
+}
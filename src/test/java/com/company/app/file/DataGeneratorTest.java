@@ -0,0 +1,132 @@
+package com.company.app.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.company.app.to.DataTo;
+import com.company.app.util.FileMetadata;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+public class DataGeneratorTest {
+
+    private static final long SEED = 42;
+    private static final int RECORDS = 2500;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static DataGenerator.Builder builder() {
+        return DataGenerator.builder().seed(SEED).recordCount(RECORDS);
+    }
+
+    private static List<DataTo> generate(final DataGenerator generator) {
+        final List<DataTo> records = new ArrayList<>();
+        generator.forEachChunk(records::addAll);
+        return records;
+    }
+
+    private byte[] csv(final DataGenerator generator) throws IOException {
+        final String path = new File(folder.newFolder(), "records.csv").getPath();
+        generator.writeCsv(FileMetadata.builder().path(path).build(), true);
+        return Files.readAllBytes(Paths.get(path));
+    }
+
+    private byte[] ndjson(final DataGenerator generator) throws IOException {
+        final String path = new File(folder.newFolder(), "records.json").getPath();
+        generator.writeNdjson(FileMetadata.builder().path(path).build(), new ObjectMapper().registerModule(
+                new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        return Files.readAllBytes(Paths.get(path));
+    }
+
+    @Test
+    public void generatesTheSameRecordsWhateverTheChunksAndThreads() throws IOException {
+        final List<DataTo> expected = generate(builder().chunkRecords(RECORDS).executor(ForkJoinPool.commonPool())
+                .build());
+        assertEquals(RECORDS, expected.size());
+        final byte[] expectedCsv = csv(builder().chunkRecords(RECORDS).build());
+        final byte[] expectedNdjson = ndjson(builder().chunkRecords(RECORDS).build());
+
+        for (final int threads : new int[] { 1, 3, 8 }) {
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                for (final int chunkRecords : new int[] { 1, 7, 100, 1000, 10000 }) {
+                    final String settings = threads + " threads, chunks of " + chunkRecords;
+                    final DataGenerator generator = builder().chunkRecords(chunkRecords).executor(executor)
+                            .maxInFlightChunks(threads).build();
+                    assertEquals(settings, expected, generate(generator));
+                    assertArrayEquals(settings, expectedCsv, csv(generator));
+                    assertArrayEquals(settings, expectedNdjson, ndjson(generator));
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void generatesAPrefixForFewerRecords() {
+        final List<DataTo> all = generate(builder().chunkRecords(300).build());
+        assertEquals(all.subList(0, 1000), generate(builder().recordCount(1000).chunkRecords(64).build()));
+        assertEquals(all.subList(0, 1), generate(builder().recordCount(1).build()));
+        assertTrue(generate(builder().recordCount(0).build()).isEmpty());
+    }
+
+    @Test
+    public void generatesOtherRecordsForAnotherSeed() {
+        final List<DataTo> records = generate(builder().build());
+        final List<DataTo> other = generate(builder().seed(SEED + 1).build());
+        assertNotEquals(records, other);
+        for (int i = 0; i < RECORDS; i++) {
+            // same ids
+            assertEquals(Long.toString(i + 1), records.get(i).getId());
+            assertEquals(records.get(i).getId(), other.get(i).getId());
+        }
+    }
+
+    @Test
+    public void drawsTheValuesFromTheRangesAndPools() {
+        final LocalDate minDate = LocalDate.of(2018, 1, 1);
+        final LocalDate maxDate = LocalDate.of(2018, 1, 31);
+        final List<String> names = Arrays.asList("a", "b");
+        final List<DataTo> records = generate(builder().amountCentsRange(-500, 500).dateRange(minDate, maxDate)
+                .names(names).customerNames(Arrays.asList("c")).transactionTypes(Arrays.asList("t1", "t2", "t3"))
+                .fixedPointAmounts(false).build());
+        boolean negative = false;
+        for (final DataTo dataTo : records) {
+            assertFalse(dataTo.isFixedPointAmount());
+            assertEquals(2, dataTo.getAmount().scale());
+            assertTrue(dataTo.getAmount().abs().movePointRight(2).intValueExact() <= 500);
+            negative |= dataTo.getAmount().signum() < 0;
+            assertFalse(dataTo.getDate().isBefore(minDate) || dataTo.getDate().isAfter(maxDate));
+            assertTrue(names.contains(dataTo.getName()));
+            assertEquals("c", dataTo.getCustomerName());
+            assertTrue(Arrays.asList("t1", "t2", "t3").contains(dataTo.getTransactionType()));
+        }
+        assertTrue(negative);
+        // the amount representation does not change the values
+        assertEquals(records, generate(builder().amountCentsRange(-500, 500).dateRange(minDate, maxDate)
+                .names(names).customerNames(Arrays.asList("c")).transactionTypes(Arrays.asList("t1", "t2", "t3"))
+                .build()));
+    }
+}
@@ -0,0 +1,144 @@
+package com.company.app.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.company.app.file.DataToColumnar.Column;
+import com.company.app.file.DataToColumnar.RowGroupStats;
+import com.company.app.to.DataTo;
+import com.company.app.util.FileMetadata;
+
+public class DataToColumnarTest {
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2018, 1, 1);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String write(final List<DataTo> records, final int rowGroupSize) {
+        final String path = new File(folder.getRoot(), "data." + DataToColumnar.EXT).getPath();
+        try (final DataToColumnarWriter writer = DataToColumnarWriter.builder()
+                .fileMetadata(FileMetadata.builder().path(path).build()).rowGroupSize(rowGroupSize).build()) {
+            records.forEach(writer::write);
+        }
+        return path;
+    }
+
+    private static List<DataTo> read(final DataToColumnarReader reader) {
+        final List<DataTo> read = new ArrayList<>();
+        reader.forEach(read::add);
+        return read;
+    }
+
+    /**
+     * One record per day, with nulls in every column of every fifth record and amounts of mixed scales
+     */
+    private static List<DataTo> records(final int count) {
+        final List<DataTo> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final boolean nulls = i % 5 == 4;
+            records.add(DataTo.builder().id(nulls ? null : "id" + i).name(nulls ? null : "name" + i)
+                    .date(nulls ? null : FIRST_DATE.plusDays(i))
+                    .amount(nulls ? null : BigDecimal.valueOf(i * 1001L - 5000, i % 3))
+                    .customerName(nulls ? null : "customer" + i % 7).transactionType(nulls ? null : "type" + i % 2)
+                    .build());
+        }
+        return records;
+    }
+
+    @Test
+    public void roundTripsRecordsWithNullsAndMixedScales() {
+        final List<DataTo> records = records(1000);
+        final String path = write(records, 128);
+
+        final List<DataTo> read = read(DataToColumnarReader.builder().path(path).build());
+
+        assertEquals(records, read);
+        for (int i = 0; i < records.size(); i++) {
+            final BigDecimal amount = records.get(i).getAmount();
+            if (amount != null) {
+                assertEquals(amount.scale(), read.get(i).getAmount().scale());
+            }
+        }
+    }
+
+    @Test
+    public void roundTripsAmountsTooLargeForALong() {
+        final List<DataTo> records = new ArrayList<>();
+        records.add(DataTo.builder().id("small").amount(new BigDecimal("1.5")).build());
+        records.add(DataTo.builder().id("large").amount(new BigDecimal("123456789012345678901234567890.12")).build());
+        assertEquals(records, read(DataToColumnarReader.builder().path(write(records, 16)).build()));
+    }
+
+    @Test
+    public void readsOnlyTheSelectedColumns() {
+        final List<DataTo> records = records(300);
+        final String path = write(records, 64);
+
+        final List<DataTo> read = read(DataToColumnarReader.builder().path(path).columns(Column.ID, Column.AMOUNT)
+                .build());
+
+        assertEquals(records.size(), read.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(records.get(i).getId(), read.get(i).getId());
+            assertEquals(records.get(i).getAmount(), read.get(i).getAmount());
+            assertNull(read.get(i).getName());
+            assertNull(read.get(i).getDate());
+        }
+    }
+
+    @Test
+    public void keepsRowGroupStatsAndSkipsFilteredRowGroups() {
+        final List<DataTo> records = records(1000);
+        final String path = write(records, 100);
+        final DataToColumnarReader all = DataToColumnarReader.builder().path(path).build();
+
+        final List<RowGroupStats> rowGroups = all.getRowGroups();
+        assertEquals(10, rowGroups.size());
+        assertEquals(FIRST_DATE, rowGroups.get(0).getMinDate());
+        assertEquals(FIRST_DATE.plusDays(98), rowGroups.get(0).getMaxDate());
+        assertEquals(0, new BigDecimal("-5000").compareTo(rowGroups.get(0).getMinAmount()));
+
+        final LocalDate from = FIRST_DATE.plusDays(250);
+        final LocalDate to = FIRST_DATE.plusDays(420);
+        final List<DataTo> read = read(DataToColumnarReader.builder().path(path)
+                .rowGroupFilter(stats -> stats.overlapsDates(from, to)).build());
+
+        // whole row groups 2, 3 and 4 hold the dates of the range
+        assertEquals(records.subList(200, 500), read);
+        assertTrue(rowGroups.get(1).getMaxDate().isBefore(from) && rowGroups.get(5).getMinDate().isAfter(to));
+    }
+
+    @Test
+    public void abortedWriterLeavesNoFile() {
+        final String path = new File(folder.getRoot(), "aborted." + DataToColumnar.EXT).getPath();
+        final FileMetadata fileMetadata = FileMetadata.builder().path(path).build();
+        try (final DataToColumnarWriter writer = DataToColumnarWriter.builder().fileMetadata(fileMetadata).build()) {
+            records(10).forEach(writer::write);
+            writer.abort();
+        }
+        assertFalse(new File(path).exists());
+        assertFalse(new File(fileMetadata.getPathWithTempExtension()).exists());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsWritesAfterClose() {
+        final String path = new File(folder.getRoot(), "closed." + DataToColumnar.EXT).getPath();
+        final DataToColumnarWriter writer = DataToColumnarWriter.builder()
+                .fileMetadata(FileMetadata.builder().path(path).build()).build();
+        writer.close();
+        writer.write(records(1).get(0));
+    }
+}
@@ -0,0 +1,187 @@
+package com.company.app.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.company.app.to.DataTo;
+import com.company.app.util.Const;
+import com.company.app.util.FileMetadata;
+
+public class DataToCsvTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String path(final String filename) {
+        return new File(folder.getRoot(), filename).getPath();
+    }
+
+    private static List<DataTo> records(final int count) {
+        final List<DataTo> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(DataTo.builder().id("id" + i).name(i % 10 == 0 ? "näme ☃ " + i : "name" + i)
+                    .amount(BigDecimal.valueOf(i * 37L - 900, i % 4)).date(LocalDate.of(2017 + i % 3, 1 + i % 12,
+                            1 + i % 28)).customerName("customer" + i % 5).transactionType("T" + i % 2).build());
+        }
+        return records;
+    }
+
+    private String write(final String filename, final List<DataTo> records, final int bufferSizeBytes) {
+        final String path = path(filename);
+        try (final DataToCsvWriter writer = DataToCsvWriter.builder().fileMetadata(FileMetadata.builder().path(path)
+                .build()).bufferSizeBytes(bufferSizeBytes).build()) {
+            records.forEach(writer::write);
+        }
+        return path;
+    }
+
+    private static List<DataTo> readOrdered(final DataToCsvReader reader) {
+        final List<DataTo> read = new ArrayList<>();
+        reader.forEachOrdered(read::add);
+        return read;
+    }
+
+    /**
+     * The line-by-line parsing the reader replaces: split on commas, trim, M/d/yyyy dates
+     */
+    private static List<DataTo> parseLines(final String path) throws IOException {
+        final List<DataTo> parsed = new ArrayList<>();
+        final List<String> lines = Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8);
+        for (final String line : lines.subList(1, lines.size())) {
+            final List<String> fields = Const.CSV_SPLITTER.splitToList(line);
+            parsed.add(DataTo.builder().id(fields.get(0)).name(fields.get(1)).amount(new BigDecimal(fields.get(2)))
+                    .date(LocalDate.parse(fields.get(3), Const.DATE_FMT_MDYYYY)).customerName(fields.get(4))
+                    .transactionType(fields.get(5)).build());
+        }
+        return parsed;
+    }
+
+    @Test
+    public void roundTrips() throws IOException {
+        final List<DataTo> records = records(2000);
+        final String path = write("data.csv", records, 1024);
+
+        assertTrue(new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8)
+                .startsWith(Const.FILE_HEADER_NAMES_STR + "\n"));
+        assertEquals(records, parseLines(path));
+        assertEquals(records, readOrdered(DataToCsvReader.builder().path(path).build()));
+        assertEquals(records.size(), DataToCsvReader.builder().path(path).build().countRecords());
+    }
+
+    @Test
+    public void readsAcrossChunkBoundaries() {
+        final List<DataTo> records = records(500);
+        final String path = write("data.csv", records, 1024);
+        // chunks shorter than a line, of a few lines, and splitting multi-byte characters
+        for (final int chunkSizeBytes : Arrays.asList(7, 64, 100, 333, 4096)) {
+            final DataToCsvReader reader = DataToCsvReader.builder().path(path).chunkSizeBytes(chunkSizeBytes).build();
+            assertEquals("chunk " + chunkSizeBytes, records, readOrdered(reader));
+            assertEquals("chunk " + chunkSizeBytes, records.size(), reader.countRecords());
+
+            final ConcurrentLinkedQueue<DataTo> unordered = new ConcurrentLinkedQueue<>();
+            assertEquals(records.size(), reader.forEach(unordered::add));
+            assertEquals(sorted(records), sorted(new ArrayList<>(unordered)));
+
+            final List<List<DataTo>> chunks = reader.processChunks(ArrayList::new, List::add);
+            final List<DataTo> concatenated = new ArrayList<>();
+            chunks.forEach(concatenated::addAll);
+            assertEquals(records, concatenated);
+        }
+    }
+
+    @Test
+    public void honorsTheHeaderColumnOrder() throws IOException {
+        final String path = path("reordered.csv");
+        Files.write(Paths.get(path), Arrays.asList("transactionType, date, id, customerName, amount, name",
+                "T1, 12/3/2018, A-1, ACME, 12.50, Invoice 1", "T2,1/9/2018,A-2,Initech,-3,Invoice 2"),
+                StandardCharsets.UTF_8);
+
+        assertEquals(Arrays.asList(
+                DataTo.builder().id("A-1").name("Invoice 1").amount(new BigDecimal("12.50"))
+                        .date(LocalDate.of(2018, 12, 3)).customerName("ACME").transactionType("T1").build(),
+                DataTo.builder().id("A-2").name("Invoice 2").amount(new BigDecimal("-3"))
+                        .date(LocalDate.of(2018, 1, 9)).customerName("Initech").transactionType("T2").build()),
+                readOrdered(DataToCsvReader.builder().path(path).chunkSizeBytes(16).build()));
+    }
+
+    @Test
+    public void readsFilesWithoutHeaderAndWithCrlf() throws IOException {
+        final String path = path("noheader.csv");
+        Files.write(Paths.get(path), "A-1,Invoice 1,12.50,12/3/2018,ACME,T1\r\n\r\nA-2,Invoice 2,-3,1/9/2018,ACME,T2\r\n"
+                .getBytes(StandardCharsets.UTF_8));
+
+        final List<DataTo> read = readOrdered(DataToCsvReader.builder().path(path).build());
+
+        assertEquals(2, read.size());
+        assertEquals("T1", read.get(0).getTransactionType());
+        assertEquals(LocalDate.of(2018, 1, 9), read.get(1).getDate());
+        assertEquals(2, DataToCsvReader.builder().path(path).build().countRecords());
+    }
+
+    @Test
+    public void readsFixedPointAmounts() {
+        final List<DataTo> records = records(300);
+        final String path = write("data.csv", records, 1024);
+
+        final List<DataTo> read = readOrdered(DataToCsvReader.builder().path(path).fixedPointAmounts(true).build());
+
+        assertEquals(records, read);
+        assertTrue(read.stream().allMatch(DataTo::isFixedPointAmount));
+    }
+
+    @Test
+    public void writesFixedPointAmountsLikeBigDecimals() throws IOException {
+        final DataTo bigDecimal = records(1).get(0);
+        final DataTo fixedPoint = bigDecimal.withFixedPointAmount(-123405, 3);
+        final String path = write("fixed.csv", Arrays.asList(bigDecimal.withAmount(new BigDecimal("-123.405")),
+                fixedPoint), 1024);
+
+        final List<String> lines = Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8);
+        assertEquals(lines.get(1), lines.get(2));
+        assertTrue(lines.get(1).contains(",-123.405,"));
+    }
+
+    @Test
+    public void abortedWriterLeavesNoFile() {
+        final FileMetadata fileMetadata = FileMetadata.builder().path(path("aborted.csv")).build();
+        try (final DataToCsvWriter writer = DataToCsvWriter.builder().fileMetadata(fileMetadata).build()) {
+            records(10).forEach(writer::write);
+            writer.abort();
+        }
+        assertFalse(new File(fileMetadata.getPath()).exists());
+        assertFalse(new File(fileMetadata.getPathWithTempExtension()).exists());
+    }
+
+    @Test
+    public void writesNoRecordsAsHeaderOnly() throws IOException {
+        final String path = write("empty.csv", Collections.<DataTo> emptyList(), 1024);
+        assertEquals(Collections.singletonList(Const.FILE_HEADER_NAMES_STR),
+                Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8));
+        assertEquals(0, DataToCsvReader.builder().path(path).build().countRecords());
+    }
+
+    private static List<DataTo> sorted(final List<DataTo> records) {
+        final List<DataTo> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparing(DataTo::getId));
+        return sorted;
+    }
+}
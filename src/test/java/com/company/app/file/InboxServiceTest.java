@@ -0,0 +1,139 @@
+package com.company.app.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.company.app.service.SimpleLambdaService;
+import com.company.app.to.DataTo;
+import com.company.app.util.FileMetadata;
+
+public class InboxServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private InboxService inbox;
+
+    @After
+    public void stop() throws IOException, InterruptedException {
+        if (inbox != null) {
+            inbox.stop();
+        }
+    }
+
+    private File dir(final String name) {
+        return new File(folder.getRoot(), name);
+    }
+
+    private static List<DataTo> records(final String prefix) {
+        final List<DataTo> records = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            records.add(DataTo.builder().id(prefix + i).name("name" + i).date(LocalDate.of(2018, 1, 1 + i % 28))
+                    .amount(BigDecimal.valueOf(i, 2)).customerName("customer").transactionType("T").build());
+        }
+        return records;
+    }
+
+    /**
+     * Writes the file aside then moves it into the inbox, the way a producer should drop it
+     */
+    private void drop(final String filename, final List<DataTo> records) throws IOException {
+        final String staged = new File(dir("staging"), filename).getPath();
+        try (final DataToCsvWriter writer = DataToCsvWriter.builder()
+                .fileMetadata(FileMetadata.builder().path(staged).build()).build()) {
+            records.forEach(writer::write);
+        }
+        Files.move(new File(staged).toPath(), new File(dir("inbox"), filename).toPath(),
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static List<DataTo> read(final File file) {
+        final List<DataTo> read = new ArrayList<>();
+        DataToCsvReader.builder().path(file.getPath()).build().forEachOrdered(read::add);
+        return read;
+    }
+
+    @Test
+    public void processesDroppedFilesAndMovesThem() throws IOException, InterruptedException {
+        dir("staging").mkdirs();
+        final SimpleLambdaService service = new SimpleLambdaService() {
+            @Override
+            public DataTo calc(final DataTo dataTo) {
+                if (dataTo.getId().startsWith("bad")) {
+                    throw new IllegalArgumentException("bad record " + dataTo.getId());
+                }
+                return super.calc(dataTo);
+            }
+        };
+        inbox = new InboxService(service, dir("inbox").getPath(), dir("outbox").getPath(), dir("archive").getPath(),
+                dir("error").getPath(), 50, 16);
+        inbox.start();
+
+        drop("good.csv", records("good"));
+        await(() -> inbox.getProcessedCount() == 1);
+
+        final List<DataTo> expected = new ArrayList<>();
+        for (final DataTo dataTo : records("good")) {
+            expected.add(new SimpleLambdaService().calc(dataTo));
+        }
+        assertEquals(expected, read(new File(dir("outbox"), "good.csv")));
+        final String[] archived = dir("archive").list();
+        assertEquals(1, archived.length);
+        assertTrue(archived[0], archived[0].startsWith("good_") && archived[0].endsWith(".csv"));
+        assertEquals(records("good"), read(new File(dir("archive"), archived[0])));
+
+        drop("bad.csv", records("bad"));
+        await(() -> inbox.getFailedCount() == 1);
+
+        final String[] failed = dir("error").list();
+        assertEquals(1, failed.length);
+        assertTrue(failed[0], failed[0].startsWith("bad_"));
+        assertEquals(0, dir("inbox").list().length);
+        assertEquals(1, dir("outbox").list().length);
+
+        // still running after the failure
+        drop("again.csv", records("again"));
+        await(() -> inbox.getProcessedCount() == 2);
+        assertEquals(0, dir("inbox").list().length);
+    }
+
+    @Test
+    public void processesFilesDroppedBeforeTheStart() throws IOException, InterruptedException {
+        dir("staging").mkdirs();
+        dir("inbox").mkdirs();
+        drop("early.csv", records("early"));
+        // not a csv file: left alone
+        Files.write(new File(dir("inbox"), "notes.txt").toPath(), "notes".getBytes());
+
+        inbox = new InboxService(new SimpleLambdaService(), dir("inbox").getPath(), dir("outbox").getPath(),
+                dir("archive").getPath(), dir("error").getPath(), 50, 16);
+        inbox.start();
+
+        await(() -> inbox.getProcessedCount() == 1);
+        assertEquals(100, read(new File(dir("outbox"), "early.csv")).size());
+        assertEquals(1, dir("inbox").list().length);
+    }
+}
@@ -0,0 +1,185 @@
+package com.company.app.rule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.company.app.exception.AppRuleParseException;
+import com.company.app.to.DataTo;
+import com.company.app.util.Util;
+
+public class RuleEngineTest {
+
+    private static final List<String> TOKENS = Arrays.asList("Z230", "X241", "X242", "F 232", "a&&b", "c||d", "!e");
+
+    /**
+     * Expression tree generated at random, rendered as text and evaluated directly as the reference
+     */
+    private static final class Expr {
+        private final char op;
+        private final String token;
+        private final List<Expr> operands;
+
+        private Expr(final char op, final String token, final List<Expr> operands) {
+            this.op = op;
+            this.token = token;
+            this.operands = operands;
+        }
+
+        private static Expr random(final Random random, final int depth) {
+            final int kind = depth == 0 ? 0 : random.nextInt(4);
+            if (kind == 0) {
+                return new Expr('t', TOKENS.get(random.nextInt(TOKENS.size())), null);
+            }
+            if (kind == 1) {
+                return new Expr('!', null, Collections.singletonList(random(random, depth - 1)));
+            }
+            final List<Expr> operands = new ArrayList<>();
+            for (int i = 2 + random.nextInt(2); i > 0; i--) {
+                operands.add(random(random, depth - 1));
+            }
+            return new Expr(kind == 2 ? '&' : '|', null, operands);
+        }
+
+        private boolean eval(final Set<String> present) {
+            switch (op) {
+            case 't':
+                return present.contains(token);
+            case '!':
+                return !operands.get(0).eval(present);
+            case '&':
+                return operands.stream().allMatch(operand -> operand.eval(present));
+            default:
+                return operands.stream().anyMatch(operand -> operand.eval(present));
+            }
+        }
+
+        private String render(final Random random) {
+            final String space = random.nextBoolean() ? " " : "";
+            switch (op) {
+            case 't':
+                return "(" + space + token + space + ")";
+            case '!':
+                return "!" + space + unary(operands.get(0), random);
+            default:
+                final List<String> rendered = new ArrayList<>();
+                for (final Expr operand : operands) {
+                    rendered.add(unary(operand, random));
+                }
+                return String.join(space + (op == '&' ? "&&" : "||") + space, rendered);
+            }
+        }
+
+        private static String unary(final Expr expr, final Random random) {
+            final String rendered = expr.render(random);
+            return expr.op == '&' || expr.op == '|' || random.nextInt(5) == 0 ? "(" + rendered + ")" : rendered;
+        }
+    }
+
+    @Test
+    public void evaluatesRandomExpressions() {
+        final RuleEngine engine = new RuleEngine();
+        final Random random = new Random(5);
+        for (int i = 0; i < 2000; i++) {
+            final Expr expr = Expr.random(random, 1 + random.nextInt(4));
+            final String expression = expr.render(random);
+            final Rule rule = engine.compile(expression);
+            // same tokens as the regex extraction of the old helpers
+            assertEquals(expression, new ArrayList<>(Util.extractSetOfTokensEnclosedByParenthesis(expression)),
+                    new ArrayList<>(rule.getTokens()));
+            for (int mask = 0; mask < 1 << TOKENS.size(); mask++) {
+                final Set<String> present = new HashSet<>();
+                for (int t = 0; t < TOKENS.size(); t++) {
+                    if ((mask & 1 << t) != 0) {
+                        present.add(TOKENS.get(t));
+                    }
+                }
+                present.add("unused");
+                assertEquals(expression + " " + present, expr.eval(present), rule.matches(engine.presence(present)));
+            }
+        }
+    }
+
+    @Test
+    public void listsTokensLikeTheOldHelpers() {
+        final String expression = "(Z230) || ((X241) && (X242)) || ( F232 ) || !(Z230)";
+        assertEquals(Util.extractSetOfTokensEnclosedByParenthesis(expression),
+                new RuleEngine().compile(expression).getTokens());
+        assertEquals(Arrays.asList("Z230", "X241", "X242", "F232"),
+                new ArrayList<>(new RuleEngine().compile(expression).getTokens()));
+    }
+
+    @Test
+    public void filtersAndRoutesLikeASingleRecordEvaluation() {
+        final RuleEngine engine = new RuleEngine();
+        final String expression = "(Z230) || !((X241) || (X242))";
+        final List<DataTo> dataTos = new ArrayList<>();
+        for (final String transactionType : Arrays.asList("Z230", " X241 ", "X242", null, "", "other", "Z230",
+                "X241")) {
+            dataTos.add(DataTo.builder().id("id" + dataTos.size()).transactionType(transactionType).build());
+        }
+
+        final List<DataTo> expected = new ArrayList<>();
+        for (final DataTo dataTo : dataTos) {
+            final String transactionType = dataTo.getTransactionType();
+            final Set<String> present = Collections.singleton(transactionType == null ? "" : transactionType.trim());
+            if (present.contains("Z230") || !(present.contains("X241") || present.contains("X242"))) {
+                expected.add(dataTo);
+            }
+        }
+        assertEquals(expected, engine.filter(expression, dataTos));
+        assertEquals(Arrays.asList("id0", "id3", "id4", "id5", "id6"),
+                expected.stream().map(DataTo::getId).collect(Collectors.toList()));
+
+        final Map<String, String> routes = new LinkedHashMap<>();
+        routes.put("z", "(Z230)");
+        routes.put("x", "(X241) || (X242) || (Z230)");
+        routes.put("empty", "(none)");
+        final Map<String, List<DataTo>> routed = engine.route(routes, "default", dataTos);
+        assertEquals(Arrays.asList("z", "x", "empty", "default"), new ArrayList<>(routed.keySet()));
+        assertEquals(Arrays.asList(dataTos.get(0), dataTos.get(6)), routed.get("z"));
+        assertEquals(Arrays.asList(dataTos.get(1), dataTos.get(2), dataTos.get(7)), routed.get("x"));
+        assertTrue(routed.get("empty").isEmpty());
+        assertEquals(Arrays.asList(dataTos.get(3), dataTos.get(4), dataTos.get(5)), routed.get("default"));
+    }
+
+    @Test
+    public void compilesEachExpressionOnce() {
+        final RuleEngine engine = new RuleEngine();
+        final Rule rule = engine.compile("(a) && (b)");
+        assertSame(rule, engine.compile("(a) && (b)"));
+        assertEquals(1, engine.getRuleCount());
+        assertFalse(rule.matches(engine.presence(Arrays.asList("a", null))));
+        assertTrue(rule.matches(engine.presence(Arrays.asList("b", "a"))));
+    }
+
+    @Test
+    public void rejectsMalformedExpressions() {
+        final RuleEngine engine = new RuleEngine();
+        for (final String expression : Arrays.asList("", "a", "(a", "(a) ||", "|| (a)", "()", "( )", "(a) (b)",
+                "((a)", "(a))", "!", "(a) & (b)", "(a) && !", "((a) || )")) {
+            try {
+                engine.compile(expression);
+                fail(expression);
+            } catch (final AppRuleParseException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("[" + expression + "]"));
+            }
+        }
+        assertEquals(0, engine.getRuleCount());
+    }
+}
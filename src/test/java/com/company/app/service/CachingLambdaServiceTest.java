@@ -0,0 +1,135 @@
+package com.company.app.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.company.app.metrics.CalcCacheEndpoint;
+import com.company.app.to.DataTo;
+
+public class CachingLambdaServiceTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    /**
+     * Counts the calculations, failing the records whose id starts with "bad"
+     */
+    private final LambdaService target = new SimpleLambdaService() {
+        @Override
+        public DataTo calc(final DataTo dataTo) {
+            calls.incrementAndGet();
+            if (dataTo.getId().startsWith("bad")) {
+                throw new IllegalArgumentException("bad record " + dataTo.getId());
+            }
+            return super.calc(dataTo);
+        }
+    };
+
+    private static DataTo dataTo(final String id) {
+        return DataTo.builder().id(id).name("name").date(LocalDate.of(2018, 1, 2)).amount(new BigDecimal("12.34"))
+                .customerName("ACME").transactionType("T").build();
+    }
+
+    @Test
+    public void calculatesEachEqualInputOnce() {
+        final CachingLambdaService service = new CachingLambdaService(target, 100, 3600);
+        final DataTo first = service.calc(dataTo("a"));
+        assertEquals(new SimpleLambdaService().calc(dataTo("a")), first);
+        assertSame(first, service.calc(dataTo("a")));
+        service.calc(dataTo("b"));
+        assertEquals(2, calls.get());
+
+        // a fixed-point amount equal to the BigDecimal one, scale included, hits the same entry
+        final DataTo fixedPoint = DataTo.builder(dataTo("a")).fixedPointAmount(1234, 2).build();
+        assertSame(first, service.calc(fixedPoint));
+        // same value, other scale: not equal, so calculated
+        service.calc(DataTo.builder(dataTo("a")).amount(new BigDecimal("12.340")).build());
+        assertEquals(3, calls.get());
+
+        assertEquals(3, service.getSize());
+        assertEquals(2, service.getStats().hitCount());
+        assertEquals(3, service.getStats().missCount());
+        assertEquals(target, service.getTarget());
+        assertSame(service, LambdaServiceDecorator.find(service, CachingLambdaService.class));
+    }
+
+    @Test
+    public void boundsItsSize() {
+        final CachingLambdaService service = new CachingLambdaService(target, 10, 3600);
+        for (int i = 0; i < 100; i++) {
+            service.calc(dataTo("id" + i));
+        }
+        assertTrue(String.valueOf(service.getSize()), service.getSize() <= 10);
+        assertEquals(100 - service.getSize(), service.getStats().evictionCount());
+        // the most recent entries are kept
+        service.calc(dataTo("id99"));
+        assertEquals(100, calls.get());
+        service.calc(dataTo("id0"));
+        assertEquals(101, calls.get());
+    }
+
+    @Test
+    public void doesNotCacheFailures() {
+        final CachingLambdaService service = new CachingLambdaService(target, 100, 3600);
+        for (int i = 0; i < 2; i++) {
+            try {
+                service.calc(dataTo("bad1"));
+                fail("the record should have failed");
+            } catch (final IllegalArgumentException e) {
+                // the exception of the target, unwrapped
+                assertEquals("bad record bad1", e.getMessage());
+            }
+        }
+        assertEquals(2, calls.get());
+        assertEquals(0, service.getSize());
+        assertEquals(2, service.getStats().loadExceptionCount());
+        assertEquals(Arrays.asList(new SimpleLambdaService().calc(dataTo("a"))),
+                service.calcBatch(Arrays.asList(dataTo("a"))));
+    }
+
+    @Test
+    public void exposesItsStatsThruTheEndpoint() {
+        final CachingLambdaService service = new CachingLambdaService(target, 10, 3600);
+        // found behind other decorators
+        final CalcCacheEndpoint endpoint = new CalcCacheEndpoint(new LambdaServiceDecorator() {
+            @Override
+            public DataTo calc(final DataTo dataTo) {
+                return service.calc(dataTo);
+            }
+
+            @Override
+            public LambdaService getTarget() {
+                return service;
+            }
+        });
+        for (int i = 0; i < 20; i++) {
+            service.calc(dataTo("id" + i % 15));
+        }
+        Map<String, Object> stats = endpoint.stats();
+        assertEquals(Arrays.asList("enabled", "size", "hitCount", "missCount", "hitRate", "evictionCount",
+                "loadExceptionCount", "averageLoadPenaltyMicros"), Arrays.asList(stats.keySet().toArray()));
+        assertEquals(true, stats.get("enabled"));
+        assertEquals(service.getSize(), stats.get("size"));
+        assertEquals(service.getStats().hitCount(), stats.get("hitCount"));
+        assertEquals(service.getStats().missCount(), stats.get("missCount"));
+        assertEquals(20L, service.getStats().hitCount() + service.getStats().missCount());
+        assertEquals(service.getStats().hitRate(), (Double) stats.get("hitRate"), 1e-9);
+        assertEquals(service.getStats().evictionCount(), stats.get("evictionCount"));
+        assertEquals(0L, stats.get("loadExceptionCount"));
+
+        endpoint.invalidate();
+        stats = endpoint.stats();
+        assertEquals(0L, stats.get("size"));
+        assertEquals(false, new CalcCacheEndpoint(new SimpleLambdaService()).stats().get("enabled"));
+        assertEquals(1, new CalcCacheEndpoint(new SimpleLambdaService()).stats().size());
+    }
+}
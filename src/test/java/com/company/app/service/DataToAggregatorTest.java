@@ -0,0 +1,176 @@
+package com.company.app.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.company.app.service.DataToAggregator.Dimension;
+import com.company.app.service.DataToAggregator.Group;
+import com.company.app.to.DataTo;
+
+public class DataToAggregatorTest {
+
+    private static final List<Set<Dimension>> GROUP_BYS = Arrays.asList(EnumSet.of(Dimension.TRANSACTION_TYPE),
+            EnumSet.of(Dimension.CUSTOMER_NAME, Dimension.DATE), EnumSet.allOf(Dimension.class));
+
+    /**
+     * Records with null keys and amounts, amounts of mixed scales, fixed-point amounts, amounts too large for a long
+     * and sums that overflow a long
+     */
+    private static List<DataTo> records(final int count) {
+        final Random random = new Random(3);
+        final List<DataTo> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final DataTo.Builder builder = DataTo.builder().id("id" + i)
+                    .transactionType(random.nextInt(10) == 0 ? null : "T" + random.nextInt(3))
+                    .customerName(random.nextInt(10) == 0 ? null : "customer" + random.nextInt(4))
+                    .date(random.nextInt(10) == 0 ? null : LocalDate.of(2018, 1, 1 + random.nextInt(3)));
+            final int kind = random.nextInt(10);
+            if (kind == 0) {
+                builder.amount(null);
+            } else if (kind == 1) {
+                builder.amount(new BigDecimal("123456789012345678901234.5").negate().movePointLeft(random.nextInt(4)));
+            } else if (kind == 2) {
+                // fits a long, but two of them do not
+                builder.amount(BigDecimal.valueOf(900000000000000000L + random.nextInt(1000), random.nextInt(2)));
+            } else if (kind == 3) {
+                builder.fixedPointAmount(random.nextInt(2000000) - 1000000, random.nextInt(5));
+            } else {
+                // equal values at different scales, e.g. 1.5 and 1.50, tell which one a min or max keeps
+                final BigDecimal amount = BigDecimal.valueOf(random.nextInt(2001) - 1000, random.nextInt(3));
+                builder.amount(amount.setScale(amount.scale() + random.nextInt(2)));
+            }
+            records.add(builder.build());
+        }
+        return records;
+    }
+
+    /**
+     * BigDecimal reference: count, amount count, sum, and the first min and max met, per group
+     */
+    private static Map<Map<String, Object>, Object[]> reference(final Set<Dimension> groupBy,
+            final List<DataTo> records) {
+        final Map<Map<String, Object>, Object[]> groups = new LinkedHashMap<>();
+        for (final DataTo dataTo : records) {
+            final Map<String, Object> key = new LinkedHashMap<>();
+            if (groupBy.contains(Dimension.TRANSACTION_TYPE)) {
+                key.put("transactionType", dataTo.getTransactionType());
+            }
+            if (groupBy.contains(Dimension.CUSTOMER_NAME)) {
+                key.put("customerName", dataTo.getCustomerName());
+            }
+            if (groupBy.contains(Dimension.DATE)) {
+                key.put("date", dataTo.getDate());
+            }
+            final Object[] stats = groups.computeIfAbsent(key, k -> new Object[] { 0L, 0L, null, null, null });
+            stats[0] = (Long) stats[0] + 1;
+            final BigDecimal amount = dataTo.getAmount();
+            if (amount != null) {
+                stats[1] = (Long) stats[1] + 1;
+                stats[2] = stats[2] == null ? amount : ((BigDecimal) stats[2]).add(amount);
+                stats[3] = stats[3] == null || ((BigDecimal) stats[3]).compareTo(amount) > 0 ? amount : stats[3];
+                stats[4] = stats[4] == null || ((BigDecimal) stats[4]).compareTo(amount) < 0 ? amount : stats[4];
+            }
+        }
+        return groups;
+    }
+
+    private static void assertAggregates(final Set<Dimension> groupBy, final List<DataTo> records,
+            final DataToAggregator aggregator) {
+        final Map<Map<String, Object>, Object[]> expected = reference(groupBy, records);
+        assertEquals(records.size(), aggregator.getRecordCount());
+        assertEquals(expected.size(), aggregator.getGroupCount());
+        final List<Group> groups = aggregator.getGroups();
+        assertEquals(expected.size(), groups.size());
+        for (final Group group : groups) {
+            final Object[] stats = expected.get(group.getKey());
+            final String message = group.toString();
+            assertEquals(message, stats[0], group.getCount());
+            assertEquals(message, stats[1], group.getAmountCount());
+            // equals, so the scales must match as well
+            assertEquals(message, stats[2], group.getSum());
+            assertEquals(message, stats[3], group.getMin());
+            assertEquals(message, stats[4], group.getMax());
+        }
+    }
+
+    @Test
+    public void aggregatesLikeBigDecimal() {
+        final List<DataTo> records = records(20000);
+        for (final Set<Dimension> groupBy : GROUP_BYS) {
+            final DataToAggregator aggregator = new DataToAggregator(groupBy);
+            records.forEach(aggregator);
+            assertAggregates(groupBy, records, aggregator);
+        }
+    }
+
+    @Test
+    public void mergesPartialsLikeASinglePass() {
+        final List<DataTo> records = records(20000);
+        for (final Set<Dimension> groupBy : GROUP_BYS) {
+            // partials of consecutive records merged in order, some of them empty
+            final DataToAggregator merged = new DataToAggregator(groupBy);
+            for (final int[] range : new int[][] { { 0, 0 }, { 0, 7 }, { 7, 5000 }, { 5000, 5000 }, { 5000, 12345 },
+                    { 12345, 20000 } }) {
+                final DataToAggregator partial = new DataToAggregator(groupBy);
+                records.subList(range[0], range[1]).forEach(partial);
+                merged.merge(partial);
+            }
+            assertAggregates(groupBy, records, merged);
+        }
+    }
+
+    @Test
+    public void ordersGroupsByKeyWithNullsFirst() {
+        final DataToAggregator aggregator = new DataToAggregator(EnumSet.of(Dimension.TRANSACTION_TYPE));
+        for (final String transactionType : Arrays.asList("b", null, "a", "b")) {
+            aggregator.accept(DataTo.builder().transactionType(transactionType).amount(BigDecimal.ONE).build());
+        }
+        final List<Group> groups = aggregator.getGroups();
+        assertEquals(3, groups.size());
+        assertNull(groups.get(0).getKey().get("transactionType"));
+        assertEquals("a", groups.get(1).getKey().get("transactionType"));
+        assertEquals(2, groups.get(2).getCount());
+        assertEquals(new BigDecimal("2"), groups.get(2).getSum());
+    }
+
+    @Test
+    public void countsRecordsWithoutAmounts() {
+        final DataToAggregator aggregator = new DataToAggregator(EnumSet.of(Dimension.DATE));
+        aggregator.accept(DataTo.builder().id("no amount").build());
+        final Group group = aggregator.getGroups().get(0);
+        assertEquals(1, group.getCount());
+        assertEquals(0, group.getAmountCount());
+        assertNull(group.getSum());
+        assertNull(group.getMin());
+        assertNull(group.getMax());
+    }
+
+    @Test
+    public void parsesDimensionNames() {
+        assertEquals(EnumSet.of(Dimension.CUSTOMER_NAME, Dimension.DATE),
+                Dimension.fromNames(Arrays.asList("date", " customerName")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownDimensions() {
+        Dimension.fromNames(Arrays.asList("amount"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMergingOtherDimensions() {
+        new DataToAggregator(EnumSet.of(Dimension.DATE)).merge(new DataToAggregator(EnumSet.allOf(Dimension.class)));
+    }
+}
@@ -0,0 +1,140 @@
+package com.company.app.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.company.app.metrics.CallMetrics;
+import com.company.app.metrics.MetricsRegistry;
+import com.company.app.to.DataTo;
+
+public class LambdaPipelineTest {
+
+    private static DataTo dataTo(final String name) {
+        return DataTo.builder().id("id").name(name).build();
+    }
+
+    /**
+     * Appends its tag to the name of the record
+     */
+    private static LambdaService tag(final String tag) {
+        return dataTo -> DataTo.builder(dataTo).name(dataTo.getName() + ">" + tag).build();
+    }
+
+    /**
+     * Appends its tag, halting the pipeline when the record name starts with "stop"
+     */
+    private static PipelineStage haltingTag(final String tag) {
+        return new PipelineStage() {
+            @Override
+            public DataTo calc(final DataTo dataTo) {
+                return tag(tag).calc(dataTo);
+            }
+
+            @Override
+            public boolean halts(final DataTo result) {
+                return result.getName().startsWith("stop");
+            }
+        };
+    }
+
+    private static LambdaService sleeping(final long millis) {
+        return dataTo -> {
+            try {
+                Thread.sleep(millis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return dataTo;
+        };
+    }
+
+    @Test
+    public void runsTheStagesInOrder() {
+        final LambdaPipeline pipeline = LambdaPipeline.builder().stage("c", tag("c")).stage("a", tag("a"))
+                .stage("b", tag("b")).build();
+        assertEquals("x>c>a>b", pipeline.calc(dataTo("x")).getName());
+        assertEquals(Arrays.asList("c", "a", "b"), pipeline.getStageNames());
+        assertEquals("x>single", LambdaPipeline.builder().stage("single", tag("single")).build().calc(dataTo("x"))
+                .getName());
+    }
+
+    @Test
+    public void skipsTheStagesAfterAHaltingOne() {
+        final LambdaPipeline pipeline = LambdaPipeline.builder().stage("first", tag("first"))
+                .stage("check", haltingTag("check")).stage("last", tag("last")).build();
+        assertEquals("go>first>check>last", pipeline.calc(dataTo("go")).getName());
+        assertEquals("stop>first>check", pipeline.calc(dataTo("stop")).getName());
+
+        // a halting stage placed last has nothing to skip
+        final LambdaPipeline lastHalting = LambdaPipeline.builder().stage("first", tag("first"))
+                .stage("check", haltingTag("check")).build();
+        assertEquals("stop>first>check", lastHalting.calc(dataTo("stop")).getName());
+    }
+
+    @Test
+    public void timesEachStageAlone() {
+        final MetricsRegistry registry = new MetricsRegistry();
+        final LambdaPipeline pipeline = LambdaPipeline.builder().stage("fast", tag("fast"))
+                .stage("slow", sleeping(30)).stage("check", haltingTag("check")).stage("last", tag("last"))
+                .metrics(registry).build();
+        for (int i = 0; i < 5; i++) {
+            pipeline.calc(dataTo("go"));
+        }
+        pipeline.calc(dataTo("stop"));
+
+        final Map<String, CallMetrics.Snapshot> snapshot = registry.snapshot();
+        assertEquals(Arrays.asList("pipeline.check", "pipeline.fast", "pipeline.last", "pipeline.slow"),
+                Arrays.asList(snapshot.keySet().toArray()));
+        assertEquals(6, snapshot.get("pipeline.fast").getRequests());
+        assertEquals(6, snapshot.get("pipeline.slow").getRequests());
+        assertEquals(6, snapshot.get("pipeline.check").getRequests());
+        assertEquals(5, snapshot.get("pipeline.last").getRequests());
+        // the time of a stage excludes the stages it hands its result to
+        assertTrue(snapshot.get("pipeline.slow").getLatency().percentileNanos(0) >= TimeUnit.MILLISECONDS
+                .toNanos(30));
+        assertTrue(snapshot.get("pipeline.fast").getLatency().percentileNanos(100) < TimeUnit.MILLISECONDS
+                .toNanos(20));
+    }
+
+    @Test
+    public void countsTheFailedStage() {
+        final MetricsRegistry registry = new MetricsRegistry();
+        final LambdaPipeline pipeline = LambdaPipeline.builder().stage("first", tag("first")).stage("failing",
+                dataTo -> {
+                    throw new IllegalStateException("failed");
+                }).stage("last", tag("last")).metrics(registry).build();
+        try {
+            pipeline.calc(dataTo("x"));
+            fail("the pipeline should have failed");
+        } catch (final IllegalStateException e) {
+            assertEquals("failed", e.getMessage());
+        }
+        final Map<String, CallMetrics.Snapshot> snapshot = registry.snapshot();
+        assertEquals(0, snapshot.get("pipeline.first").getErrors());
+        assertEquals(1, snapshot.get("pipeline.failing").getErrors());
+        assertEquals(0, snapshot.get("pipeline.failing").getInFlight());
+        assertEquals(0, snapshot.get("pipeline.last").getRequests());
+    }
+
+    @Test
+    public void rejectsInvalidStages() {
+        for (final Runnable invalid : Arrays.<Runnable> asList(() -> LambdaPipeline.builder().build(),
+                () -> LambdaPipeline.builder().stage("a", tag("a")).stage("a", tag("b")),
+                () -> LambdaPipeline.builder().stage(null, tag("a")),
+                () -> LambdaPipeline.builder().stage("a", null))) {
+            try {
+                invalid.run();
+                fail("the pipeline should have been rejected");
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.company.app.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.company.app.exception.DuplicateDataException;
+import com.company.app.to.DataTo;
+
+public class MicroBatchDispatcherTest {
+
+    private final ConcurrentLinkedQueue<Integer> batchSizes = new ConcurrentLinkedQueue<>();
+    private MicroBatchDispatcher dispatcher;
+
+    @After
+    public void stop() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    private MicroBatchDispatcher start(final LambdaService service, final int maxBatchSize, final long maxWaitMicros) {
+        dispatcher = new MicroBatchDispatcher(service, maxBatchSize, maxWaitMicros, 1000, 2, 100);
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    private static DataTo dataTo(final String id) {
+        return DataTo.builder().id(id).name("name").build();
+    }
+
+    /**
+     * Records the batch sizes and renames each record after its id
+     */
+    private class RecordingService implements LambdaService {
+        @Override
+        public DataTo calc(final DataTo dataTo) {
+            return DataTo.builder(dataTo).name("calc " + dataTo.getId()).build();
+        }
+
+        @Override
+        public List<DataTo> calcBatch(final List<DataTo> dataTos) {
+            batchSizes.add(dataTos.size());
+            final List<DataTo> results = new ArrayList<>();
+            for (final DataTo dataTo : dataTos) {
+                results.add(calc(dataTo));
+            }
+            return results;
+        }
+    }
+
+    private static Throwable failure(final CompletableFuture<DataTo> future) throws InterruptedException,
+            TimeoutException {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (final ExecutionException e) {
+            return e.getCause();
+        }
+        fail("the future should have failed");
+        return null;
+    }
+
+    @Test
+    public void calculatesRecordsInBatches() throws Exception {
+        start(new RecordingService(), 16, TimeUnit.MILLISECONDS.toMicros(200));
+        final List<CompletableFuture<DataTo>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(dispatcher.submit(dataTo("id" + i)));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals("calc id" + i, futures.get(i).get(5, TimeUnit.SECONDS).getName());
+        }
+        assertEquals(100, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.toString(), batchSizes.stream().allMatch(size -> size <= 16));
+        assertTrue(batchSizes.toString(), batchSizes.contains(16));
+        assertEquals("calc single", dispatcher.calc(dataTo("single")).getName());
+    }
+
+    @Test
+    public void retriesEachRecordOfAFailedBatch() throws Exception {
+        start(new RecordingService() {
+            @Override
+            public DataTo calc(final DataTo dataTo) {
+                if (dataTo.getId().startsWith("bad")) {
+                    throw new IllegalArgumentException("bad record " + dataTo.getId());
+                }
+                return super.calc(dataTo);
+            }
+
+            @Override
+            public List<DataTo> calcBatch(final List<DataTo> dataTos) {
+                batchSizes.add(dataTos.size());
+                throw new IllegalStateException("batch failed");
+            }
+        }, 8, TimeUnit.MILLISECONDS.toMicros(200));
+        final List<CompletableFuture<DataTo>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(dispatcher.submit(dataTo((i == 3 ? "bad" : "id") + i)));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            if (i == 3) {
+                assertEquals("bad record bad3", failure(futures.get(i)).getMessage());
+            } else {
+                assertEquals("calc id" + i, futures.get(i).get(5, TimeUnit.SECONDS).getName());
+            }
+        }
+        assertEquals(8, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        try {
+            dispatcher.calc(dataTo("bad alone"));
+            fail("the record should have failed");
+        } catch (final IllegalStateException e) {
+            // a single-record batch is not retried
+            assertEquals("batch failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void failsDroppedRecordsAsDuplicates() throws Exception {
+        start(new RecordingService() {
+            @Override
+            public List<DataTo> calcBatch(final List<DataTo> dataTos) {
+                final List<DataTo> results = super.calcBatch(dataTos);
+                results.replaceAll(result -> result.getId().startsWith("dup") ? null : result);
+                return results;
+            }
+        }, 8, TimeUnit.MILLISECONDS.toMicros(200));
+        final CompletableFuture<DataTo> first = dispatcher.submit(dataTo("id1"));
+        final CompletableFuture<DataTo> duplicate = dispatcher.submit(dataTo("dup1"));
+        assertEquals("calc id1", first.get(5, TimeUnit.SECONDS).getName());
+        assertTrue(failure(duplicate) instanceof DuplicateDataException);
+    }
+
+    @Test
+    public void finishesTheBatchesInFlightOnStop() throws Exception {
+        final CountDownLatch calculating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        start(new RecordingService() {
+            @Override
+            public List<DataTo> calcBatch(final List<DataTo> dataTos) {
+                calculating.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.calcBatch(dataTos);
+            }
+        }, 4, 0);
+        final List<CompletableFuture<DataTo>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(dispatcher.submit(dataTo("id" + i)));
+        }
+        assertTrue(calculating.await(5, TimeUnit.SECONDS));
+
+        final Thread stopping = new Thread(() -> {
+            try {
+                dispatcher.stop();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        stopping.start();
+        Thread.sleep(200);
+        assertTrue(failure(dispatcher.submit(dataTo("late"))).getMessage().contains("stopped"));
+        release.countDown();
+        stopping.join(5000);
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals("calc id" + i, futures.get(i).get(5, TimeUnit.SECONDS).getName());
+        }
+        dispatcher = null;
+    }
+
+    @Test
+    public void failsTheRecordsOfAnInterruptedCollector() throws Exception {
+        // the collector waits up to 10 s to fill its batch, holding the records already taken off the queue
+        start(new RecordingService(), 1000, TimeUnit.SECONDS.toMicros(10));
+        final List<CompletableFuture<DataTo>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(dispatcher.submit(dataTo("id" + i)));
+        }
+        Thread.sleep(200);
+        for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("micro-batch-collector")) {
+                thread.interrupt();
+            }
+        }
+        for (final CompletableFuture<DataTo> future : futures) {
+            assertTrue(failure(future).getMessage().contains("stopped"));
+        }
+        assertTrue(failure(dispatcher.submit(dataTo("late"))).getMessage().contains("stopped"));
+        assertTrue(batchSizes.isEmpty());
+    }
+}
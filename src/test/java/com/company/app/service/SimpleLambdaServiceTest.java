@@ -0,0 +1,65 @@
+package com.company.app.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.company.app.to.DataTo;
+import com.company.app.util.FixedPoint;
+
+public class SimpleLambdaServiceTest {
+
+    private static List<DataTo> dataTos() {
+        final List<DataTo> dataTos = new ArrayList<>();
+        for (final String amount : Arrays.asList("0", "1", "-1.5", "12.345", "0.001", "1E+3", "-999999999999.999999",
+                "99999999999999999.9", "999999999999999999", "123456789012345678901234.5678")) {
+            dataTos.add(DataTo.builder().id(amount).name("name").date(LocalDate.of(2018, 1, 2))
+                    .amount(new BigDecimal(amount)).customerName("ACME").transactionType("T").build());
+        }
+        return dataTos;
+    }
+
+    @Test
+    public void calculatesFixedPointAmountsLikeBigDecimals() {
+        final SimpleLambdaService bigDecimal = new SimpleLambdaService(false);
+        final SimpleLambdaService fixedPoint = new SimpleLambdaService(true);
+        for (final DataTo dataTo : dataTos()) {
+            final DataTo expected = bigDecimal.calc(dataTo);
+            assertEquals(dataTo.getAmount().movePointRight(2), expected.getAmount());
+            assertFalse(expected.isFixedPointAmount());
+
+            final DataTo actual = fixedPoint.calc(dataTo);
+            assertEquals(expected, actual);
+            assertEquals(expected.getAmount().scale(), actual.getAmount().scale());
+            // fixed-point unless the amount or the result needs more than a long
+            assertEquals(dataTo.getId(), FixedPoint.fitsLong(dataTo.getAmount())
+                    && expected.getAmount().unscaledValue().bitLength() < Long.SIZE, actual.isFixedPointAmount());
+
+            if (FixedPoint.fitsLong(dataTo.getAmount())) {
+                final DataTo fixedPointInput = dataTo.withFixedPointAmount(FixedPoint.unscaled(dataTo.getAmount()),
+                        dataTo.getAmount().scale());
+                assertEquals(expected, bigDecimal.calc(fixedPointInput));
+                assertEquals(expected, fixedPoint.calc(fixedPointInput));
+            }
+        }
+    }
+
+    @Test
+    public void calculatesBatchesLikeSingleRecords() {
+        final SimpleLambdaService service = new SimpleLambdaService(true);
+        final List<DataTo> expected = new ArrayList<>();
+        for (final DataTo dataTo : dataTos()) {
+            expected.add(service.calc(dataTo));
+        }
+        assertEquals(expected, service.calcBatch(dataTos()));
+        assertTrue(service.calcBatch(new ArrayList<>()).isEmpty());
+    }
+}
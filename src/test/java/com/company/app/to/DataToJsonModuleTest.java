@@ -0,0 +1,137 @@
+package com.company.app.to;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+public class DataToJsonModuleTest {
+
+    private static final List<String> JSONS = Arrays.asList(
+            "{\"id\":\"A-1\",\"name\":\"Invoice 1\",\"date\":\"2018-12-03\",\"amount\":1234.56,"
+                    + "\"customerName\":\"ACME\",\"transactionType\":\"X241\"}",
+            "{\"transactionType\":\"X241\",\"amount\":-0.5,\"date\":\"2018-02-28\",\"id\":\"A-2\"}",
+            "{\"id\":null,\"name\":null,\"date\":null,\"amount\":null,\"customerName\":null}",
+            "{\"id\":\"A-3\",\"amount\":\"12.30\",\"date\":[2018,1,9]}",
+            "{\"id\":\"A-4\",\"amount\":100,\"unknown\":{\"nested\":[1,2]},\"name\":\"n\"}",
+            "{\"id\":\"A-5\",\"amount\":123456789012345678901234.5678}",
+            "{}");
+
+    /**
+     * Spring boot ObjectMapper configuration, i.e. the builder-based binding
+     */
+    private static ObjectMapper binding() {
+        return new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    private static ObjectMapper module(final boolean fixedPointAmounts) {
+        return binding().registerModule(new DataToJsonModule(fixedPointAmounts));
+    }
+
+    private static DataTo dataTo() {
+        return DataTo.builder().id("A-1").name("Invoice \"1\"").date(LocalDate.of(2018, 12, 3))
+                .amount(new BigDecimal("1234.560")).customerName("ACME").transactionType("X241").build();
+    }
+
+    @Test
+    public void deserializesLikeTheBuilderBinding() throws IOException {
+        for (final String json : JSONS) {
+            final DataTo expected = binding().readValue(json, DataTo.class);
+            assertEquals(json, expected, module(false).readValue(json, DataTo.class));
+            assertEquals(json, expected, module(true).readValue(json, DataTo.class));
+        }
+    }
+
+    @Test
+    public void deserializesArraysLikeTheBuilderBinding() throws IOException {
+        final String json = "[" + String.join(",", JSONS) + "]";
+        assertEquals(Arrays.asList(binding().readValue(json, DataTo[].class)),
+                Arrays.asList(module(false).readValue(json, DataTo[].class)));
+    }
+
+    @Test
+    public void serializesLikeTheBuilderBinding() throws IOException {
+        final DataTo partial = DataTo.builder().id("A-2").amount(BigDecimal.ONE).build();
+        for (final DataTo dataTo : Arrays.asList(dataTo(), partial)) {
+            assertEquals(binding().writeValueAsString(dataTo), module(false).writeValueAsString(dataTo));
+            assertEquals(binding().setSerializationInclusion(JsonInclude.Include.NON_NULL).writeValueAsString(dataTo),
+                    module(false).setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                            .writeValueAsString(dataTo));
+            assertEquals(binding().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(dataTo),
+                    module(false).enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(dataTo));
+        }
+    }
+
+    @Test
+    public void roundTrips() throws IOException {
+        final ObjectMapper objectMapper = module(false);
+        assertEquals(dataTo(), objectMapper.readValue(objectMapper.writeValueAsBytes(dataTo()), DataTo.class));
+    }
+
+    @Test
+    public void decodesFixedPointAmounts() throws IOException {
+        final DataTo dataTo = module(true).readValue("{\"amount\":-1234.560}", DataTo.class);
+        assertTrue(dataTo.isFixedPointAmount());
+        assertEquals(-1234560L, dataTo.getAmountUnscaled());
+        assertEquals(3, dataTo.getAmountScale());
+        assertEquals(new BigDecimal("-1234.560"), dataTo.getAmount());
+        // equal, hence hashed alike, to the BigDecimal-backed record of the same scale
+        final DataTo bigDecimal = module(false).readValue("{\"amount\":-1234.560}", DataTo.class);
+        assertFalse(bigDecimal.isFixedPointAmount());
+        assertEquals(bigDecimal, dataTo);
+        assertEquals(bigDecimal.hashCode(), dataTo.hashCode());
+
+        // too many digits for a long: kept as a BigDecimal
+        final DataTo large = module(true).readValue("{\"amount\":123456789012345678901234.5}", DataTo.class);
+        assertFalse(large.isFixedPointAmount());
+        assertEquals(new BigDecimal("123456789012345678901234.5"), large.getAmount());
+        assertNull(module(true).readValue("{\"amount\":null}", DataTo.class).getAmount());
+    }
+
+    @Test
+    public void canonicalizesLowCardinalityStrings() throws IOException {
+        final ObjectMapper objectMapper = module(false);
+        final DataTo first = objectMapper.readValue("{\"customerName\":\"ACME\"}", DataTo.class);
+        final DataTo second = objectMapper.readValue("{\"customerName\":\"ACME\"}", DataTo.class);
+        assertSame(first.getCustomerName(), second.getCustomerName());
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void rejectsInvalidAmountsLikeTheBuilderBinding() throws IOException {
+        module(false).readValue("{\"amount\":\"12,5\"}", DataTo.class);
+    }
+
+    @Test
+    public void rejectsInvalidDatesAsMappingErrors() throws IOException {
+        for (final String json : Arrays.asList("{\"date\":[2018,13,40]}", "{\"date\":[2018,2,29]}",
+                "{\"date\":1000000000000000}", "{\"date\":\"2018-02-30\"}")) {
+            try {
+                module(false).readValue(json, DataTo.class);
+                fail(json + " should have been rejected");
+            } catch (final JsonMappingException e) {
+                // a client error rather than a raw DateTimeException
+                assertEquals(json, LocalDate.class, ((MismatchedInputException) e).getTargetType());
+            }
+        }
+    }
+}
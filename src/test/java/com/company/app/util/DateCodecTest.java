@@ -0,0 +1,188 @@
+package com.company.app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class DateCodecTest {
+
+    private static final LocalDate WINDOW_FROM = LocalDate.of(2016, 2, 20);
+    private static final LocalDate WINDOW_TO = LocalDate.of(2016, 3, 10);
+
+    private static final DateCodec SMALL_WINDOW = DateCodec.builder().window(WINDOW_FROM, WINDOW_TO).build();
+
+    /**
+     * The parsing the codec replaces, or null when the formatter rejects the text
+     */
+    private static LocalDate parseWithFormatter(final String text) {
+        final int slash = text.indexOf('/');
+        final int dash = text.indexOf('-');
+        final DateTimeFormatter formatter = dash >= 0 && (slash < 0 || dash < slash) ? DateUtil.DATE_FMT_YYYYMMDD
+                : DateUtil.DATE_FMT_MDYYYY;
+        try {
+            return LocalDate.parse(text, formatter);
+        } catch (final DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static LocalDate parseWithCodec(final DateCodec codec, final String text) {
+        try {
+            return codec.parse(text);
+        } catch (final DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static void assertParsesLikeTheFormatters(final DateCodec codec, final String text) {
+        final LocalDate expected = parseWithFormatter(text);
+        assertEquals(text, expected, parseWithCodec(codec, text));
+        if (expected != null) {
+            final char[] chars = ("  " + text + " ").toCharArray();
+            assertEquals(text, expected, codec.parse(chars, 2, text.length()));
+            final ByteBuffer buffer = ByteBuffer.wrap((" " + text + "  ").getBytes(StandardCharsets.US_ASCII));
+            assertEquals(text, expected, codec.parse(buffer, 1, 1 + text.length()));
+        }
+    }
+
+    @Test
+    public void formatsLikeTheFormatters() {
+        for (final DateCodec codec : Arrays.asList(DateCodec.getDefault(), SMALL_WINDOW)) {
+            // twice, so that the second pass reads the cached strings
+            for (int pass = 0; pass < 2; pass++) {
+                for (LocalDate date = LocalDate.of(1899, 12, 1); date.isBefore(LocalDate.of(1901, 2, 1)); date = date
+                        .plusDays(1)) {
+                    assertFormatsLikeTheFormatters(codec, date);
+                }
+                for (LocalDate date = LocalDate.of(2015, 12, 1); date.isBefore(LocalDate.of(2017, 2, 1)); date = date
+                        .plusDays(1)) {
+                    assertFormatsLikeTheFormatters(codec, date);
+                }
+                for (LocalDate date = LocalDate.of(2099, 12, 1); date.isBefore(LocalDate.of(2100, 2, 1)); date = date
+                        .plusDays(1)) {
+                    assertFormatsLikeTheFormatters(codec, date);
+                }
+            }
+            assertFormatsLikeTheFormatters(codec, LocalDate.of(1, 1, 1));
+            assertFormatsLikeTheFormatters(codec, LocalDate.of(999, 7, 4));
+            assertFormatsLikeTheFormatters(codec, LocalDate.of(9999, 12, 31));
+        }
+    }
+
+    private static void assertFormatsLikeTheFormatters(final DateCodec codec, final LocalDate date) {
+        assertEquals(date.format(DateUtil.DATE_FMT_MDYYYY), codec.mdyyyy(date));
+        assertEquals(date.format(DateUtil.DATE_FMT_YYYYMMDD), codec.yyyymmdd(date));
+        assertEquals(date.toString(), codec.isoDate(date));
+        assertEquals(date, codec.date(date.toEpochDay()));
+    }
+
+    @Test
+    public void parsesEveryDayLikeTheFormatters() {
+        for (final DateCodec codec : Arrays.asList(DateCodec.getDefault(), SMALL_WINDOW)) {
+            for (LocalDate date = LocalDate.of(1899, 12, 1); date.isBefore(LocalDate.of(1901, 2, 1)); date = date
+                    .plusDays(1)) {
+                assertParsesEveryLayout(codec, date);
+            }
+            for (LocalDate date = LocalDate.of(2015, 12, 1); date.isBefore(LocalDate.of(2017, 2, 1)); date = date
+                    .plusDays(1)) {
+                assertParsesEveryLayout(codec, date);
+            }
+            for (LocalDate date = LocalDate.of(2099, 12, 1); date.isBefore(LocalDate.of(2100, 2, 1)); date = date
+                    .plusDays(1)) {
+                assertParsesEveryLayout(codec, date);
+            }
+        }
+    }
+
+    private static void assertParsesEveryLayout(final DateCodec codec, final LocalDate date) {
+        final int year = date.getYear();
+        final int month = date.getMonthValue();
+        final int day = date.getDayOfMonth();
+        assertParsesLikeTheFormatters(codec, date.format(DateUtil.DATE_FMT_MDYYYY));
+        assertParsesLikeTheFormatters(codec, date.format(DateUtil.DATE_FMT_YYYYMMDD));
+        assertParsesLikeTheFormatters(codec, String.format("%02d/%02d/%d", month, day, year));
+        assertEquals(date, codec.parse(date.format(DateUtil.DATE_FMT_MDYYYY)));
+    }
+
+    @Test
+    public void parsesInvalidDatesLikeTheFormatters() {
+        for (final String text : Arrays.asList("2/29/2016", "2/29/2017", "2/30/2016", "2/31/2018", "4/31/2018",
+                "2/32/2018", "13/1/2018", "0/1/2018", "1/0/2018", "00/1/2018", "001/2/2018", "1/002/2018",
+                "2018-02-30", "2018-04-31", "2018-13-01", "2018-00-10", "2018-2-3", "2018-002-03", "2018-01-3",
+                "1/1/18", "1/1/1", "1/2/02018", "1/1/0000", "0000-01-01", "0018-01-01", "1/1/0018", "12/31/9999",
+                "1/2/2018 ", " 1/2/2018", "+2018-01-01", "1/1/-2018", "1-2-2018", "2018/01/02", "1/2-2018",
+                "1//2018", "1/2/", "/1/2018", "1/2", "1/2/2018/1", "a/b/cdef", "1/2/2O18", "")) {
+            assertParsesLikeTheFormatters(DateCodec.getDefault(), text);
+            assertParsesLikeTheFormatters(SMALL_WINDOW, text);
+        }
+    }
+
+    @Test
+    public void parsesRandomTextLikeTheFormatters() {
+        final Random random = new Random(17);
+        final char[] alphabet = "0000111222345678999//-".toCharArray();
+        for (int i = 0; i < 200000; i++) {
+            final char[] chars = new char[1 + random.nextInt(11)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            final String text = new String(chars);
+            if (!hasLongPart(text)) {
+                assertParsesLikeTheFormatters(SMALL_WINDOW, text);
+            }
+        }
+    }
+
+    /**
+     * Parts of more than 4 digits, i.e. with extra leading zeros, are the documented difference with the formatters
+     */
+    private static boolean hasLongPart(final String text) {
+        for (final String part : text.split("[/-]")) {
+            if (part.length() > 4) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void throwsDateTimeExceptionOnInvalidDates() {
+        for (final String text : Arrays.asList("2/32/2018", "13/1/2018", "1/1/18", "2018-2-3", "", "1/2/2018x",
+                "12345/1/2018")) {
+            try {
+                DateCodec.getDefault().parse(text);
+                fail(text);
+            } catch (final DateTimeException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void cachesDatesAndStringsWithinTheWindow() {
+        final DateCodec codec = DateCodec.getDefault();
+        assertSame(codec.parse("3/1/2016"), codec.parse("2016-03-01"));
+        assertSame(codec.parse("3/1/2016"), codec.date(LocalDate.of(2016, 3, 1).toEpochDay()));
+        assertSame(codec.mdyyyy(LocalDate.of(2016, 3, 1)), codec.mdyyyy(LocalDate.of(2016, 3, 1)));
+        assertSame(codec.yyyymmdd(LocalDate.of(2016, 3, 1)), codec.isoDate(LocalDate.of(2016, 3, 1)));
+
+        assertSame(SMALL_WINDOW.parse("2/20/2016"), SMALL_WINDOW.parse("2016-02-20"));
+        assertEquals(SMALL_WINDOW.parse("2/19/2016"), SMALL_WINDOW.parse("2016-02-19"));
+        assertEquals(WINDOW_TO.plusDays(1), SMALL_WINDOW.parse("3/11/2016"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnInvertedWindow() {
+        DateCodec.builder().window(WINDOW_TO, WINDOW_FROM).build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.company.app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DedupIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static DedupIndex.Builder builder() {
+        return DedupIndex.builder().expectedIds(1024).offHeap(false);
+    }
+
+    @Test
+    public void tellsNewIdsFromDuplicates() {
+        final DedupIndex index = builder().build();
+        assertTrue(index.add("a"));
+        assertTrue(index.add("b"));
+        assertFalse(index.add("a"));
+        assertTrue(index.contains("b"));
+        assertFalse(index.contains("c"));
+        assertEquals(2, index.getSize());
+        assertEquals(2, index.getAddedCount());
+        assertEquals(1, index.getDuplicateCount());
+    }
+
+    @Test
+    public void forgetsRemovedIds() {
+        final DedupIndex index = builder().build();
+        index.add("a");
+        assertTrue(index.remove("a"));
+        assertFalse(index.remove("a"));
+        assertFalse(index.contains("a"));
+        assertTrue(index.add("a"));
+        assertTrue(index.removeHash(DedupIndex.hash("a")));
+        assertTrue(index.add("a"));
+    }
+
+    @Test
+    public void growsPastTheExpectedIds() {
+        final DedupIndex index = DedupIndex.builder().expectedIds(100).offHeap(true).build();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(index.add("id" + i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(index.add("id" + i));
+        }
+        assertEquals(1000, index.getSize());
+        assertTrue(index.getGenerationCount() > 1);
+    }
+
+    @Test
+    public void hasNoFalseDuplicates() {
+        final DedupIndex index = builder().expectedIds(10000).build();
+        for (int i = 0; i < 10000; i++) {
+            index.add("seen" + i);
+        }
+        for (int i = 0; i < 100000; i++) {
+            assertFalse(index.contains("new" + i));
+        }
+    }
+
+    @Test
+    public void savesAndLoads() {
+        final String path = new File(folder.getRoot(), "dedup.idx").getPath();
+        final DedupIndex index = builder().expectedIds(100).path(path).build();
+        for (int i = 0; i < 500; i++) {
+            index.add("id" + i);
+        }
+        index.remove("id7");
+        index.close();
+
+        final DedupIndex loaded = builder().path(path).build();
+        assertEquals(499, loaded.getSize());
+        assertEquals(index.getGenerationCount(), loaded.getGenerationCount());
+        for (int i = 0; i < 500; i++) {
+            assertEquals("id" + i, i != 7, loaded.contains("id" + i));
+        }
+        assertTrue(loaded.add("id7"));
+    }
+
+    @Test
+    public void savesRepeatedly() {
+        final String path = new File(folder.getRoot(), "dedup.idx").getPath();
+        final DedupIndex index = builder().path(path).build();
+        index.add("a");
+        index.save();
+        index.add("b");
+        index.remove("a");
+        index.save();
+        index.add("c");
+
+        final DedupIndex loaded = builder().path(path).build();
+        assertEquals(1, loaded.getSize());
+        assertTrue(loaded.contains("b"));
+        assertFalse(new File(path + "." + FileMetadata.TMP_EXT).exists());
+    }
+
+    @Test
+    public void keepsAddingAndRemovingWhileSaving() throws InterruptedException {
+        final String path = new File(folder.getRoot(), "dedup.idx").getPath();
+        final DedupIndex index = builder().expectedIds(1000).path(path).build();
+        final AtomicBoolean adding = new AtomicBoolean(true);
+        final AtomicInteger saves = new AtomicInteger();
+        final Thread saving = new Thread(() -> {
+            while (adding.get()) {
+                index.save();
+                saves.incrementAndGet();
+            }
+        });
+        saving.start();
+        for (int i = 0; i < 20000; i++) {
+            assertTrue(index.add("id" + i));
+            if (i % 10 == 0) {
+                assertTrue(index.remove("id" + i));
+            }
+        }
+        adding.set(false);
+        saving.join();
+        assertTrue(saves.get() > 0);
+        index.close();
+
+        final DedupIndex loaded = builder().path(path).build();
+        assertEquals(18000, loaded.getSize());
+        for (int i = 0; i < 20000; i++) {
+            assertEquals("id" + i, i % 10 != 0, loaded.contains("id" + i));
+        }
+    }
+
+    @Test
+    public void expiresIdsAfterTheRetention() throws InterruptedException {
+        final DedupIndex index = builder().retention(200, TimeUnit.MILLISECONDS).generations(2).build();
+        index.add("old");
+        Thread.sleep(150);
+        index.add("recent");
+        assertTrue(index.contains("old"));
+        Thread.sleep(100);
+        // the generation of "old" ended more than the retention ago
+        assertFalse(index.contains("old"));
+        assertTrue(index.contains("recent"));
+        Thread.sleep(250);
+        assertFalse(index.contains("recent"));
+        assertEquals(0, index.getGenerationCount());
+    }
+
+    @Test
+    public void dropsExpiredGenerationsOnLoad() throws InterruptedException {
+        final String path = new File(folder.getRoot(), "dedup.idx").getPath();
+        final DedupIndex index = builder().retention(100, TimeUnit.MILLISECONDS).path(path).build();
+        index.add("a");
+        index.close();
+        Thread.sleep(150);
+        assertEquals(0, builder().retention(100, TimeUnit.MILLISECONDS).path(path).build().getSize());
+    }
+}
@@ -0,0 +1,155 @@
+package com.company.app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DirectoryIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory(final String... filenames) throws IOException {
+        final File directory = folder.newFolder();
+        for (final String filename : filenames) {
+            assertTrue(new File(directory, filename).createNewFile());
+        }
+        return directory;
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void findsExactNames() throws IOException {
+        final File directory = directory("a.csv", "b.csv", "B.txt");
+        assertTrue(new File(directory, "sub.csv").mkdir());
+        final DirectoryIndex index = DirectoryIndex.of(directory.getPath());
+
+        assertTrue(index.contains("a.csv"));
+        assertTrue(index.contains("B.txt"));
+        assertFalse(index.contains("b.txt"));
+        assertFalse(index.contains("c.csv"));
+        // sub-directories are not indexed
+        assertFalse(index.contains("sub.csv"));
+        assertEquals(3, index.size());
+        assertTrue(FileMetadata.findFilenameWithExtInDir(directory.getPath(), "a.csv"));
+        assertFalse(FileMetadata.findFilenameWithExtInDir(directory.getPath(), "A.csv"));
+        index.close();
+    }
+
+    @Test
+    public void findsByPrefixAndGlob() throws IOException {
+        final File directory = directory("report_2018_01.csv", "report_2018_02.csv", "report_2019_01.csv",
+                "report_2018_01.txt", "other_2018.csv");
+        final DirectoryIndex index = DirectoryIndex.of(directory.getPath());
+
+        assertEquals(Arrays.asList("report_2018_01.csv", "report_2018_01.txt", "report_2018_02.csv"),
+                index.findByPrefix("report_2018"));
+        assertEquals(5, index.findByPrefix("").size());
+        assertEquals(Collections.emptyList(), index.findByPrefix("zzz"));
+        assertEquals(Arrays.asList("report_2018_01.csv", "report_2018_02.csv"), index.findByGlob("report_2018*.csv"));
+        assertEquals(Arrays.asList("other_2018.csv", "report_2018_01.csv", "report_2018_02.csv",
+                "report_2019_01.csv"), index.findByGlob("*.csv"));
+        assertEquals(Arrays.asList("report_2018_01.csv", "report_2019_01.csv"),
+                index.findByGlob("report_201?_01.{csv,xml}"));
+        index.close();
+    }
+
+    @Test
+    public void ignoresCaseWhenAsked() throws IOException {
+        final File directory = directory("Report_A.CSV", "report_b.csv");
+        final DirectoryIndex index = DirectoryIndex.of(directory.getPath(), false);
+
+        assertNotSame(index, DirectoryIndex.of(directory.getPath()));
+        assertSame(index, DirectoryIndex.of(directory.getPath(), false));
+        assertTrue(index.contains("report_a.csv"));
+        assertTrue(index.contains("REPORT_B.CSV"));
+        // the names are returned as they are on disk
+        assertEquals(Arrays.asList("Report_A.CSV", "report_b.csv"), index.findByPrefix("REPORT_"));
+        assertEquals(Arrays.asList("Report_A.CSV"), index.findByGlob("*_a.csv"));
+        index.close();
+        DirectoryIndex.of(directory.getPath()).close();
+    }
+
+    @Test
+    public void reflectsCreatedAndDeletedFiles() throws IOException, InterruptedException {
+        final File directory = directory("a.csv");
+        final DirectoryIndex index = DirectoryIndex.of(directory.getPath(), false);
+
+        assertTrue(new File(directory, "B.csv").createNewFile());
+        await(() -> index.contains("b.csv"));
+        assertEquals(Arrays.asList("a.csv", "B.csv"), index.findByGlob("*.csv"));
+
+        Files.delete(new File(directory, "a.csv").toPath());
+        await(() -> !index.contains("a.csv"));
+        assertEquals(Arrays.asList("B.csv"), index.findByPrefix(""));
+        index.close();
+    }
+
+    @Test
+    public void answersCreatedFilesBeforeTheirEvent() throws IOException {
+        final File directory = directory();
+        final DirectoryIndex index = DirectoryIndex.of(directory.getPath());
+        assertTrue(new File(directory, "new.csv").createNewFile());
+        // confirmed on disk when the index misses it
+        assertTrue(index.contains("new.csv"));
+        index.close();
+    }
+
+    @Test
+    public void keepsTheDeletionsMadeWhileListing() throws IOException, InterruptedException {
+        final File directory = directory();
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            files.add(new File(directory, "file" + i + ".csv"));
+            assertTrue(files.get(i).createNewFile());
+        }
+        final Thread deleting = new Thread(() -> {
+            for (int i = files.size() - 1; i >= 0; i -= 2) {
+                files.get(i).delete();
+            }
+        });
+        deleting.start();
+        final DirectoryIndex index = DirectoryIndex.of(directory.getPath());
+        deleting.join();
+
+        await(() -> index.size() == files.size() / 2);
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals(files.get(i).getName(), i % 2 == 0, index.contains(files.get(i).getName()));
+        }
+        index.close();
+    }
+
+    @Test
+    public void answersFromTheDiskOnceClosed() throws IOException {
+        final File directory = directory("a.csv");
+        final DirectoryIndex index = DirectoryIndex.of(directory.getPath());
+        index.close();
+        assertFalse(index.isWatching());
+        assertTrue(new File(directory, "b.csv").createNewFile());
+        assertEquals(Arrays.asList("a.csv", "b.csv"), index.findByPrefix(""));
+        assertNotSame(index, DirectoryIndex.of(directory.getPath()));
+        DirectoryIndex.of(directory.getPath()).close();
+    }
+}
@@ -0,0 +1,138 @@
+package com.company.app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class FixedPointTest {
+
+    /**
+     * Edge and random amounts, with negative, zero and positive scales
+     */
+    private static List<BigDecimal> amounts() {
+        final List<BigDecimal> amounts = new ArrayList<>(Arrays.asList(BigDecimal.ZERO, BigDecimal.ONE,
+                new BigDecimal("-0.00"), new BigDecimal("1E+3"), new BigDecimal("-12.5E+7"),
+                new BigDecimal("999999999999999999"), new BigDecimal("-999999999999999999"),
+                new BigDecimal("0.999999999999999999"), new BigDecimal("1000000000000000000"),
+                BigDecimal.valueOf(Long.MAX_VALUE), BigDecimal.valueOf(Long.MIN_VALUE, 4),
+                new BigDecimal("123456789012345678901234.5678")));
+        final Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            final int digits = 1 + random.nextInt(18);
+            final long unscaled = (long) (random.nextDouble() * FixedPoint.pow10(digits)) * (random.nextBoolean() ? 1
+                    : -1);
+            amounts.add(BigDecimal.valueOf(unscaled, random.nextInt(24) - 4));
+        }
+        return amounts;
+    }
+
+    @Test
+    public void convertsToAndFromBigDecimal() {
+        for (final BigDecimal amount : amounts()) {
+            final boolean fitsLong = amount.unscaledValue().bitLength() < Long.SIZE;
+            if (FixedPoint.fitsLong(amount)) {
+                assertTrue(amount.toString(), fitsLong);
+                final BigDecimal converted = FixedPoint.toBigDecimal(FixedPoint.unscaled(amount), amount.scale());
+                assertEquals(amount, converted);
+                assertEquals(amount.scale(), converted.scale());
+            } else if (!fitsLong) {
+                try {
+                    FixedPoint.unscaled(amount);
+                    fail(amount.toString());
+                } catch (final ArithmeticException e) {
+                    // expected
+                }
+            }
+        }
+        // 19 digits may fit in a long, but not every number of 19 digits does
+        assertFalse(FixedPoint.fitsLong(BigDecimal.valueOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void hashesLikeBigDecimal() {
+        final List<BigDecimal> amounts = amounts();
+        amounts.add(BigDecimal.valueOf(Long.MIN_VALUE));
+        amounts.add(BigDecimal.valueOf(Long.MIN_VALUE + 1, 2));
+        amounts.add(BigDecimal.valueOf(-1L << 32, 3));
+        for (final BigDecimal amount : amounts) {
+            if (amount.unscaledValue().bitLength() < Long.SIZE) {
+                assertEquals(amount.toString(), amount.hashCode(),
+                        FixedPoint.hashCode(amount.unscaledValue().longValue(), amount.scale()));
+            }
+        }
+    }
+
+    @Test
+    public void comparesLikeBigDecimal() {
+        final List<BigDecimal> amounts = amounts();
+        final Random random = new Random(11);
+        int compared = 0;
+        for (int i = 0; i < 50000; i++) {
+            final BigDecimal first = amounts.get(random.nextInt(amounts.size()));
+            // also close values at another scale, which only compare right when the scales are aligned exactly
+            final BigDecimal second = random.nextBoolean() ? amounts.get(random.nextInt(amounts.size()))
+                    : first.setScale(first.scale() + random.nextInt(3)).add(BigDecimal.valueOf(random.nextInt(3) - 1,
+                            first.scale() + 2));
+            if (!FixedPoint.fitsLong(first) || !FixedPoint.fitsLong(second)) {
+                continue;
+            }
+            try {
+                final int actual = FixedPoint.compare(FixedPoint.unscaled(first), first.scale(),
+                        FixedPoint.unscaled(second), second.scale());
+                assertEquals(first + " vs " + second, Integer.signum(first.compareTo(second)), Integer.signum(actual));
+                compared++;
+            } catch (final ArithmeticException overflow) {
+                // aligning the scales needs more than a long
+                final int scale = Math.max(first.scale(), second.scale());
+                assertTrue(first + " vs " + second,
+                        Math.abs(first.scale() - second.scale()) > FixedPoint.MAX_LONG_PRECISION
+                                || first.setScale(scale).unscaledValue().bitLength() >= Long.SIZE
+                                || second.setScale(scale).unscaledValue().bitLength() >= Long.SIZE);
+            }
+        }
+        assertTrue(compared > 10000);
+    }
+
+    @Test
+    public void movesThePointRightLikeBigDecimal() {
+        for (final BigDecimal amount : amounts()) {
+            if (!FixedPoint.fitsLong(amount)) {
+                continue;
+            }
+            // from 1, as movePointRight(0) keeps a negative scale since java 9
+            for (int n = 1; n <= 4; n++) {
+                final BigDecimal expected = amount.movePointRight(n);
+                final int scale = FixedPoint.movePointRightScale(amount.scale(), n);
+                assertEquals(expected.scale(), scale);
+                try {
+                    final long unscaled = FixedPoint.movePointRightUnscaled(FixedPoint.unscaled(amount),
+                            amount.scale(), n);
+                    assertEquals(expected, FixedPoint.toBigDecimal(unscaled, scale));
+                } catch (final ArithmeticException overflow) {
+                    assertTrue(expected.unscaledValue().bitLength() >= Long.SIZE);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void computesPowersOfTen() {
+        for (int i = 0; i <= FixedPoint.MAX_LONG_PRECISION; i++) {
+            assertEquals(BigDecimal.TEN.pow(i).longValueExact(), FixedPoint.pow10(i));
+        }
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void overflowsPowersOfTenPastALong() {
+        FixedPoint.pow10(FixedPoint.MAX_LONG_PRECISION + 1);
+    }
+}
@@ -0,0 +1,245 @@
+package com.company.app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.company.app.exception.AppFileReadException;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+
+public class KeyValConfigTest {
+
+    /**
+     * well past the file-time granularity, so that the file is taken as stable
+     */
+    private static final long OLD_MILLIS = (System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)) / 1000 * 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file(final String... lines) throws IOException {
+        final Path file = folder.newFile().toPath();
+        write(file, lines);
+        return file;
+    }
+
+    private static void write(final Path file, final String... lines) throws IOException {
+        Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    private static void touch(final Path file, final long millis) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(millis));
+    }
+
+    private static KeyValConfig config(final Path file, final long checkIntervalMillis) {
+        return KeyValConfig.builder().filepath(file.toString()).checkIntervalMillis(checkIntervalMillis).build();
+    }
+
+    /**
+     * The stream-based parsing KeyValConfig.putKeyVal replaced in FileMetadata.keyEqualValStringListToKeyValMap
+     */
+    private static Map<String, String> streamParse(final List<String> lines) {
+        return lines.stream().filter(line -> !line.trim().startsWith("#")).filter(line -> line.contains("="))
+                .flatMap(line -> ImmutableMap.of(Splitter.on('=').trimResults().limit(2).splitToList(line).get(0),
+                        Splitter.on('=').trimResults().limit(2).splitToList(line).get(1)).entrySet().stream())
+                .collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue(), (o, n) -> n,
+                        LinkedHashMap::new));
+    }
+
+    @Test
+    public void parsesLikeTheStreamParsing() throws IOException {
+        final List<String> lines = Arrays.asList("# comment = ignored", "  #indented = comment", "b = 2", "no equal",
+                "", "a=1", "url = http://host/path?x=1&y=2", " spaced key \t=\t spaced val ", "b=last wins",
+                "empty=", "=no key", "c==", "d=# not a comment", "tab\t=\tval\t");
+        final Map<String, String> expected = streamParse(lines);
+
+        final Map<String, String> parsed = FileMetadata.keyEqualValStringListToKeyValMap(lines);
+        assertEquals(expected, parsed);
+        // file order, a duplicated key staying where it first appeared
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(parsed.keySet()));
+        assertEquals("last wins", parsed.get("b"));
+        assertEquals("http://host/path?x=1&y=2", parsed.get("url"));
+        assertEquals("spaced val", parsed.get("spaced key"));
+        assertEquals("=", parsed.get("c"));
+        assertEquals("no key", parsed.get(""));
+        assertFalse(parsed.containsKey("# comment"));
+
+        final KeyValConfig config = config(file(lines.toArray(new String[0])), 0);
+        assertEquals(expected, config.get().asMap());
+        assertEquals(new ArrayList<>(expected.keySet()), config.get().asMap().keySet().asList());
+    }
+
+    @Test
+    public void loadsOnBuild() throws IOException {
+        final KeyValConfig.Snapshot snapshot = config(file("a=1", "b=2"), 1000).get();
+        assertEquals(1, snapshot.getVersion());
+        assertEquals("1", snapshot.get("a"));
+        assertNull(snapshot.get("c"));
+        assertEquals("3", snapshot.get("c", "3"));
+        assertTrue(snapshot.containsKey("b"));
+        assertEquals(2, snapshot.size());
+    }
+
+    @Test(expected = AppFileReadException.class)
+    public void failsToBuildWithoutTheFile() {
+        KeyValConfig.builder().filepath(folder.getRoot().toPath().resolve("missing.properties").toString()).build();
+    }
+
+    @Test
+    public void checksAtMostOncePerInterval() throws IOException {
+        final Path file = file("a=1");
+        final KeyValConfig config = config(file, TimeUnit.HOURS.toMillis(1));
+        write(file, "a=2");
+        assertEquals("1", config.get().get("a"));
+        assertEquals("2", config.reload().get("a"));
+    }
+
+    @Test
+    public void skipsTheReadWhileTheTimeAndSizeAreUnchanged() throws IOException {
+        final Path file = file("a=1");
+        touch(file, OLD_MILLIS);
+        final KeyValConfig config = config(file, 0);
+        final KeyValConfig.Snapshot first = config.get();
+
+        // same size and time: not read, so the change goes unnoticed
+        write(file, "a=2");
+        touch(file, OLD_MILLIS);
+        assertSame(first, config.get());
+
+        touch(file, OLD_MILLIS + 1000);
+        assertEquals("2", config.get().get("a"));
+        assertEquals(2, config.get().getVersion());
+
+        // same time, other size
+        write(file, "a=33");
+        touch(file, OLD_MILLIS + 1000);
+        assertEquals("33", config.get().get("a"));
+    }
+
+    @Test
+    public void readsAgainAFileModifiedWithinTheGranularity() throws IOException {
+        final Path file = file("a=1");
+        final long recentMillis = System.currentTimeMillis() / 1000 * 1000;
+        touch(file, recentMillis);
+        final KeyValConfig config = config(file, 0);
+        assertEquals("1", config.get().get("a"));
+
+        // rewritten within the same mtime tick, with the same size: caught since the tick was not over
+        write(file, "a=2");
+        touch(file, recentMillis);
+        assertEquals("2", config.get().get("a"));
+
+        write(file, "a=3");
+        touch(file, recentMillis);
+        assertEquals("3", config.reload().get("a"));
+        assertEquals(3, config.get().getVersion());
+    }
+
+    @Test
+    public void publishesOnlyContentChanges() throws IOException {
+        final Path file = file("a=1", "b=2");
+        touch(file, OLD_MILLIS);
+        final KeyValConfig config = config(file, 0);
+        final KeyValConfig.Snapshot first = config.get();
+
+        // read again, same hash
+        touch(file, OLD_MILLIS + 1000);
+        assertSame(first, config.get());
+        write(file, "a=1", "b=2");
+        assertSame(first, config.reload());
+
+        write(file, "b=2", "a=1");
+        final KeyValConfig.Snapshot second = config.reload();
+        assertEquals(2, second.getVersion());
+        assertNotEquals(first.getHash(), second.getHash());
+        assertEquals(Arrays.asList("b", "a"), second.asMap().keySet().asList());
+    }
+
+    @Test
+    public void keepsTheLastGoodSnapshot() throws IOException {
+        final Path file = file("a=1");
+        final KeyValConfig config = config(file, 0);
+        final KeyValConfig.Snapshot first = config.get();
+
+        Files.delete(file);
+        assertSame(first, config.get());
+        try {
+            config.reload();
+            fail("the reload should have failed");
+        } catch (final AppFileReadException e) {
+            // reported to explicit reloads only
+        }
+        assertSame(first, config.get());
+
+        write(file, "a=2");
+        assertEquals("2", config.get().get("a"));
+        assertEquals(2, config.get().getVersion());
+    }
+
+    @Test
+    public void publishesEachVersionOnceUnderConcurrentChecks() throws IOException, InterruptedException {
+        final Path file = file("n=0");
+        final KeyValConfig config = config(file, 0);
+        final Set<KeyValConfig.Snapshot> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final List<Thread> readers = new ArrayList<>();
+        final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 4; i++) {
+            final Thread reader = new Thread(() -> {
+                long lastVersion = 0;
+                while (writing.get()) {
+                    final KeyValConfig.Snapshot snapshot = config.get();
+                    if (snapshot.getVersion() < lastVersion) {
+                        failures.add(new AssertionError("version went back to " + snapshot.getVersion()));
+                    }
+                    lastVersion = snapshot.getVersion();
+                    synchronized (seen) {
+                        seen.add(snapshot);
+                    }
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        for (int n = 1; n <= 200; n++) {
+            write(file, "n=" + n);
+        }
+        Thread.sleep(50);
+        writing.set(false);
+        for (final Thread reader : readers) {
+            reader.join();
+        }
+        assertEquals(Collections.emptyList(), failures);
+
+        // a second concurrent checker would publish a version number twice
+        final Set<Long> versions = seen.stream().map(KeyValConfig.Snapshot::getVersion).collect(Collectors.toSet());
+        assertEquals(seen.size(), versions.size());
+        assertEquals("200", config.get().get("n"));
+    }
+}
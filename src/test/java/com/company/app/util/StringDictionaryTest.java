@@ -0,0 +1,164 @@
+package com.company.app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+
+import org.junit.Test;
+
+public class StringDictionaryTest {
+
+    private static final int THREADS = 8;
+
+    /**
+     * Interns the value thru the String, char[] or byte[] lookup, the latter two from the middle of a larger buffer
+     */
+    private static String intern(final StringDictionary dictionary, final String value, final int form) {
+        switch (form % 3) {
+        case 0:
+            return dictionary.intern(new String(value));
+        case 1:
+            final char[] chars = ("[" + value + "]").toCharArray();
+            return dictionary.intern(chars, 1, value.length());
+        default:
+            final byte[] bytes = ("[" + value + "]").getBytes(StandardCharsets.UTF_8);
+            return dictionary.intern(bytes, 1, bytes.length - 2);
+        }
+    }
+
+    @Test
+    public void returnsTheSameInstanceFromEveryLookup() {
+        final StringDictionary dictionary = new StringDictionary("test", 16);
+        for (final String value : new String[] { "ACME", "", "Société Générale", "東京", "a\u0000b" }) {
+            final String canonical = intern(dictionary, value, 0);
+            assertEquals(value, canonical);
+            for (int form = 1; form < 6; form++) {
+                assertSame(value + " " + form, canonical, intern(dictionary, value, form));
+            }
+            assertSame(canonical, dictionary.value(dictionary.code(value)));
+        }
+        assertNull(dictionary.intern((String) null));
+        assertEquals(StringDictionary.NO_CODE, dictionary.code(null));
+        assertEquals(5, dictionary.getCodeLimit());
+        assertEquals(5, dictionary.getMissCount());
+        assertEquals(30, dictionary.getHitCount());
+    }
+
+    @Test
+    public void handsOutFreshStringsOnceFull() {
+        final StringDictionary dictionary = new StringDictionary("test", 4);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, dictionary.code("value" + i));
+        }
+        assertEquals(StringDictionary.NO_CODE, dictionary.code("value4"));
+        for (int form = 0; form < 3; form++) {
+            final String first = intern(dictionary, "value5", form);
+            assertEquals("value5", first);
+            assertNotSame(first, intern(dictionary, "value5", form));
+        }
+        // the values already there are still canonicalized
+        assertSame(dictionary.value(2), intern(dictionary, "value2", 2));
+        assertNull(dictionary.value(4));
+        assertEquals(4, dictionary.getCodeLimit());
+        assertEquals(4, dictionary.getMissCount());
+        assertEquals(7, dictionary.getRejectedCount());
+        assertEquals(1, dictionary.getHitCount());
+        assertEquals(1.0 / 12, dictionary.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    public void countsTheLostInsertRacesAsMisses() throws InterruptedException {
+        final StringDictionary single = new StringDictionary("single", 1);
+        single.intern("value00000");
+        single.intern("value00000");
+        final long bytesPerHit = single.getEstimatedSavedBytes();
+        assertTrue(bytesPerHit > 0);
+
+        final int valueCount = 10000;
+        final StringDictionary dictionary = new StringDictionary("race", 1 << 16);
+        final String[][] interned = new String[THREADS][valueCount];
+        // all the threads look the same new value up at once, so that several of them try to add it
+        final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < valueCount; i++) {
+                        barrier.await();
+                        interned[thread][i] = intern(dictionary, String.format("value%05d", i), thread + i);
+                    }
+                } catch (final InterruptedException | BrokenBarrierException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        final Set<Integer> codes = new HashSet<>();
+        for (int i = 0; i < valueCount; i++) {
+            final String canonical = interned[0][i];
+            assertEquals(String.format("value%05d", i), canonical);
+            for (int t = 1; t < THREADS; t++) {
+                assertSame(canonical, interned[t][i]);
+            }
+            final int code = dictionary.code(canonical);
+            assertSame(canonical, dictionary.value(code));
+            codes.add(code);
+        }
+        assertEquals(valueCount, codes.size());
+        // every code handed out went to a lookup that built a String, winner or loser of the race
+        assertEquals(dictionary.getCodeLimit(), dictionary.getMissCount());
+        assertEquals((THREADS + 1) * valueCount, dictionary.getHitCount() + dictionary.getMissCount());
+        assertEquals(dictionary.getHitCount() * bytesPerHit, dictionary.getEstimatedSavedBytes());
+        assertEquals(0, dictionary.getRejectedCount());
+    }
+
+    @Test
+    public void rejectsConcurrentNewValuesOnceFull() throws InterruptedException {
+        final StringDictionary dictionary = new StringDictionary("full", 32);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 100; i++) {
+                    final String value = "t" + thread + "v" + i;
+                    assertEquals(value, intern(dictionary, value, i));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(32, dictionary.getCodeLimit());
+        assertEquals(32, dictionary.getMissCount());
+        assertEquals(THREADS * 100 - 32, dictionary.getRejectedCount());
+        assertEquals(0, dictionary.getHitCount());
+        for (int code = 0; code < 32; code++) {
+            assertEquals(code, dictionary.code(dictionary.value(code)));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.company.app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TokenScannerTest {
+
+    /**
+     * The former Util.removeTokens: one String.replace per token, in list order
+     */
+    private static String sequentialRemove(String str, final List<String> tokens) {
+        for (final String token : tokens) {
+            str = str.replace(token, "");
+        }
+        return str;
+    }
+
+    /**
+     * The former Util.removeTokenPairAndDelimetedStr
+     */
+    private static String sequentialRemovePair(String str, final String begToken, final String endToken) {
+        while (str.indexOf(begToken) >= 0) {
+            str = str.replace(str.substring(str.indexOf(begToken), str.indexOf(endToken) + endToken.length()), "");
+        }
+        return str;
+    }
+
+    /**
+     * Leftmost-longest reference, trying every token at every position
+     */
+    private static String leftmostLongest(final String str, final List<String> tokens, final String replacement) {
+        final StringBuilder out = new StringBuilder();
+        int i = 0;
+        while (i < str.length()) {
+            String longest = null;
+            for (final String token : tokens) {
+                if (str.startsWith(token, i) && (longest == null || token.length() > longest.length())) {
+                    longest = token;
+                }
+            }
+            if (longest == null) {
+                out.append(str.charAt(i++));
+            } else {
+                out.append(replacement);
+                i += longest.length();
+            }
+        }
+        return out.toString();
+    }
+
+    private static String stream(final TokenScanner scanner, final String in, final String replacement)
+            throws IOException {
+        final StringWriter out = new StringWriter();
+        scanner.replace(new StringReader(in), out, replacement);
+        return out.toString();
+    }
+
+    @Test
+    public void removesTokens() {
+        final List<String> tokens = Arrays.asList("\"", "\\", "\n");
+        final String in = "{\"name\":\"a\\b\"}\n";
+        assertEquals(sequentialRemove(in, tokens), TokenScanner.of(tokens).remove(in));
+        assertNull(TokenScanner.of(tokens).remove(null));
+    }
+
+    @Test
+    public void overlappingTokensMatchSequentialRemoveWhenLongerTokenIsListedFirst() {
+        final List<String> tokens = Arrays.asList("abc", "b");
+        for (final String in : Arrays.asList("xabcx", "abcd", "abab", "ab", "bbabcbb", "aabcc", "abcabc", "")) {
+            assertEquals(in, sequentialRemove(in, tokens), TokenScanner.of(tokens).remove(in));
+        }
+        assertEquals("xx", TokenScanner.of(tokens).remove("xabcx"));
+        assertEquals("d", TokenScanner.of(tokens).remove("abcd"));
+    }
+
+    @Test
+    public void overlappingTokensAreMatchedLeftmostLongest() {
+        // a shorter token listed first is still outmatched by a longer one starting at the same place
+        assertEquals("xx", TokenScanner.of(Arrays.asList("b", "abc")).remove("xabcx"));
+        assertEquals("xacx", sequentialRemove("xabcx", Arrays.asList("b", "abc")));
+        // the leftmost token wins over a longer one starting later
+        assertEquals("-cd", TokenScanner.of(Arrays.asList("ab", "bcd")).replace("abcd", "-"));
+        // a partial longer token falls back to the shorter one it holds
+        assertEquals("xa-abx", TokenScanner.of(Arrays.asList("abcd", "bc")).replace("xabcabx", "-"));
+        // a removal does not form new tokens
+        assertEquals("ac", TokenScanner.of(Arrays.asList("b", "ac")).remove("abc"));
+    }
+
+    @Test
+    public void matchesLeftmostLongestReference() throws IOException {
+        final Random random = new Random(17);
+        for (int n = 0; n < 20000; n++) {
+            final List<String> tokens = new ArrayList<>();
+            for (int t = random.nextInt(4); t >= 0; t--) {
+                tokens.add(randomString(random, 1 + random.nextInt(4)));
+            }
+            final String in = randomString(random, random.nextInt(40));
+            final String replacement = random.nextBoolean() ? "" : "-";
+            final String expected = leftmostLongest(in, tokens, replacement);
+            final TokenScanner scanner = TokenScanner.of(tokens);
+            assertEquals(tokens + " " + in, expected, scanner.replace(in, replacement));
+            assertEquals(tokens + " " + in, expected, stream(scanner, in, replacement));
+        }
+    }
+
+    @Test
+    public void streamsAcrossBufferBoundaries() throws IOException {
+        final Random random = new Random(3);
+        final String in = randomString(random, 100000);
+        final List<String> tokens = Arrays.asList("abcab", "ab", "cc", "bca");
+        assertEquals(leftmostLongest(in, tokens, "-"), stream(TokenScanner.of(tokens), in, "-"));
+    }
+
+    @Test
+    public void removesPairsLikeSequentialRemove() throws IOException {
+        for (final String in : Arrays.asList("a<b>c", "<x>a<y>b<z>", "no pair", "<<nested>>", "<>", "a<b>>")) {
+            final String expected = sequentialRemovePair(in, "<", ">");
+            assertEquals(in, expected, TokenScanner.ofPair("<", ">").remove(in));
+            assertEquals(in, expected, stream(TokenScanner.ofPair("<", ">"), in, ""));
+        }
+        assertEquals("a-c-", TokenScanner.ofPair("/*", "*/").replace("a/* b */c/**/", "-"));
+    }
+
+    @Test
+    public void keepsUnterminatedPair() {
+        // the former loop never ended on such input
+        assertEquals("ac<d", TokenScanner.ofPair("<", ">").remove("a<b>c<d"));
+    }
+
+    @Test
+    public void cachesScannersByTokens() {
+        assertSame(TokenScanner.of(Arrays.asList("a", "b")), TokenScanner.of(Arrays.asList("a", "", "b", "a")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEqualPairTokens() {
+        TokenScanner.ofPair("#", "#");
+    }
+
+    private static String randomString(final Random random, final int length) {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(3)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,109 @@
+package com.company.app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.junit.Test;
+import org.springframework.util.StringUtils;
+
+public class UrlTemplateTest {
+
+    private static final List<String> KEYS = Arrays.asList("a", "b", "ab", " a", "b ", "", " ", "id");
+    /**
+     * neither empty nor with braces, see {@link #doesNotExpandPlaceholdersMadeByTheValues()}
+     */
+    private static final List<Object> VALUES = Arrays.asList("1", " x y ", "/path/", 42, null);
+
+    /**
+     * The replace pass per key the template replaces
+     */
+    private static String cookUrlByReplace(final String inUrl, final Map<String, Object> inMap) {
+        String expandedUrl = inUrl;
+        for (final Entry<String, Object> paramEntry : inMap.entrySet()) {
+            expandedUrl = StringUtils.replace(expandedUrl,
+                    Const.EMPTY_JOINER.join("{", StringUtils.trimWhitespace(paramEntry.getKey()), "}"),
+                    StringUtils.trimWhitespace(String.valueOf(paramEntry.getValue())));
+        }
+        return expandedUrl;
+    }
+
+    @Test
+    public void expandsLikeTheReplacePerKey() {
+        for (final String url : Arrays.asList("", "http://host/path", "http://host/{a}/x?b={b}&ab={ab}",
+                "{a}{a}{b}", "{{a}}", "{a{b}", "{a}}", "}{a}{", "{ a }", "{}", "{id", "id}", "/{unknown}/{a}")) {
+            final Map<String, Object> values = new LinkedHashMap<>();
+            values.put("a", " 1 ");
+            values.put("b", "two");
+            values.put(" ab ", 3);
+            values.put("", "empty");
+            assertEquals(url, cookUrlByReplace(url, values), Util.cookUrl(url, values));
+        }
+    }
+
+    @Test
+    public void expandsRandomUrlsLikeTheReplacePerKey() {
+        final Random random = new Random(13);
+        final char[] alphabet = "{{}}ab /?=".toCharArray();
+        for (int i = 0; i < 100000; i++) {
+            final char[] chars = new char[random.nextInt(16)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            final String url = new String(chars);
+            final Map<String, Object> values = new LinkedHashMap<>();
+            for (int j = random.nextInt(4); j > 0; j--) {
+                values.put(KEYS.get(random.nextInt(KEYS.size())), VALUES.get(random.nextInt(VALUES.size())));
+            }
+            assertEquals(url + " " + values, cookUrlByReplace(url, values), Util.cookUrl(url, values));
+        }
+    }
+
+    @Test
+    public void doesNotExpandPlaceholdersMadeByTheValues() {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("a", "{b}");
+        values.put("b", "2");
+        // the replace per key expanded "{b}" again, or not, depending on the order of the map
+        assertEquals("/{b}/2", UrlTemplate.of("/{a}/{b}").expand(values));
+        values.put("a", "b}");
+        assertEquals("/{b}/2", UrlTemplate.of("/{{a}/{b}").expand(values));
+        values.put("a", "");
+        assertEquals("/{b}/2", UrlTemplate.of("/{{a}b}/{b}").expand(values));
+    }
+
+    @Test
+    public void keepsTheFirstOfTheKeysTrimmedToTheSameKey() {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("a", null);
+        values.put(" a ", "2");
+        assertEquals(cookUrlByReplace("/{a}", values), Util.cookUrl("/{a}", values));
+        assertEquals("/null", Util.cookUrl("/{a}", values));
+    }
+
+    @Test
+    public void keepsPlaceholdersWithoutValue() {
+        assertEquals("/{a}/{b}", UrlTemplate.of("/{a}/{b}").expand(Collections.emptyMap()));
+        assertEquals("/1/{b}", UrlTemplate.of("/{a}/{b}").expand(Collections.singletonMap("a", 1)));
+    }
+
+    @Test
+    public void parsesTheRawUrlOnce() {
+        final UrlTemplate template = UrlTemplate.of("http://host/{a}/{b}?c={a}");
+        assertSame(template, UrlTemplate.of("http://host/{a}/{b}?c={a}"));
+        assertEquals(Arrays.asList("a", "b", "a"), template.getNames());
+        assertEquals("http://host/{a}/{b}?c={a}", template.getRawUrl());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsANullUrl() {
+        UrlTemplate.of(null);
+    }
+}